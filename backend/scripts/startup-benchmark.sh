@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# 起動時間とメモリ使用量 (RSS) のベンチマーク
+#
+# 標準の fat jar、CDS + AOT (mvn -Pcds)、ネイティブイメージ (mvn -Pnative native:compile) を
+# 同じ条件で起動し、/actuator/health/liveness が 200 を返すまでの時間 (起動時間) とその時点の RSS を比較する。
+# readiness はウォームアップ (WarmupRunner) の完了を待つため、liveness から readiness が 200 を
+# 返すまでの時間をウォームアップ時間として別に出力する。
+# 事前にビルドされていないモードはスキップする。
+#
+# 使い方: scripts/startup-benchmark.sh [回数]
+#   ビルドも行う場合: BUILD=1 scripts/startup-benchmark.sh 5
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+JVM_OPTS="${JVM_OPTS:--XX:MaxRAMPercentage=75}"
+LIVENESS_URL="http://localhost:${PORT}/actuator/health/liveness"
+READINESS_URL="http://localhost:${PORT}/actuator/health/readiness"
+JAR="target/booking-management-system-1.0.0.jar"
+CDS_DIR="target/cds"
+NATIVE_BIN="target/booking-management-system"
+
+if [[ "${BUILD:-0}" == "1" ]]; then
+    mvn -q -B package -DskipTests
+    mvn -q -B package -DskipTests -Pcds
+fi
+
+rss_kb() {
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status" 2>/dev/null || echo 0
+}
+
+# $1: URL, $2: PID。URL が 200 を返すまで待つ (プロセスが終了したら失敗)
+wait_for() {
+    until curl -sf -o /dev/null "$1"; do
+        if ! kill -0 "$2" 2> /dev/null; then
+            return 1
+        fi
+        sleep 0.05
+    done
+}
+
+# $1: モード名, $2: 作業ディレクトリ, $3..: 起動コマンド
+# CDS アーカイブは作成時と同じクラスパスでしか使えないため、モードごとに作業ディレクトリを指定する
+measure() {
+    local mode="$1"
+    local dir="$2"
+    shift 2
+    local total_ms=0 total_warmup_ms=0 total_rss=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local start_ns live_ns ready_ns pid rss
+        start_ns=$(date +%s%N)
+        (cd "${dir}" && exec "$@" --server.port="${PORT}") > /dev/null 2>&1 &
+        pid=$!
+        if ! wait_for "${LIVENESS_URL}" "${pid}"; then
+            echo "${mode}: process exited before becoming live" >&2
+            return 1
+        fi
+        live_ns=$(date +%s%N)
+        rss=$(rss_kb "${pid}")
+        if ! wait_for "${READINESS_URL}" "${pid}"; then
+            echo "${mode}: process exited during warm-up" >&2
+            return 1
+        fi
+        ready_ns=$(date +%s%N)
+        kill "${pid}"
+        wait "${pid}" 2> /dev/null || true
+        total_ms=$((total_ms + (live_ns - start_ns) / 1000000))
+        total_warmup_ms=$((total_warmup_ms + (ready_ns - live_ns) / 1000000))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-10s %10d %11d %12d\n" "${mode}" $((total_ms / RUNS)) $((total_warmup_ms / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+printf "%-10s %10s %11s %12s\n" "mode" "live(ms)" "warmup(ms)" "rss(MiB)"
+
+if [[ -f "${JAR}" ]]; then
+    # shellcheck disable=SC2086
+    measure "jar" target java ${JVM_OPTS} -jar "$(basename "${JAR}")"
+else
+    echo "jar: ${JAR} not found (mvn package)" >&2
+fi
+
+if [[ -f "${CDS_DIR}/application.jsa" ]]; then
+    # shellcheck disable=SC2086
+    measure "cds+aot" "${CDS_DIR}" java ${JVM_OPTS} -Xshare:on -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true -jar booking-management-system-1.0.0.jar
+else
+    echo "cds+aot: ${CDS_DIR}/application.jsa not found (mvn -Pcds package)" >&2
+fi
+
+if [[ -x "${NATIVE_BIN}" ]]; then
+    measure "native" target "./$(basename "${NATIVE_BIN}")"
+else
+    echo "native: ${NATIVE_BIN} not found (mvn -Pnative native:compile)" >&2
+fi
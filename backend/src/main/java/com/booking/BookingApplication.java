@@ -2,6 +2,7 @@ package com.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Booking Management System - Main Application
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * It manages bookings for resources such as meeting rooms, facilities, etc.
  */
 @SpringBootApplication
+@EnableScheduling
 public class BookingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,173 @@
+package com.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Saturation signals of the Hikari connection pools, used to admit or reject database work.
+ *
+ * A pool counts as saturated when more threads are waiting for a connection than
+ * {@code max-pending}, or when the mean time to acquire a connection over the last sample
+ * interval exceeds {@code max-acquire-latency}. The acquire time comes from the
+ * {@code hikaricp.connections.acquire} timer that Spring Boot registers for every pool.
+ *
+ * The check runs on every admitted request without locking: the thread that wins a CAS on
+ * the sample timestamp takes the next sample, and each pool publishes its sample as an
+ * immutable snapshot that other threads read.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final Supplier<List<HikariDataSource>> poolLookup;
+    private final MeterRegistry meterRegistry;
+    private final int maxPending;
+    private final long maxAcquireNanos;
+    private final long sampleIntervalNanos;
+
+    private final AtomicReference<List<PoolSample>> pools = new AtomicReference<>();
+    private final AtomicLong lastSampleNanos;
+
+    @Autowired
+    public ConnectionPoolMonitor(ObjectProvider<DataSource> dataSources,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${booking.db-admission.max-pending:20}") int maxPending,
+                                 @Value("${booking.db-admission.max-acquire-latency:PT0.5S}") Duration maxAcquireLatency,
+                                 @Value("${booking.db-admission.sample-interval:PT0.25S}") Duration sampleInterval) {
+        this(() -> hikariPools(dataSources), meterRegistry, maxPending, maxAcquireLatency, sampleInterval);
+    }
+
+    ConnectionPoolMonitor(Supplier<List<HikariDataSource>> poolLookup,
+                          MeterRegistry meterRegistry,
+                          int maxPending,
+                          Duration maxAcquireLatency,
+                          Duration sampleInterval) {
+        this.poolLookup = poolLookup;
+        this.meterRegistry = meterRegistry;
+        this.maxPending = maxPending;
+        this.maxAcquireNanos = maxAcquireLatency.toNanos();
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+        this.lastSampleNanos = new AtomicLong(System.nanoTime() - sampleIntervalNanos);
+    }
+
+    /**
+     * Check whether any pool is saturated
+     *
+     * @return the first saturated pool and why, empty if new database work can be admitted
+     */
+    public Optional<Saturation> checkSaturation() {
+        List<PoolSample> current = pools.get();
+        if (current == null) {
+            // Pools are resolved lazily: data sources may be wrapped or routed after this bean is created
+            pools.compareAndSet(null, poolLookup.get().stream().map(PoolSample::new).toList());
+            current = pools.get();
+        }
+
+        long now = System.nanoTime();
+        long last = lastSampleNanos.get();
+        boolean resample = now - last >= sampleIntervalNanos && lastSampleNanos.compareAndSet(last, now);
+
+        Saturation saturation = null;
+        for (PoolSample pool : current) {
+            if (resample) {
+                pool.sample();
+            }
+            HikariPoolMXBean bean = pool.dataSource.getHikariPoolMXBean();
+            int pending = bean != null ? bean.getThreadsAwaitingConnection() : 0;
+            if (saturation == null && pending > maxPending) {
+                saturation = new Saturation(pool.name(), Saturation.Reason.PENDING,
+                        pending + " threads waiting for a connection");
+            } else if (saturation == null && pool.snapshot.recentAcquireNanos() > maxAcquireNanos) {
+                saturation = new Saturation(pool.name(), Saturation.Reason.ACQUIRE_LATENCY,
+                        "mean connection acquire time "
+                                + TimeUnit.NANOSECONDS.toMillis(pool.snapshot.recentAcquireNanos()) + " ms");
+            }
+        }
+        return Optional.ofNullable(saturation);
+    }
+
+    private static List<HikariDataSource> hikariPools(ObjectProvider<DataSource> dataSources) {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources.orderedStream().forEach(dataSource -> {
+            HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (pool != null) {
+                pools.add(pool);
+            }
+        });
+        return new ArrayList<>(pools);
+    }
+
+    /**
+     * Why a pool does not admit more work
+     *
+     * @param pool Hikari pool name
+     * @param reason saturation signal that tripped
+     * @param detail human readable measurement
+     */
+    public record Saturation(String pool, Reason reason, String detail) {
+
+        public enum Reason {
+            PENDING,
+            ACQUIRE_LATENCY
+        }
+    }
+
+    /**
+     * Acquire timer totals at the last sample and the mean acquire time since the one before
+     */
+    private record Snapshot(long count, double totalNanos, long recentAcquireNanos) {
+    }
+
+    private final class PoolSample {
+
+        private final HikariDataSource dataSource;
+        // written only by the thread that won the sample CAS
+        private volatile Snapshot snapshot = new Snapshot(0, 0, 0);
+
+        PoolSample(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        /**
+         * Mean acquire time of the connections handed out since the previous sample;
+         * zero when none were, since waiting threads are covered by the pending check
+         */
+        void sample() {
+            Timer timer = meterRegistry.find(ACQUIRE_TIMER).tag("pool", name()).timer();
+            if (timer == null) {
+                return;
+            }
+            Snapshot last = snapshot;
+            long count = timer.count();
+            double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+            long recentAcquireNanos = count > last.count()
+                    ? (long) ((totalNanos - last.totalNanos()) / (count - last.count())) : 0;
+            snapshot = new Snapshot(count, totalNanos, recentAcquireNanos);
+        }
+    }
+}
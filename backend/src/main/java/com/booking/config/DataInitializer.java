@@ -7,6 +7,7 @@ import com.booking.repository.BookingRepository;
 import com.booking.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
  * Data initializer to populate sample data on application startup
  */
 @Component
+@Order(0)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
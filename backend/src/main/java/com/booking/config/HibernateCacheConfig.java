@@ -0,0 +1,73 @@
+package com.booking.config;
+
+import com.booking.model.Resource;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache, held in a local Ehcache through JCache.
+ *
+ * Every region is declared here with a size bound (least recently used entries are evicted)
+ * and Hibernate is told to fail on regions that are not, so a newly cached entity cannot
+ * silently get an unbounded cache. Writes through Hibernate keep the regions consistent:
+ * entity entries are replaced on commit and cached query results are invalidated by the
+ * update timestamps of the tables they read.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${booking.hibernate-cache.resource.max-entries:10000}") long resourceMaxEntries,
+            @Value("${booking.hibernate-cache.resource.time-to-live:PT10M}") Duration resourceTimeToLive,
+            @Value("${booking.hibernate-cache.query.max-entries:1000}") long queryMaxEntries) {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(Resource.class.getName(), region(resourceMaxEntries, resourceTimeToLive))
+                .withCache(QUERY_RESULTS_REGION, region(queryMaxEntries, resourceTimeToLive))
+                // One entry per table; must never be evicted or queries could read stale results
+                .withCache(UPDATE_TIMESTAMPS_REGION, region(10_000, null))
+                .build();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // A distinct URI per application context; the provider keeps managers by URI
+        URI uri = URI.create("urn:booking:hibernate-cache:" + UUID.randomUUID());
+        return provider.getCacheManager(uri, configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, Duration timeToLive) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        if (timeToLive != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.config;
+
+import com.booking.service.CustomerQuotaService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the booking counters of customers whose bookings were stored without one, after the
+ * sample data and before the warm-up, so booking writes only ever seed counters of new customers.
+ * Instances starting together may run it concurrently; the one that loses on a duplicate row
+ * logs it and starts anyway.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class QuotaCounterBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QuotaCounterBackfill.class);
+
+    private final CustomerQuotaService quotaService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int created = quotaService.backfillCounters();
+            if (created > 0) {
+                log.info("Backfilled booking counters of {} customers", created);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance starting at the same time, or a first booking, created one of the rows;
+            // the rows it created are counted the same way, so startup goes on
+            log.warn("Booking counter backfill overlapped a concurrent one and was rolled back: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.booking.config;
+
+import com.booking.web.ClientIdentity;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read/write data source routing, active when {@code booking.datasource.replica.url} is set.
+ *
+ * The primary pool is built from the regular {@code spring.datasource.*} settings; the replica
+ * pool from {@code booking.datasource.replica.*}. JPA uses a lazy proxy over the router, so
+ * {@code @Transactional(readOnly = true)} work runs on the replica and writes on the primary.
+ * The beans are always registered and the URL is checked at startup rather than through a
+ * bean condition, which an AOT-processed image would fix at build time.
+ */
+@Configuration
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool, or no bean (null) when no replica URL is configured
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Value("${booking.datasource.replica.url:}") String url,
+            @Value("${booking.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${booking.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${booking.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        if (!StringUtils.hasText(url)) {
+            return null;
+        }
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaStalenessGuard replicaStalenessGuard(
+            @Value("${booking.datasource.replica.max-staleness:PT1S}") Duration maxStaleness,
+            ClientIdentity clientIdentity) {
+        return new ReplicaStalenessGuard(maxStaleness, Clock.systemUTC(), clientIdentity::current);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") Optional<DataSource> replica,
+                                 ReplicaStalenessGuard stalenessGuard) {
+        return replica
+                .map(replicaPool -> routingDataSource(primary, replicaPool, stalenessGuard))
+                .orElse(primary);
+    }
+
+    /**
+     * Lazy proxy over a router between the two pools
+     * 
+     * @param primary data source for writes
+     * @param replica data source for read-only transactions
+     * @param stalenessGuard keeps reads on the primary right after a write
+     * @return data source for JPA and JDBC
+     */
+    static DataSource routingDataSource(DataSource primary, DataSource replica,
+                                        ReplicaStalenessGuard stalenessGuard) {
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(stalenessGuard);
+        router.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(router);
+    }
+}
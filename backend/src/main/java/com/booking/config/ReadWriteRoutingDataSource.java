@@ -0,0 +1,37 @@
+package com.booking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary.
+ *
+ * The read-only flag is only known once the transaction has started, so this data source
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers fetching the physical connection until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Target data source keys
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaStalenessGuard stalenessGuard;
+
+    public ReadWriteRoutingDataSource(ReplicaStalenessGuard stalenessGuard) {
+        this.stalenessGuard = stalenessGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !stalenessGuard.isReplicaPossiblyStale()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,112 @@
+package com.booking.config;
+
+import com.booking.service.BookingChangedEvent;
+import com.booking.service.ResourceChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes guard for the replica: for a configurable window after a client's booking
+ * or resource write commits, that client's read-only transactions keep using the primary, so a
+ * client that has just created a booking does not read a replica that has not caught up yet.
+ * Other clients keep reading the replica. Clients are told apart by the identity of the request
+ * the current thread is handling; work outside a request neither records writes nor is held on
+ * the primary. Expired entries are pruned at most once per window, so the table only holds the
+ * clients that wrote recently.
+ */
+public class ReplicaStalenessGuard {
+
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final Supplier<Optional<String>> currentClient;
+    private final ConcurrentHashMap<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final AtomicLong lastPruneMillis = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param maxStaleness how long reads stay on the primary after a write
+     * @param clock time source
+     * @param currentClient identity of the client behind the current thread, empty outside a request
+     */
+    public ReplicaStalenessGuard(Duration maxStaleness, Clock clock, Supplier<Optional<String>> currentClient) {
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+        this.currentClient = currentClient;
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        recordWrite();
+    }
+
+    @TransactionalEventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        recordWrite();
+    }
+
+    /**
+     * Remember that the current client's write has just committed
+     */
+    public void recordWrite() {
+        currentClient.get().ifPresent(this::recordWrite);
+    }
+
+    /**
+     * Remember that a client's write has just committed
+     *
+     * @param client client identity
+     */
+    public void recordWrite(String client) {
+        long now = clock.millis();
+        lastWriteMillis.merge(client, now, Math::max);
+        pruneExpired(now);
+    }
+
+    /**
+     * Whether the replica may still be missing the current client's latest committed write
+     *
+     * @return true while inside the staleness window of that client's last write
+     */
+    public boolean isReplicaPossiblyStale() {
+        return currentClient.get().map(this::isReplicaPossiblyStale).orElse(false);
+    }
+
+    /**
+     * Whether the replica may still be missing a client's latest committed write
+     *
+     * @param client client identity
+     * @return true while inside the staleness window of that client's last write
+     */
+    public boolean isReplicaPossiblyStale(String client) {
+        Long last = lastWriteMillis.get(client);
+        return last != null && !isExpired(last, clock.millis());
+    }
+
+    /**
+     * Number of clients currently held on the primary or not yet pruned
+     *
+     * @return client count
+     */
+    int trackedClients() {
+        return lastWriteMillis.size();
+    }
+
+    private void pruneExpired(long now) {
+        long lastPrune = lastPruneMillis.get();
+        if (lastPrune != Long.MIN_VALUE && now - lastPrune < maxStaleness.toMillis()) {
+            return;
+        }
+        if (lastPruneMillis.compareAndSet(lastPrune, now)) {
+            lastWriteMillis.values().removeIf(last -> isExpired(last, now));
+        }
+    }
+
+    private boolean isExpired(long lastWrite, long now) {
+        return now - lastWrite >= maxStaleness.toMillis();
+    }
+}
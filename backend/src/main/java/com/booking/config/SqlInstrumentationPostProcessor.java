@@ -0,0 +1,59 @@
+package com.booking.config;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every connection pool in a JDBC proxy that counts statements, rows and JDBC time
+ * per request and logs queries slower than the threshold together with their bind parameters.
+ *
+ * Data sources that only delegate to other beans (routing, lazy proxies) are left alone,
+ * so each statement is counted once, at the pool that runs it. With
+ * {@code booking.sql-stats.enabled=false} the pools are left unwrapped.
+ */
+@Component
+public class SqlInstrumentationPostProcessor implements BeanPostProcessor {
+
+    static final String SLOW_QUERY_LOGGER = "com.booking.sql.SlowQuery";
+
+    private final boolean enabled;
+    private final Duration slowQueryThreshold;
+
+    public SqlInstrumentationPostProcessor(
+            @Value("${booking.sql-stats.enabled:true}") boolean enabled,
+            @Value("${booking.sql-stats.slow-query-threshold:PT0.5S}") Duration slowQueryThreshold) {
+        this.enabled = enabled;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled
+                || !(bean instanceof DataSource dataSource)
+                || bean instanceof ProxyDataSource
+                || bean instanceof DelegatingDataSource
+                || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+
+        SqlStatsListener listener = new SqlStatsListener();
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .logSlowQueryBySlf4j(slowQueryThreshold.toMillis(), TimeUnit.MILLISECONDS,
+                        SLF4JLogLevel.WARN, SLOW_QUERY_LOGGER)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.booking.config;
+
+import com.booking.dto.ResourceSummary;
+import com.booking.service.BookingService;
+import com.booking.service.BookingStatisticsService;
+import com.booking.service.IcsFeedService;
+import com.booking.service.ResourceService;
+import com.booking.service.WeeklyCalendarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-up of the read and availability paths before the application reports ready.
+ *
+ * Application runners complete before Spring Boot switches the readiness state to
+ * ACCEPTING_TRAFFIC, so the readiness probe ({@code /actuator/health/readiness}) keeps a new
+ * pod out of the service until this runner returns. Each round reads the current week through
+ * the services and serializes the results, which loads Hibernate metadata and query plans,
+ * creates the Jackson serializers and gives the JIT the hot paths. Rounds repeat until the
+ * configured count or time budget is reached; they read bounded time windows only, so their
+ * cost does not grow with the booking history. The cached calendar, iCalendar and statistics
+ * results are filled once in the first round, since later rounds would only hit the caches.
+ * {@code booking.warmup.enabled=false} skips it; the flag is read at startup rather than as a
+ * bean condition, so it also applies to an AOT-processed image.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final ResourceService resourceService;
+    private final BookingService bookingService;
+    private final WeeklyCalendarService weeklyCalendarService;
+    private final IcsFeedService icsFeedService;
+    private final BookingStatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int rounds;
+    private final Duration maxDuration;
+
+    private volatile long firstRoundNanos;
+    private volatile long lastRoundNanos;
+    private volatile int completedRounds;
+
+    public WarmupRunner(ResourceService resourceService,
+                        BookingService bookingService,
+                        WeeklyCalendarService weeklyCalendarService,
+                        IcsFeedService icsFeedService,
+                        BookingStatisticsService statisticsService,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${booking.warmup.enabled:true}") boolean enabled,
+                        @Value("${booking.warmup.rounds:200}") int rounds,
+                        @Value("${booking.warmup.max-duration:PT30S}") Duration maxDuration) {
+        this.resourceService = resourceService;
+        this.bookingService = bookingService;
+        this.weeklyCalendarService = weeklyCalendarService;
+        this.icsFeedService = icsFeedService;
+        this.statisticsService = statisticsService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        registerMeters();
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        try {
+            while (completedRounds < rounds && System.nanoTime() < deadline) {
+                long roundStarted = System.nanoTime();
+                runRound(completedRounds == 0);
+                long elapsed = System.nanoTime() - roundStarted;
+                if (completedRounds == 0) {
+                    firstRoundNanos = elapsed;
+                }
+                lastRoundNanos = elapsed;
+                completedRounds++;
+            }
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency; it must not keep the pod from becoming ready
+            log.warn("Warm-up stopped after {} rounds", completedRounds, e);
+        }
+
+        long total = System.nanoTime() - started;
+        meterRegistry.timer("booking.warmup.duration").record(total, TimeUnit.NANOSECONDS);
+        log.info("Warm-up finished: {} rounds in {} ms, first round {} ms, last round {} ms",
+                completedRounds, TimeUnit.NANOSECONDS.toMillis(total),
+                TimeUnit.NANOSECONDS.toMillis(firstRoundNanos), TimeUnit.NANOSECONDS.toMillis(lastRoundNanos));
+    }
+
+    /**
+     * One pass over the read paths the API serves most, with the responses serialized and discarded
+     *
+     * @param fillCaches whether to also fill the calendar, iCalendar and statistics caches
+     */
+    private void runRound(boolean fillCaches) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        LocalDateTime weekEnd = weekStart.plusWeeks(1);
+
+        List<ResourceSummary> resources = resourceService.getAllResourceSummaries();
+        serialize(resources);
+        serialize(resourceService.getAllResources());
+        serialize(resourceService.getAvailableResourceSummaries());
+        serialize(bookingService.getBookingSummariesByTimeRange(weekStart, weekEnd));
+
+        // Off the slot grid, so availability goes past the occupancy index to the conflict query
+        LocalDateTime probeStart = today.atTime(LocalTime.of(9, 7));
+        for (ResourceSummary resource : resources) {
+            serialize(resourceService.getResourceById(resource.id()));
+            serialize(bookingService.getBookingSummariesByResourceIdAndTimeRange(resource.id(), weekStart, weekEnd));
+            bookingService.isResourceAvailable(resource.id(), probeStart, probeStart.plusMinutes(53));
+        }
+
+        if (fillCaches) {
+            fillCaches(today, weekStart, weekEnd, resources);
+        }
+    }
+
+    private void fillCaches(LocalDate today, LocalDateTime weekStart, LocalDateTime weekEnd,
+                            List<ResourceSummary> resources) {
+        serialize(statisticsService.getStatistics(weekStart, weekEnd));
+        weeklyCalendarService.getWeek(today, null);
+        for (ResourceSummary resource : resources) {
+            weeklyCalendarService.getWeek(today, resource.id());
+            icsFeedService.getFeed(resource.id());
+        }
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize warm-up result", e);
+        }
+    }
+
+    private void registerMeters() {
+        Gauge.builder("booking.warmup.rounds", () -> completedRounds)
+                .description("Warm-up rounds completed before the application reported ready")
+                .register(meterRegistry);
+        TimeGauge.builder("booking.warmup.round.time", () -> firstRoundNanos, TimeUnit.NANOSECONDS)
+                .description("Time of one warm-up round")
+                .tag("round", "first")
+                .register(meterRegistry);
+        TimeGauge.builder("booking.warmup.round.time", () -> lastRoundNanos, TimeUnit.NANOSECONDS)
+                .description("Time of one warm-up round")
+                .tag("round", "last")
+                .register(meterRegistry);
+    }
+}
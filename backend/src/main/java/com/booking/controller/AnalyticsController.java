@@ -0,0 +1,94 @@
+package com.booking.controller;
+
+import com.booking.dto.ResourceUtilization;
+import com.booking.model.Resource;
+import com.booking.service.ResourceService;
+import com.booking.service.UtilizationRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for booking analytics
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final UtilizationRollupService utilizationRollupService;
+    private final ResourceService resourceService;
+
+    /**
+     * Get utilization per resource and day (or week) from the precomputed rollups
+     * 
+     * @param resourceId resource ID; all resources if omitted
+     * @param from first day
+     * @param to last day (inclusive)
+     * @param granularity {@code day} or {@code week}
+     * @return utilization entries ordered by resource and period
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<?> getUtilization(
+            @RequestParam(required = false) Long resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        if (!granularity.equals("day") && !granularity.equals("week")) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Granularity must be day or week"));
+        }
+        boolean weekly = granularity.equals("week");
+        if (!utilizationRollupService.isBuilt()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(createErrorResponse("Utilization rollups are still being built"));
+        }
+
+        List<Long> resourceIds = resourceId != null
+                ? List.of(resourceId)
+                : resourceService.getAllResources().stream().map(Resource::getId).sorted().toList();
+        try {
+            List<ResourceUtilization> result = new ArrayList<>();
+            for (Long id : resourceIds) {
+                result.addAll(utilizationRollupService.getUtilization(id, from, to, weekly));
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Recompute the utilization rollups from the database
+     * 
+     * @return number of bookings read
+     */
+    @PostMapping("/utilization/rebuild")
+    public ResponseEntity<?> rebuildUtilization() {
+        try {
+            int bookings = utilizationRollupService.rebuild();
+            Map<String, Integer> response = new HashMap<>();
+            response.put("bookings", bookings);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Helper method to create error response
+     */
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
+}
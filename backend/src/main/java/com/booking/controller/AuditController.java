@@ -0,0 +1,61 @@
+package com.booking.controller;
+
+import com.booking.service.BookingOverlapAuditor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for data consistency audits
+ */
+@RestController
+@RequestMapping("/api/admin/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final BookingOverlapAuditor bookingOverlapAuditor;
+
+    /**
+     * Get the report of the last overlap audit
+     * 
+     * @return last audit report, with an X-Audit-Running header while a new audit is running
+     */
+    @GetMapping("/overlaps")
+    public ResponseEntity<?> getLastOverlapReport() {
+        String running = String.valueOf(bookingOverlapAuditor.isRunning());
+        return bookingOverlapAuditor.getLastReport()
+                .<ResponseEntity<?>>map(report -> ResponseEntity.ok().header("X-Audit-Running", running).body(report))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .header("X-Audit-Running", running)
+                        .body(createErrorResponse("No overlap audit has completed yet")));
+    }
+
+    /**
+     * Start an overlap audit of all active bookings in the background
+     * 
+     * @return 202 with the location of the report
+     */
+    @PostMapping("/overlaps")
+    public ResponseEntity<?> runOverlapAudit() {
+        try {
+            bookingOverlapAuditor.startAudit();
+            return ResponseEntity.accepted().location(URI.create("/api/admin/audit/overlaps")).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Helper method to create error response
+     */
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
+}
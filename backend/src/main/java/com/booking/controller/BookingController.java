@@ -1,19 +1,38 @@
 package com.booking.controller;
 
+import com.booking.dto.AutoAssignRequest;
+import com.booking.dto.BookingBundleRequest;
+import com.booking.dto.BookingStatistics;
+import com.booking.dto.BookingSummary;
 import com.booking.model.Booking;
+import com.booking.model.BookingHistory;
 import com.booking.model.BookingStatus;
+import com.booking.service.BookingHistoryService;
 import com.booking.service.BookingService;
+import com.booking.service.BookingStatisticsService;
+import com.booking.service.CustomerQuotaService;
+import com.booking.service.WaitlistService;
+import com.booking.web.ClientIdentity;
+import com.booking.web.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for Booking management
@@ -23,7 +42,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final BookingService bookingService;
+    private final BookingStatisticsService bookingStatisticsService;
+    private final BookingHistoryService bookingHistoryService;
+    private final CustomerQuotaService customerQuotaService;
+    private final WaitlistService waitlistService;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientIdentity clientIdentity;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get all bookings
@@ -55,6 +84,37 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Get booking summaries (id, resourceId, startTime, endTime, status) for list and calendar views.
+     * Selected with {@code view=summary}; accepts the same filters as the full list.
+     * 
+     * @return list of booking summaries
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<BookingSummary>> getBookingSummaries(
+            @RequestParam(required = false) Long resourceId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        
+        List<BookingSummary> summaries;
+        
+        if (customerEmail != null) {
+            summaries = bookingService.getBookingSummariesByCustomerEmail(customerEmail);
+        } else if (resourceId != null) {
+            summaries = bookingService.getBookingSummariesByResourceId(resourceId);
+        } else if (status != null) {
+            summaries = bookingService.getBookingSummariesByStatus(status);
+        } else if (start != null && end != null) {
+            summaries = bookingService.getBookingSummariesByTimeRange(start, end);
+        } else {
+            summaries = bookingService.getAllBookingSummaries();
+        }
+        
+        return ResponseEntity.ok(summaries);
+    }
+
     /**
      * Get booking by ID
      * 
@@ -90,58 +150,221 @@ public class BookingController {
     }
 
     /**
-     * Create a new booking
+     * Get booking counts by status, resource and day
      * 
-     * @param booking booking to create
-     * @return created booking
+     * @param start optional start of the time window
+     * @param end optional end of the time window
+     * @return booking statistics for bookings overlapping the window
      */
-    @PostMapping
-    public ResponseEntity<?> createBooking(@Valid @RequestBody Booking booking) {
+    @GetMapping("/statistics")
+    public ResponseEntity<?> getStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         try {
-            Booking created = bookingService.createBooking(booking);
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            BookingStatistics statistics = bookingStatisticsService.getStatistics(start, end);
+            return ResponseEntity.ok(statistics);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
-        } catch (BookingService.BookingConflictException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
         }
     }
 
+    /**
+     * Get a customer's active bookings and the per-customer limit
+     * 
+     * @param email customer email
+     * @return active booking count and limit (0 if unlimited)
+     */
+    @GetMapping("/quota")
+    public ResponseEntity<Map<String, Object>> getQuota(@RequestParam String email) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("customerEmail", email);
+        response.put("activeBookings", customerQuotaService.getActiveCount(email));
+        response.put("maxActiveBookings", customerQuotaService.getMaxActivePerCustomer());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the bookings of a resource as they were at a point in time
+     * 
+     * @param resourceId resource ID
+     * @param time point in time
+     * @param start optional start of the time window
+     * @param end optional end of the time window
+     * @return booking versions current at that time, ordered by start time
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<?> getResourceScheduleAsOf(
+            @RequestParam Long resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        try {
+            return ResponseEntity.ok(bookingHistoryService.getResourceScheduleAsOf(resourceId, time, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get all versions of a booking
+     * 
+     * @param id booking ID
+     * @return versions, oldest first
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<BookingHistory>> getBookingHistory(@PathVariable Long id) {
+        List<BookingHistory> history = bookingHistoryService.getHistory(id);
+        return history.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(history);
+    }
+
+    /**
+     * Get a booking as it was at a point in time
+     * 
+     * @param id booking ID
+     * @param time point in time
+     * @return the version current at that time, or 404 if the booking did not exist then
+     */
+    @GetMapping("/{id}/as-of")
+    public ResponseEntity<BookingHistory> getBookingAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        return bookingHistoryService.getBookingAsOf(id, time)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Create a new booking.
+     * With {@code waitlist=true} a conflicting request is queued on the waitlist instead of
+     * rejected, and the waitlist entry is returned with 202 Accepted.
+     * 
+     * @param booking booking to create
+     * @param waitlist whether to queue the request if the resource is not available
+     * @param idempotencyKey optional key identifying retries of the same request
+     * @return created booking, or the waitlist entry
+     */
+    @PostMapping
+    public ResponseEntity<?> createBooking(
+            @Valid @RequestBody Booking booking,
+            @RequestParam(defaultValue = "false") boolean waitlist,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotency(idempotencyKey, "POST /api/bookings", List.of(booking, waitlist), () -> {
+            try {
+                Booking created = bookingService.createBooking(booking);
+                return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            } catch (BookingService.BookingConflictException e) {
+                if (waitlist) {
+                    return ResponseEntity.status(HttpStatus.ACCEPTED).body(waitlistService.join(booking));
+                }
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Book the best-fitting available resource for a group
+     * 
+     * @param request headcount, time range and customer details
+     * @param idempotencyKey optional key identifying retries of the same request
+     * @return created booking with the assigned resource
+     */
+    @PostMapping("/auto-assign")
+    public ResponseEntity<?> autoAssignBooking(
+            @Valid @RequestBody AutoAssignRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotency(idempotencyKey, "POST /api/bookings/auto-assign", request, () -> {
+            try {
+                Booking created = bookingService.autoAssignBooking(request.toBooking(), request.headcount());
+                return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            } catch (BookingService.BookingConflictException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Book several resources for the same time range; either all bookings are created or none
+     * 
+     * @param request resources and shared booking details
+     * @param idempotencyKey optional key identifying retries of the same request
+     * @return created bookings
+     */
+    @PostMapping("/bundle")
+    public ResponseEntity<?> createBookingBundle(
+            @Valid @RequestBody BookingBundleRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotency(idempotencyKey, "POST /api/bookings/bundle", request, () -> {
+            try {
+                List<Booking> created = bookingService.createBookingBundle(
+                        request.resourceIds(), request.toTemplate());
+                return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            } catch (BookingService.BookingConflictException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            }
+        });
+    }
+
     /**
      * Update an existing booking
      * 
      * @param id booking ID
      * @param booking updated booking details
+     * @param idempotencyKey optional key identifying retries of the same request
      * @return updated booking
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateBooking(
             @PathVariable Long id,
-            @Valid @RequestBody Booking booking) {
-        try {
-            Booking updated = bookingService.updateBooking(id, booking);
-            return ResponseEntity.ok(updated);
-        } catch (BookingService.BookingNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (BookingService.BookingConflictException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
-        }
+            @Valid @RequestBody Booking booking,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotency(idempotencyKey, "PUT /api/bookings/" + id, booking, () -> {
+            try {
+                Booking updated = bookingService.updateBooking(id, booking);
+                return ResponseEntity.ok(updated);
+            } catch (BookingService.BookingNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            } catch (BookingService.BookingConflictException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(createErrorResponse("Booking was modified by another request"));
+            }
+        });
     }
 
     /**
      * Cancel a booking
      * 
      * @param id booking ID
+     * @param idempotencyKey optional key identifying retries of the same request
      * @return cancelled booking
      */
     @PatchMapping("/{id}/cancel")
-    public ResponseEntity<?> cancelBooking(@PathVariable Long id) {
-        try {
-            Booking cancelled = bookingService.cancelBooking(id);
-            return ResponseEntity.ok(cancelled);
-        } catch (BookingService.BookingNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> cancelBooking(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotency(idempotencyKey, "PATCH /api/bookings/" + id + "/cancel", null, () -> {
+            try {
+                Booking cancelled = bookingService.cancelBooking(id);
+                return ResponseEntity.ok(cancelled);
+            } catch (BookingService.BookingNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
 
     /**
@@ -160,6 +383,81 @@ public class BookingController {
         }
     }
 
+    /**
+     * Cancel every active booking of a resource overlapping a time range
+     * 
+     * @param resourceId resource ID
+     * @param start start time
+     * @param end end time
+     * @return number of cancelled bookings
+     */
+    @PatchMapping("/bulk/cancel")
+    public ResponseEntity<?> cancelBookingsByResource(
+            @RequestParam Long resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        try {
+            int cancelled = bookingService.cancelBookingsByResourceAndTimeRange(resourceId, start, end);
+            return ResponseEntity.ok(Map.of("affected", cancelled));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Delete bookings with a status that ended before a point in time
+     * 
+     * @param status booking status
+     * @param before bookings ending before this time are deleted
+     * @return number of deleted bookings
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Map<String, Integer>> deleteBookingsByStatus(
+            @RequestParam BookingStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        int deleted = bookingService.deleteBookingsByStatusBefore(status, before);
+        return ResponseEntity.ok(Map.of("affected", deleted));
+    }
+
+    /**
+     * Run a write once per idempotency key; requests without a key always run.
+     * The key is scoped to the operation and to the client (the rate limiter's
+     * identity: trusted API key or remote address), so the same key on different
+     * endpoints or from different clients does not collide. Only successful responses are recorded, so a retry after
+     * a 400 or 409 runs again; reusing a key with a different body gets 422.
+     */
+    private ResponseEntity<?> withIdempotency(String idempotencyKey, String operation, Object body,
+                                              Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(createErrorResponse(
+                    IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+        }
+        try {
+            String key = operation + " " + clientIdentity.current().orElse("-") + " " + idempotencyKey;
+            return idempotencyStore.execute(key, fingerprint(body), action,
+                    response -> response.getStatusCode().is2xxSuccessful());
+        } catch (IdempotencyStore.KeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body(createErrorResponse(e.getMessage()));
+        } catch (IdempotencyStore.InProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * SHA-256 of the request body as JSON
+     */
+    private String fingerprint(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request body", e);
+        }
+    }
+
     /**
      * Helper method to create error response
      */
@@ -0,0 +1,96 @@
+package com.booking.controller;
+
+import com.booking.dto.IcsFeed;
+import com.booking.service.IcsFeedService;
+import com.booking.service.ResourceService;
+import com.booking.service.WeeklyCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for the booking calendar
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final WeeklyCalendarService weeklyCalendarService;
+    private final IcsFeedService icsFeedService;
+
+    /**
+     * Get the bookings of the week containing a date, per resource.
+     * Clients accepting JSON get the cached JSON as is; others (CBOR, Smile) get the weeks
+     * written by the negotiated message converter.
+     * 
+     * @param date any day of the week
+     * @param resourceId resource ID; all resources if omitted
+     * @param accept Accept header
+     * @return one entry per resource with the bookings overlapping the week
+     */
+    @GetMapping("/week")
+    public ResponseEntity<?> getWeek(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long resourceId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        try {
+            if (!acceptsJson(accept)) {
+                return ResponseEntity.ok(weeklyCalendarService.getWeekEntries(date, resourceId));
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(weeklyCalendarService.getWeek(date, resourceId));
+        } catch (ResourceService.ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get the iCalendar feed of a resource for calendar subscriptions.
+     * Conditional requests with If-None-Match or If-Modified-Since get 304 while the feed is unchanged.
+     * 
+     * @param resourceId resource ID
+     * @return iCalendar document with the active bookings of the resource
+     */
+    @GetMapping("/resources/{resourceId}.ics")
+    public ResponseEntity<byte[]> getIcsFeed(@PathVariable Long resourceId) {
+        try {
+            IcsFeed feed = icsFeedService.getFeed(resourceId);
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .eTag(feed.etag())
+                    .lastModified(feed.lastModified())
+                    .cacheControl(CacheControl.noCache())
+                    .body(feed.content());
+        } catch (ResourceService.ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Whether JSON is acceptable, also when the header is missing or only has wildcards
+     */
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            return accepted.stream().anyMatch(type -> type.getQualityValue() > 0
+                    && type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+}
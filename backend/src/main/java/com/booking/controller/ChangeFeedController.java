@@ -0,0 +1,49 @@
+package com.booking.controller;
+
+import com.booking.dto.ChangeFeedPage;
+import com.booking.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for the booking and resource change feed
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final OutboxService outboxService;
+
+    /**
+     * Read changes after an offset, in offset order
+     * 
+     * @param after last offset already processed (0 to start from the beginning)
+     * @param limit maximum number of events
+     * @return batch of events and the offset to continue from
+     */
+    @GetMapping
+    public ResponseEntity<?> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            ChangeFeedPage page = outboxService.readFeed(after, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Helper method to create error response
+     */
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
+}
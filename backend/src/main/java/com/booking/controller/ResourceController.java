@@ -1,5 +1,6 @@
 package com.booking.controller;
 
+import com.booking.dto.ResourceSummary;
 import com.booking.model.Resource;
 import com.booking.service.ResourceService;
 import jakarta.validation.Valid;
@@ -43,6 +44,30 @@ public class ResourceController {
         return ResponseEntity.ok(resources);
     }
 
+    /**
+     * Get resource summaries (id, name, capacity, available) for list views.
+     * Selected with {@code view=summary}; accepts the same filters as the full list.
+     * 
+     * @return list of resource summaries
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<ResourceSummary>> getResourceSummaries(
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) String search) {
+        
+        List<ResourceSummary> summaries;
+        
+        if (search != null && !search.trim().isEmpty()) {
+            summaries = resourceService.searchResourceSummariesByName(search);
+        } else if (available != null && available) {
+            summaries = resourceService.getAvailableResourceSummaries();
+        } else {
+            summaries = resourceService.getAllResourceSummaries();
+        }
+        
+        return ResponseEntity.ok(summaries);
+    }
+
     /**
      * Get resource by ID
      * 
@@ -0,0 +1,91 @@
+package com.booking.controller;
+
+import com.booking.model.Booking;
+import com.booking.model.WaitlistEntry;
+import com.booking.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for the booking waitlist
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Get waiting entries for a resource in queue order
+     * 
+     * @param resourceId resource ID
+     * @return list of waiting entries
+     */
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntry>> getWaitingEntries(@RequestParam Long resourceId) {
+        return ResponseEntity.ok(waitlistService.getWaitingEntries(resourceId));
+    }
+
+    /**
+     * Get waitlist entry by ID; a promoted entry carries the ID of its booking
+     * 
+     * @param id entry ID
+     * @return waitlist entry
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> getEntryById(@PathVariable Long id) {
+        return waitlistService.getEntryById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Queue a booking request until its resource and time range become free
+     * 
+     * @param booking requested booking
+     * @return created waitlist entry
+     */
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@Valid @RequestBody Booking booking) {
+        try {
+            WaitlistEntry entry = waitlistService.join(booking);
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Withdraw a waiting entry
+     * 
+     * @param id entry ID
+     * @return cancelled entry
+     */
+    @PatchMapping("/{id}/cancel")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(waitlistService.leave(id));
+        } catch (WaitlistService.WaitlistEntryNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Helper method to create error response
+     */
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
+}
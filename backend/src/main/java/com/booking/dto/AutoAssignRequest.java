@@ -0,0 +1,56 @@
+package com.booking.dto;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request to book any suitable resource for a group of people
+ */
+public record AutoAssignRequest(
+        @NotNull(message = "Headcount is required")
+        @Min(value = 1, message = "Headcount must be at least 1")
+        Integer headcount,
+
+        @NotBlank(message = "Customer name is required")
+        String customerName,
+
+        @NotBlank(message = "Customer email is required")
+        @Email(message = "Invalid email format")
+        String customerEmail,
+
+        @NotNull(message = "Start time is required")
+        LocalDateTime startTime,
+
+        @NotNull(message = "End time is required")
+        LocalDateTime endTime,
+
+        BookingStatus status,
+
+        @Size(max = 2000)
+        String notes) {
+
+    /**
+     * Booking for this request, without a resource
+     * 
+     * @return new booking
+     */
+    public Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setCustomerName(customerName);
+        booking.setCustomerEmail(customerEmail);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        if (status != null) {
+            booking.setStatus(status);
+        }
+        booking.setNotes(notes);
+        return booking;
+    }
+}
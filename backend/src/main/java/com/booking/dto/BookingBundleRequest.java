@@ -0,0 +1,56 @@
+package com.booking.dto;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request to book several resources for the same time range, all or nothing
+ */
+public record BookingBundleRequest(
+        @NotEmpty(message = "At least one resource is required")
+        List<@NotNull Long> resourceIds,
+
+        @NotBlank(message = "Customer name is required")
+        String customerName,
+
+        @NotBlank(message = "Customer email is required")
+        @Email(message = "Invalid email format")
+        String customerEmail,
+
+        @NotNull(message = "Start time is required")
+        LocalDateTime startTime,
+
+        @NotNull(message = "End time is required")
+        LocalDateTime endTime,
+
+        BookingStatus status,
+
+        @Size(max = 2000)
+        String notes) {
+
+    /**
+     * Booking details shared by every resource in the bundle
+     * 
+     * @return booking template without a resource
+     */
+    public Booking toTemplate() {
+        Booking booking = new Booking();
+        booking.setCustomerName(customerName);
+        booking.setCustomerEmail(customerEmail);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        if (status != null) {
+            booking.setStatus(status);
+        }
+        booking.setNotes(notes);
+        return booking;
+    }
+}
@@ -0,0 +1,26 @@
+package com.booking.dto;
+
+import com.booking.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Booking counts for an optional time window
+ *
+ * @param start start of the window, or null if unbounded
+ * @param end end of the window, or null if unbounded
+ * @param total number of bookings overlapping the window
+ * @param byStatus counts by status, including statuses with no bookings
+ * @param byResource counts by resource ID, resources without bookings omitted
+ * @param byDay counts by day of the booking start time
+ */
+public record BookingStatistics(
+        LocalDateTime start,
+        LocalDateTime end,
+        long total,
+        Map<BookingStatus, Long> byStatus,
+        Map<Long, Long> byResource,
+        Map<LocalDate, Long> byDay) {
+}
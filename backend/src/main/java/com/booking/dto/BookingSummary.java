@@ -0,0 +1,17 @@
+package com.booking.dto;
+
+import com.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight booking representation for list and calendar views.
+ * Populated directly by JPA constructor projections, so only these columns are selected.
+ */
+public record BookingSummary(
+        Long id,
+        Long resourceId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus status) {
+}
@@ -0,0 +1,16 @@
+package com.booking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bookings of one resource in one calendar week (Monday to Sunday)
+ *
+ * @param weekStart Monday the week starts on
+ * @param bookings bookings overlapping the week, ordered by start time
+ */
+public record CalendarWeek(
+        Long resourceId,
+        LocalDate weekStart,
+        List<BookingSummary> bookings) {
+}
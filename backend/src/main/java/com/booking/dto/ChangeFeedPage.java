@@ -0,0 +1,11 @@
+package com.booking.dto;
+
+import com.booking.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * One batch of the change feed; consumers pass {@code nextOffset} as {@code after} for the next batch
+ */
+public record ChangeFeedPage(List<OutboxEvent> events, long nextOffset) {
+}
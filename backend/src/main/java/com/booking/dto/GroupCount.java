@@ -0,0 +1,11 @@
+package com.booking.dto;
+
+/**
+ * Row count for one group of an aggregate query.
+ * Populated directly by JPA constructor projections over {@code GROUP BY} queries.
+ *
+ * @param key value of the grouping expression
+ * @param count number of rows in the group
+ */
+public record GroupCount<K>(K key, long count) {
+}
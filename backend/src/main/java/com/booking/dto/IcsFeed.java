@@ -0,0 +1,13 @@
+package com.booking.dto;
+
+import java.time.Instant;
+
+/**
+ * Generated iCalendar feed of one resource
+ *
+ * @param content UTF-8 encoded iCalendar document
+ * @param etag strong entity tag of the content, quoted
+ * @param lastModified latest change to the resource or its bookings
+ */
+public record IcsFeed(byte[] content, String etag, Instant lastModified) {
+}
@@ -0,0 +1,23 @@
+package com.booking.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a full overlap audit of the active bookings
+ *
+ * @param resourcesScanned resources with active bookings
+ * @param bookingsScanned active bookings read
+ * @param overlappingPairs number of overlapping pairs found
+ * @param pairs overlapping pairs ordered by resource and booking, at most the configured number
+ * @param truncated whether more pairs were found than listed
+ */
+public record OverlapAuditReport(
+        Instant startedAt,
+        Instant finishedAt,
+        int resourcesScanned,
+        long bookingsScanned,
+        long overlappingPairs,
+        List<OverlapPair> pairs,
+        boolean truncated) {
+}
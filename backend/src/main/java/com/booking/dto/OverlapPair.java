@@ -0,0 +1,19 @@
+package com.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Two active bookings of the same resource whose time ranges overlap
+ *
+ * @param firstBookingId booking that starts first (lower ID on equal start times)
+ * @param secondBookingId booking that starts later
+ * @param overlapStart start of the overlapping range
+ * @param overlapEnd end of the overlapping range
+ */
+public record OverlapPair(
+        Long resourceId,
+        Long firstBookingId,
+        Long secondBookingId,
+        LocalDateTime overlapStart,
+        LocalDateTime overlapEnd) {
+}
@@ -0,0 +1,12 @@
+package com.booking.dto;
+
+/**
+ * Lightweight resource representation for list views.
+ * Populated directly by JPA constructor projections, so only these columns are selected.
+ */
+public record ResourceSummary(
+        Long id,
+        String name,
+        Integer capacity,
+        Boolean available) {
+}
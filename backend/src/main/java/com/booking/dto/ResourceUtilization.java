@@ -0,0 +1,24 @@
+package com.booking.dto;
+
+import com.booking.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Utilization of one resource over one period (a day or a week starting on {@code from})
+ *
+ * @param bookedMinutes minutes covered by PENDING or CONFIRMED bookings
+ * @param occupancyPercent booked minutes relative to the bookable minutes of the period
+ * @param bookingCounts bookings touching the period, by status
+ * @param peakHour hour of day with the most booked minutes, or null if nothing is booked
+ */
+public record ResourceUtilization(
+        Long resourceId,
+        LocalDate from,
+        LocalDate to,
+        long bookedMinutes,
+        double occupancyPercent,
+        Map<BookingStatus, Integer> bookingCounts,
+        Integer peakHour) {
+}
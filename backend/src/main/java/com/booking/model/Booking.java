@@ -13,10 +13,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 /**
- * Booking entity representing a reservation
+ * Booking entity representing a reservation.
+ * Indexed by resource and start time for per-resource range queries (conflicts, calendar weeks).
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_resource_start", columnList = "resourceId, startTime")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -62,6 +65,22 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented on every modification; an update carrying a stale version is rejected
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Detached copy of the current state, used to describe a change after the entity is modified
+     * 
+     * @return copy of this booking
+     */
+    public Booking snapshot() {
+        return new Booking(id, resourceId, customerName, customerEmail, startTime, endTime,
+                status, notes, createdAt, updatedAt, version);
+    }
+
     /**
      * Validates that end time is after start time
      */
@@ -0,0 +1,69 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One version of a booking, appended in the transaction that wrote it.
+ *
+ * A version is valid from {@code validFrom} until {@code validTo}, which stays null for the
+ * current version. When the booking's next version is appended, the transaction appending it
+ * also sets the superseded row's {@code validTo}; that is the only update a row ever gets. A deletion is
+ * recorded as a final {@code DELETED} version holding the last state. IDs come from a pooled
+ * sequence rather than identity columns, so Hibernate can batch the inserts of a transaction.
+ * The state of a booking at a point in time is the version whose interval contains it; the
+ * indexes make that a range scan per booking or per resource.
+ */
+@Entity
+@Table(name = "booking_history", indexes = {
+        @Index(name = "idx_booking_history_booking", columnList = "bookingId, validFrom"),
+        @Index(name = "idx_booking_history_resource", columnList = "resourceId, validFrom, validTo")
+})
+@Data
+@NoArgsConstructor
+public class BookingHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_history_seq")
+    @SequenceGenerator(name = "booking_history_seq", sequenceName = "booking_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false, length = 16)
+    private String changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime validFrom;
+
+    private LocalDateTime validTo;
+
+    @Column(nullable = false)
+    private Long resourceId;
+
+    @Column(nullable = false)
+    private String customerName;
+
+    @Column(nullable = false)
+    private String customerEmail;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Column(length = 2000)
+    private String notes;
+}
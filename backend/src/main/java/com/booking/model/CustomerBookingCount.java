@@ -0,0 +1,34 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of active (PENDING or CONFIRMED) bookings a customer holds, maintained with every
+ * booking write so the per-customer quota is checked without reading the bookings.
+ * Writers lock the row, which serializes concurrent bookings of the same customer.
+ */
+@Entity
+@Table(name = "customer_booking_counts")
+@Data
+@NoArgsConstructor
+public class CustomerBookingCount {
+
+    @Id
+    private String customerEmail;
+
+    @Column(nullable = false)
+    private int activeCount;
+
+    /**
+     * Orders the committed states of the row, so the in-memory copy never goes back to an older one
+     */
+    @Version
+    private Long version;
+
+    public CustomerBookingCount(String customerEmail, int activeCount) {
+        this.customerEmail = customerEmail;
+        this.activeCount = activeCount;
+    }
+}
@@ -0,0 +1,73 @@
+package com.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row describing one booking or resource write, inserted in the writing transaction.
+ *
+ * The identity ID follows insertion order, which can differ from commit order. Consumers
+ * therefore read by {@code feedOffset}, which the relay assigns to committed rows only,
+ * so a reader that has seen offset N never misses a row that later appears below N.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_feed_offset", columnList = "feedOffset", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Kind of entity the event is about
+     */
+    public enum AggregateType {
+        BOOKING,
+        RESOURCE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AggregateType aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 16)
+    private String eventType;
+
+    /**
+     * JSON object with the {@code previous} and {@code current} states
+     */
+    @Lob
+    @JsonRawValue
+    @Column(nullable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Position in the change feed; null until the relay publishes the event
+     */
+    private Long feedOffset;
+
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(AggregateType aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+}
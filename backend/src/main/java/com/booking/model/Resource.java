@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,10 +15,13 @@ import java.time.LocalDateTime;
 
 /**
  * Resource entity representing bookable resources
- * (e.g., meeting rooms, facilities, equipment)
+ * (e.g., meeting rooms, facilities, equipment).
+ * Held in the second-level cache, see {@link com.booking.config.HibernateCacheConfig}.
  */
 @Entity
 @Table(name = "resources")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,5 +53,13 @@ public class Resource {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
-}
 
+    /**
+     * Detached copy of the current state, used to describe a change after the entity is modified
+     * 
+     * @return copy of this resource
+     */
+    public Resource snapshot() {
+        return new Resource(id, name, description, capacity, available, createdAt, updatedAt);
+    }
+}
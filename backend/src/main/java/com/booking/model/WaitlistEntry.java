@@ -0,0 +1,99 @@
+package com.booking.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Waitlist entry: a booking request queued until its resource and time range become free.
+ * Indexed by resource, status and start time so that the waiters for a freed range are
+ * found without scanning the whole waitlist.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_resource_status_start", columnList = "resourceId, status, startTime")
+})
+@Data
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Resource ID is required")
+    @Column(nullable = false)
+    private Long resourceId;
+
+    @NotBlank(message = "Customer name is required")
+    @Column(nullable = false)
+    private String customerName;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email format")
+    @Column(nullable = false)
+    private String customerEmail;
+
+    @NotNull(message = "Start time is required")
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(length = 2000)
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    /**
+     * Booking created when the entry was promoted
+     */
+    private Long bookingId;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Waitlist entry for a booking request that could not be booked yet
+     * 
+     * @param booking requested booking
+     * @return new waiting entry
+     */
+    public static WaitlistEntry of(Booking booking) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setResourceId(booking.getResourceId());
+        entry.setCustomerName(booking.getCustomerName());
+        entry.setCustomerEmail(booking.getCustomerEmail());
+        entry.setStartTime(booking.getStartTime());
+        entry.setEndTime(booking.getEndTime());
+        entry.setNotes(booking.getNotes());
+        return entry;
+    }
+
+    /**
+     * Booking to create when the entry is promoted
+     * 
+     * @return new pending booking
+     */
+    public Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setResourceId(resourceId);
+        booking.setCustomerName(customerName);
+        booking.setCustomerEmail(customerEmail);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setNotes(notes);
+        return booking;
+    }
+}
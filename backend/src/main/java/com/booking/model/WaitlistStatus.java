@@ -0,0 +1,26 @@
+package com.booking.model;
+
+/**
+ * Status enumeration for waitlist entries
+ */
+public enum WaitlistStatus {
+    /**
+     * Waiting for the requested time range to become free
+     */
+    WAITING,
+
+    /**
+     * A booking has been created for the entry
+     */
+    PROMOTED,
+
+    /**
+     * The entry was withdrawn before it could be promoted
+     */
+    CANCELLED,
+
+    /**
+     * The requested time range ended before it became free
+     */
+    EXPIRED
+}
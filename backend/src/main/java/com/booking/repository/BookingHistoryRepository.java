@@ -0,0 +1,75 @@
+package com.booking.repository;
+
+import com.booking.model.BookingHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for BookingHistory entity (rows are appended; only validTo is ever updated)
+ */
+@Repository
+public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
+
+    /**
+     * Find all versions of a booking, oldest first
+     * 
+     * @param bookingId booking ID
+     * @return versions of the booking
+     */
+    List<BookingHistory> findByBookingIdOrderByVersionAsc(Long bookingId);
+
+    /**
+     * Find the version of a booking that was current at a point in time
+     * 
+     * @param bookingId booking ID
+     * @param asOf point in time
+     * @return the latest version valid at that time (possibly a DELETED one), if the booking existed
+     */
+    @Query("SELECT h FROM BookingHistory h WHERE h.bookingId = :bookingId AND h.validFrom <= :asOf " +
+           "AND (h.validTo > :asOf OR h.validTo IS NULL)")
+    Optional<BookingHistory> findAsOf(@Param("bookingId") Long bookingId,
+                                      @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Find the bookings a resource had at a point in time, optionally limited to those
+     * overlapping a window. Keeps the resource's versions whose validity interval contains that
+     * time, so versions moved to another resource or deleted by then drop out.
+     * 
+     * @param resourceId resource ID
+     * @param asOf point in time
+     * @param start start of the window, or null for no lower bound
+     * @param end end of the window, or null for no upper bound
+     * @return booking versions ordered by start time
+     */
+    @Query("SELECT h FROM BookingHistory h WHERE h.resourceId = :resourceId AND h.validFrom <= :asOf " +
+           "AND (h.validTo > :asOf OR h.validTo IS NULL) AND h.changeType <> 'DELETED' " +
+           "AND (:end IS NULL OR h.startTime < :end) AND (:start IS NULL OR h.endTime > :start) " +
+           "ORDER BY h.startTime, h.bookingId")
+    List<BookingHistory> findResourceScheduleAsOf(@Param("resourceId") Long resourceId,
+                                                  @Param("asOf") LocalDateTime asOf,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * Close the current versions of bookings that a transaction has written again
+     * 
+     * @param bookingIds booking IDs
+     * @param appendedIds IDs of the versions the transaction appended, which stay open
+     * @param validTo time the appended versions became valid
+     * @return number of versions closed
+     */
+    @Modifying
+    @Query("UPDATE BookingHistory h SET h.validTo = :validTo " +
+           "WHERE h.bookingId IN :bookingIds AND h.validTo IS NULL AND h.id NOT IN :appendedIds")
+    int closeVersions(@Param("bookingIds") Collection<Long> bookingIds,
+                      @Param("appendedIds") Collection<Long> appendedIds,
+                      @Param("validTo") LocalDateTime validTo);
+}
@@ -1,14 +1,27 @@
 package com.booking.repository;
 
+import com.booking.dto.BookingSummary;
+import com.booking.dto.GroupCount;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Booking entity
@@ -40,6 +53,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     List<Booking> findByCustomerEmail(String email);
     
+    /**
+     * Count a customer's bookings in the given statuses, used once to seed the customer's counter
+     * 
+     * @param email customer email address
+     * @param statuses statuses to count
+     * @return number of bookings
+     */
+    long countByCustomerEmailAndStatusIn(String email, Collection<BookingStatus> statuses);
+    
     /**
      * Find bookings within a time range
      * 
@@ -67,5 +89,366 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                           @Param("start") LocalDateTime start,
                                           @Param("end") LocalDateTime end,
                                           @Param("statuses") List<BookingStatus> statuses);
-}
 
+    
+    /**
+     * Find which of the given resources have bookings overlapping a time range
+     * 
+     * @param resourceIds IDs of the resources to check
+     * @param start start of the time range
+     * @param end end of the time range
+     * @param statuses booking statuses that occupy a resource
+     * @return IDs of resources with at least one overlapping booking
+     */
+    @Query("SELECT DISTINCT b.resourceId FROM Booking b WHERE b.resourceId IN :resourceIds " +
+           "AND b.startTime < :end AND b.endTime > :start " +
+           "AND b.status IN :statuses")
+    List<Long> findBusyResourceIds(@Param("resourceIds") Collection<Long> resourceIds,
+                                   @Param("start") LocalDateTime start,
+                                   @Param("end") LocalDateTime end,
+                                   @Param("statuses") List<BookingStatus> statuses);
+    
+    /**
+     * Find summaries of all bookings
+     * 
+     * @return list of booking summaries
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b")
+    List<BookingSummary> findAllSummaries();
+    
+    /**
+     * Find booking summaries by resource ID
+     * 
+     * @param resourceId ID of the resource
+     * @return list of booking summaries for the specified resource
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.resourceId = :resourceId")
+    List<BookingSummary> findSummariesByResourceId(@Param("resourceId") Long resourceId);
+    
+    /**
+     * Find booking summaries by status
+     * 
+     * @param status booking status
+     * @return list of booking summaries with specified status
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.status = :status")
+    List<BookingSummary> findSummariesByStatus(@Param("status") BookingStatus status);
+    
+    /**
+     * Find booking summaries by customer email
+     * 
+     * @param email customer email address
+     * @return list of booking summaries for the specified customer
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.customerEmail = :email")
+    List<BookingSummary> findSummariesByCustomerEmail(@Param("email") String email);
+    
+    /**
+     * Find booking summaries within a time range
+     * 
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return list of booking summaries that overlap with the specified time range
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.startTime < :end AND b.endTime > :start")
+    List<BookingSummary> findSummariesByTimeRange(@Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end);
+
+
+    /**
+     * Count bookings by status, for all bookings
+     * 
+     * @return one count per status that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.status, COUNT(b)) FROM Booking b " +
+           "GROUP BY b.status")
+    List<GroupCount<BookingStatus>> countByStatus();
+    
+    /**
+     * Count bookings by status, for bookings overlapping a time range
+     * 
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return one count per status that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.status, COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end AND b.endTime > :start " +
+           "GROUP BY b.status")
+    List<GroupCount<BookingStatus>> countByStatusInRange(@Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end);
+    
+    /**
+     * Count bookings by status, for bookings ending after a point in time
+     * 
+     * @param start start of the time range
+     * @return one count per status that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.status, COUNT(b)) FROM Booking b " +
+           "WHERE b.endTime > :start " +
+           "GROUP BY b.status")
+    List<GroupCount<BookingStatus>> countByStatusEndingAfter(@Param("start") LocalDateTime start);
+    
+    /**
+     * Count bookings by status, for bookings starting before a point in time
+     * 
+     * @param end end of the time range
+     * @return one count per status that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.status, COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end " +
+           "GROUP BY b.status")
+    List<GroupCount<BookingStatus>> countByStatusStartingBefore(@Param("end") LocalDateTime end);
+    
+    /**
+     * Count bookings by resource, for all bookings
+     * 
+     * @return one count per resource that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.resourceId, COUNT(b)) FROM Booking b " +
+           "GROUP BY b.resourceId")
+    List<GroupCount<Long>> countByResource();
+    
+    /**
+     * Count bookings by resource, for bookings overlapping a time range
+     * 
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return one count per resource that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.resourceId, COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end AND b.endTime > :start " +
+           "GROUP BY b.resourceId")
+    List<GroupCount<Long>> countByResourceInRange(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+    
+    /**
+     * Count bookings by resource, for bookings ending after a point in time
+     * 
+     * @param start start of the time range
+     * @return one count per resource that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.resourceId, COUNT(b)) FROM Booking b " +
+           "WHERE b.endTime > :start " +
+           "GROUP BY b.resourceId")
+    List<GroupCount<Long>> countByResourceEndingAfter(@Param("start") LocalDateTime start);
+    
+    /**
+     * Count bookings by resource, for bookings starting before a point in time
+     * 
+     * @param end end of the time range
+     * @return one count per resource that has bookings
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(b.resourceId, COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end " +
+           "GROUP BY b.resourceId")
+    List<GroupCount<Long>> countByResourceStartingBefore(@Param("end") LocalDateTime end);
+    
+    /**
+     * Count bookings by day of their start time, for all bookings
+     * 
+     * @return one count per day that has bookings starting on it
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(CAST(b.startTime AS LocalDate), COUNT(b)) FROM Booking b " +
+           "GROUP BY CAST(b.startTime AS LocalDate)")
+    List<GroupCount<LocalDate>> countByStartDay();
+    
+    /**
+     * Count bookings by day of their start time, for bookings overlapping a time range
+     * 
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return one count per day that has bookings starting on it
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(CAST(b.startTime AS LocalDate), COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end AND b.endTime > :start " +
+           "GROUP BY CAST(b.startTime AS LocalDate)")
+    List<GroupCount<LocalDate>> countByStartDayInRange(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+    
+    /**
+     * Count bookings by day of their start time, for bookings ending after a point in time
+     * 
+     * @param start start of the time range
+     * @return one count per day that has bookings starting on it
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(CAST(b.startTime AS LocalDate), COUNT(b)) FROM Booking b " +
+           "WHERE b.endTime > :start " +
+           "GROUP BY CAST(b.startTime AS LocalDate)")
+    List<GroupCount<LocalDate>> countByStartDayEndingAfter(@Param("start") LocalDateTime start);
+    
+    /**
+     * Count bookings by day of their start time, for bookings starting before a point in time
+     * 
+     * @param end end of the time range
+     * @return one count per day that has bookings starting on it
+     */
+    @Query("SELECT new com.booking.dto.GroupCount(CAST(b.startTime AS LocalDate), COUNT(b)) FROM Booking b " +
+           "WHERE b.startTime < :end " +
+           "GROUP BY CAST(b.startTime AS LocalDate)")
+    List<GroupCount<LocalDate>> countByStartDayStartingBefore(@Param("end") LocalDateTime end);
+    
+    /**
+     * Find booking summaries of the given resources within a time range,
+     * ordered by resource and start time
+     * 
+     * @param resourceIds IDs of the resources
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return list of booking summaries that overlap with the specified time range
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.resourceId IN :resourceIds " +
+           "AND b.startTime < :end AND b.endTime > :start " +
+           "ORDER BY b.resourceId, b.startTime, b.id")
+    List<BookingSummary> findSummariesByResourceIdsAndTimeRange(@Param("resourceIds") Collection<Long> resourceIds,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("end") LocalDateTime end);
+    
+    /**
+     * Stream bookings of a resource with the given statuses within a time range, ordered by start time.
+     * Rows are fetched in batches and loaded read-only; the stream must be consumed inside a
+     * transaction and closed afterwards.
+     * 
+     * @param resourceId ID of the resource
+     * @param start start of the time range
+     * @param end end of the time range
+     * @param statuses statuses to include
+     * @return stream of bookings that overlap with the specified time range
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.resourceId = :resourceId " +
+           "AND b.startTime < :end AND b.endTime > :start " +
+           "AND b.status IN :statuses ORDER BY b.startTime, b.id")
+    Stream<Booking> streamByResourceIdAndTimeRange(@Param("resourceId") Long resourceId,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end,
+                                                   @Param("statuses") List<BookingStatus> statuses);
+    
+    /**
+     * Find the IDs of resources that have bookings with one of the given statuses
+     * 
+     * @param statuses booking statuses
+     * @return resource IDs in ascending order
+     */
+    @Query("SELECT DISTINCT b.resourceId FROM Booking b WHERE b.status IN :statuses ORDER BY b.resourceId")
+    List<Long> findResourceIdsByStatusIn(@Param("statuses") List<BookingStatus> statuses);
+    
+    /**
+     * Find the first chunk of booking summaries of a resource ordered by start time and ID
+     * (keyset pagination, continued by {@link #findSummariesByResourceIdAfter})
+     * 
+     * @param resourceId ID of the resource
+     * @param statuses statuses to include
+     * @param pageable chunk size
+     * @return first chunk of booking summaries
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.resourceId = :resourceId AND b.status IN :statuses " +
+           "ORDER BY b.startTime, b.id")
+    List<BookingSummary> findSummariesByResourceIdAndStatusIn(@Param("resourceId") Long resourceId,
+                                                              @Param("statuses") List<BookingStatus> statuses,
+                                                              Pageable pageable);
+
+    /**
+     * Find the next chunk of booking summaries of a resource ordered by start time and ID,
+     * continuing after the given position (keyset pagination)
+     * 
+     * @param resourceId ID of the resource
+     * @param statuses statuses to include
+     * @param afterStart start time of the last row of the previous chunk
+     * @param afterId ID of the last row of the previous chunk
+     * @param pageable chunk size
+     * @return next chunk of booking summaries
+     */
+    @Query("SELECT new com.booking.dto.BookingSummary(b.id, b.resourceId, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.resourceId = :resourceId AND b.status IN :statuses " +
+           "AND (b.startTime > :afterStart OR (b.startTime = :afterStart AND b.id > :afterId)) " +
+           "ORDER BY b.startTime, b.id")
+    List<BookingSummary> findSummariesByResourceIdAfter(@Param("resourceId") Long resourceId,
+                                                        @Param("statuses") List<BookingStatus> statuses,
+                                                        @Param("afterStart") LocalDateTime afterStart,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+    
+    /**
+     * Find and lock bookings for a resource that overlap a time range, in ID order
+     * 
+     * @param resourceId ID of the resource
+     * @param start start of the time range
+     * @param end end of the time range
+     * @param statuses statuses to include
+     * @param pageable chunk to fetch
+     * @return list of locked bookings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.resourceId = :resourceId " +
+           "AND b.startTime < :end AND b.endTime > :start " +
+           "AND b.status IN :statuses ORDER BY b.id")
+    List<Booking> findForUpdateByResourceIdAndTimeRange(@Param("resourceId") Long resourceId,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end,
+                                                        @Param("statuses") List<BookingStatus> statuses,
+                                                        Pageable pageable);
+    
+    /**
+     * Find and lock a booking until the transaction ends, so concurrent changes to it run one after another
+     * 
+     * @param id booking ID
+     * @return locked booking, if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findForUpdateById(@Param("id") Long id);
+    
+    /**
+     * Find and lock bookings with a status that ended before the given time, in ID order
+     * 
+     * @param status booking status
+     * @param before bookings ending before this time are included
+     * @param pageable chunk to fetch
+     * @return list of locked bookings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.status = :status AND b.endTime < :before ORDER BY b.id")
+    List<Booking> findForUpdateByStatusAndEndTimeBefore(@Param("status") BookingStatus status,
+                                                        @Param("before") LocalDateTime before,
+                                                        Pageable pageable);
+    
+    /**
+     * Change the status of the given bookings in a single UPDATE statement.
+     * Only rows still in one of the expected statuses are changed.
+     * 
+     * @param ids booking IDs
+     * @param fromStatuses statuses a row must currently have to be changed
+     * @param status new status
+     * @param updatedAt modification timestamp (bulk updates bypass @UpdateTimestamp)
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = :updatedAt, b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("fromStatuses") List<BookingStatus> fromStatuses,
+                          @Param("status") BookingStatus status,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Delete the given bookings in a single DELETE statement.
+     * Only rows still in the expected status are deleted.
+     * 
+     * @param ids booking IDs
+     * @param status status a row must currently have to be deleted
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    int deleteByIdsAndStatus(@Param("ids") List<Long> ids, @Param("status") BookingStatus status);
+}
@@ -0,0 +1,44 @@
+package com.booking.repository;
+
+import com.booking.model.CustomerBookingCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for CustomerBookingCount entity
+ */
+@Repository
+public interface CustomerBookingCountRepository extends JpaRepository<CustomerBookingCount, String> {
+
+    /**
+     * Find and lock a customer's counter row until the transaction ends
+     * 
+     * @param customerEmail customer email
+     * @return locked counter row, if the customer has one
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CustomerBookingCount c WHERE c.customerEmail = :customerEmail")
+    Optional<CustomerBookingCount> findForUpdateByCustomerEmail(@Param("customerEmail") String customerEmail);
+
+    /**
+     * Create counter rows for the customers that have bookings but no counter yet, counting
+     * their PENDING and CONFIRMED bookings
+     * 
+     * @return number of counter rows created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO customer_booking_counts (customer_email, active_count, version) " +
+                   "SELECT b.customer_email, SUM(CASE WHEN b.status IN ('PENDING', 'CONFIRMED') THEN 1 ELSE 0 END), 0 " +
+                   "FROM bookings b WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM customer_booking_counts c WHERE c.customer_email = b.customer_email) " +
+                   "GROUP BY b.customer_email",
+           nativeQuery = true)
+    int insertMissingCounters();
+}
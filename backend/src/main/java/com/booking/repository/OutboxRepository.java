@@ -0,0 +1,58 @@
+package com.booking.repository;
+
+import com.booking.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity
+ */
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Find committed events not yet published to the change feed, in insertion order
+     * 
+     * @param pageable batch size
+     * @return list of unpublished events
+     */
+    List<OutboxEvent> findByFeedOffsetIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Find the highest assigned feed offset
+     * 
+     * @return highest offset, or 0 if nothing was published yet
+     */
+    @Query("SELECT COALESCE(MAX(o.feedOffset), 0) FROM OutboxEvent o")
+    long findMaxFeedOffset();
+
+    /**
+     * Find published events after an offset, in feed order
+     * 
+     * @param after offset already consumed
+     * @param pageable page size
+     * @return list of events with higher offsets
+     */
+    List<OutboxEvent> findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(long after, Pageable pageable);
+
+    /**
+     * Find events published before a point in time, oldest offsets first, keeping the
+     * event at {@code below} so the next offsets still continue from it
+     * 
+     * @param before publication cut-off
+     * @param below highest assigned offset
+     * @param pageable batch size
+     * @return list of event IDs
+     */
+    @Query("SELECT o.id FROM OutboxEvent o WHERE o.feedOffset < :below AND o.publishedAt < :before " +
+           "ORDER BY o.feedOffset ASC")
+    List<Long> findPublishedIdsBefore(@Param("before") LocalDateTime before,
+                                      @Param("below") long below,
+                                      Pageable pageable);
+}
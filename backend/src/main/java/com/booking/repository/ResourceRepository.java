@@ -1,23 +1,43 @@
 package com.booking.repository;
 
+import com.booking.dto.ResourceSummary;
 import com.booking.model.Resource;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
- * Repository interface for Resource entity
+ * Repository interface for Resource entity.
+ * Finders used by the read endpoints are cacheable; {@code findById} is served by the entity cache.
  */
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     
+    /**
+     * Find all resources
+     * 
+     * @return list of all resources
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Resource> findAll();
+    
     /**
      * Find all available resources
      * 
      * @param available availability status
      * @return list of resources with specified availability
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Resource> findByAvailable(Boolean available);
     
     /**
@@ -26,6 +46,61 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
      * @param name search term for resource name
      * @return list of matching resources
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Resource> findByNameContainingIgnoreCase(String name);
-}
 
+    
+    /**
+     * Find summaries of all resources
+     * 
+     * @return list of resource summaries
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.booking.dto.ResourceSummary(r.id, r.name, r.capacity, r.available) FROM Resource r")
+    List<ResourceSummary> findAllSummaries();
+    
+    /**
+     * Find resource summaries by availability
+     * 
+     * @param available availability status
+     * @return list of resource summaries with specified availability
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.booking.dto.ResourceSummary(r.id, r.name, r.capacity, r.available) " +
+           "FROM Resource r WHERE r.available = :available")
+    List<ResourceSummary> findSummariesByAvailable(@Param("available") Boolean available);
+    
+    /**
+     * Find resource summaries by name containing the search term (case-insensitive)
+     * 
+     * @param name search term for resource name
+     * @return list of matching resource summaries
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.booking.dto.ResourceSummary(r.id, r.name, r.capacity, r.available) " +
+           "FROM Resource r WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<ResourceSummary> findSummariesByNameContainingIgnoreCase(@Param("name") String name);
+
+    
+    /**
+     * Find available resources that can hold at least the given number of people,
+     * smallest capacity first (best fit)
+     * 
+     * @param headcount number of people
+     * @return list of resources ordered by capacity, then ID
+     */
+    @Query("SELECT r FROM Resource r WHERE r.available = true AND r.capacity >= :headcount " +
+           "ORDER BY r.capacity ASC, r.id ASC")
+    List<Resource> findAvailableByCapacityAtLeast(@Param("headcount") int headcount);
+    
+    /**
+     * Lock the given resources for the rest of the transaction.
+     * Rows are locked in ID order so that concurrent callers cannot deadlock.
+     * 
+     * @param ids resource IDs
+     * @return locked resources in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Resource r WHERE r.id IN :ids ORDER BY r.id")
+    List<Resource> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,59 @@
+package com.booking.repository;
+
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for WaitlistEntry entity
+ */
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Find waiting entries for a resource, oldest first
+     * 
+     * @param resourceId resource ID
+     * @param status entry status
+     * @return list of entries in queue order
+     */
+    List<WaitlistEntry> findByResourceIdAndStatusOrderByIdAsc(Long resourceId, WaitlistStatus status);
+
+    /**
+     * Find waiting entries for a resource whose time range overlaps the given range, oldest first.
+     * Served by the (resourceId, status, startTime) index.
+     * 
+     * @param resourceId resource ID
+     * @param start start of the freed range
+     * @param end end of the freed range
+     * @return list of overlapping waiting entries in queue order
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.resourceId = :resourceId " +
+           "AND w.status = com.booking.model.WaitlistStatus.WAITING " +
+           "AND w.startTime < :end AND w.endTime > :start " +
+           "ORDER BY w.id")
+    List<WaitlistEntry> findWaitingOverlapping(@Param("resourceId") Long resourceId,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
+    /**
+     * Find the customers with waiting entries for a resource overlapping the given range
+     * 
+     * @param resourceId resource ID
+     * @param start start of the freed range
+     * @param end end of the freed range
+     * @return distinct customer emails
+     */
+    @Query("SELECT DISTINCT w.customerEmail FROM WaitlistEntry w WHERE w.resourceId = :resourceId " +
+           "AND w.status = com.booking.model.WaitlistStatus.WAITING " +
+           "AND w.startTime < :end AND w.endTime > :start")
+    List<String> findWaitingCustomersOverlapping(@Param("resourceId") Long resourceId,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,40 @@
+package com.booking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the booking overlap audit periodically in the background, unless
+ * {@code booking.audit.enabled} is false (read at startup, so it also applies to an AOT image).
+ */
+@Component
+public class BookingAuditScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingAuditScheduler.class);
+
+    private final BookingOverlapAuditor auditor;
+    private final boolean enabled;
+
+    public BookingAuditScheduler(BookingOverlapAuditor auditor,
+                                 @Value("${booking.audit.enabled:true}") boolean enabled) {
+        this.auditor = auditor;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${booking.audit.initial-delay:PT5M}",
+            fixedDelayString = "${booking.audit.interval:PT6H}")
+    public void audit() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            auditor.audit();
+        } catch (IllegalStateException e) {
+            // an audit requested through the API is still running
+            log.info("Skipping scheduled booking audit: {}", e.getMessage());
+        }
+    }
+}
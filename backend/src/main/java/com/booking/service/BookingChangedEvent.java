@@ -0,0 +1,63 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+
+/**
+ * Published by BookingService for every booking write, inside the writing transaction.
+ *
+ * Both states are detached snapshots: {@code previous} is null for a created booking and
+ * {@code current} is null for a deleted one. Listeners that keep derived state (indexes,
+ * caches, counters) use the pair to work out what changed. {@code bulk} marks rows changed
+ * by the set-based maintenance operations (bulk cancel/delete), which must not trigger
+ * follow-up bookings such as waitlist promotions.
+ */
+public record BookingChangedEvent(ChangeType type, Booking previous, Booking current, boolean bulk) {
+
+    /**
+     * Kind of write that produced the event
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        CANCELLED,
+        DELETED
+    }
+
+    // previous states must be snapshots taken before the entity was modified
+
+    public static BookingChangedEvent created(Booking current) {
+        return new BookingChangedEvent(ChangeType.CREATED, null, current.snapshot(), false);
+    }
+
+    public static BookingChangedEvent updated(Booking previous, Booking current) {
+        return new BookingChangedEvent(ChangeType.UPDATED, previous, current.snapshot(), false);
+    }
+
+    public static BookingChangedEvent cancelled(Booking previous, Booking current) {
+        return new BookingChangedEvent(ChangeType.CANCELLED, previous, current.snapshot(), false);
+    }
+
+    public static BookingChangedEvent deleted(Booking previous) {
+        return new BookingChangedEvent(ChangeType.DELETED, previous, null, false);
+    }
+
+    public static BookingChangedEvent bulkCancelled(Booking previous, Booking current) {
+        return new BookingChangedEvent(ChangeType.CANCELLED, previous, current.snapshot(), true);
+    }
+
+    public static BookingChangedEvent bulkDeleted(Booking previous) {
+        return new BookingChangedEvent(ChangeType.DELETED, previous, null, true);
+    }
+
+    /**
+     * Whether a booking state occupies its resource (PENDING or CONFIRMED)
+     *
+     * @param booking booking state, may be null
+     * @return true if the state blocks other bookings
+     */
+    public static boolean isActive(Booking booking) {
+        return booking != null
+                && (booking.getStatus() == BookingStatus.PENDING || booking.getStatus() == BookingStatus.CONFIRMED);
+    }
+}
@@ -0,0 +1,137 @@
+package com.booking.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JDK Flight Recorder events for the booking write path.
+ *
+ * The events are enabled in every recording (e.g. {@code -XX:StartFlightRecording}) and cost
+ * next to nothing otherwise: {@code begin/end/commit} are no-ops while no recording is running
+ * and the JIT removes the event allocation. Stack traces are off to keep recording cheap.
+ */
+final class BookingFlightEvents {
+
+    private BookingFlightEvents() {
+    }
+
+    @Name("com.booking.ConflictCheck")
+    @Label("Booking Conflict Check")
+    @Description("Query for active bookings overlapping a time range")
+    @Category({"Booking", "Database"})
+    @StackTrace(false)
+    static class ConflictCheck extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Resource IDs")
+        String resourceIds;
+
+        @Label("Rows Scanned")
+        @Description("Overlapping bookings (or busy resources) returned by the query")
+        int rowsScanned;
+
+        @Label("Conflict")
+        boolean conflict;
+    }
+
+    @Name("com.booking.ResourceLock")
+    @Label("Resource Lock Wait")
+    @Description("Wait for the pessimistic locks on resource rows")
+    @Category({"Booking", "Database"})
+    @StackTrace(false)
+    static class ResourceLock extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Resource IDs")
+        String resourceIds;
+
+        @Label("Resources Locked")
+        int resourceCount;
+    }
+
+    @Name("com.booking.BookingSave")
+    @Label("Booking Save")
+    @Description("Repository save of new or changed bookings")
+    @Category({"Booking", "Database"})
+    @StackTrace(false)
+    static class BookingSave extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Resource ID")
+        long resourceId;
+
+        @Label("Bookings")
+        int bookings;
+    }
+
+    @Name("com.booking.TransactionCommit")
+    @Label("Booking Transaction Commit")
+    @Description("Flush and commit of a booking write transaction, up to the after-commit listeners")
+    @Category({"Booking", "Database"})
+    @StackTrace(false)
+    static class TransactionCommit extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Committed")
+        boolean committed;
+    }
+
+    /**
+     * Record the commit phase of the current transaction, if a recording wants it.
+     * Registered at the start of a write so that it runs before the after-commit listeners
+     * registered later in the transaction.
+     * 
+     * @param operation booking operation that owns the transaction
+     */
+    static void traceCommit(String operation) {
+        TransactionCommit event = new TransactionCommit();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing = true;
+                event.begin();
+            }
+
+            @Override
+            public void afterCommit() {
+                finish(true);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // a failed flush or commit; rollbacks before commit are not recorded
+                if (committing && status != STATUS_COMMITTED) {
+                    finish(false);
+                }
+            }
+
+            private void finish(boolean committed) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.committed = committed;
+                    event.commit();
+                }
+            }
+        });
+    }
+}
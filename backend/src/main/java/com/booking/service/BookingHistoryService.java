@@ -0,0 +1,189 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingHistory;
+import com.booking.repository.BookingHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * History of booking versions with point-in-time queries.
+ *
+ * Every booking write appends a version in the writing transaction, like the outbox. The rows
+ * use sequence IDs, so the versions of a bulk chunk are flushed as one JDBC batch. All versions
+ * of a transaction are valid from the time of its first write, and the stored versions they
+ * supersede are closed (their {@code validTo} set to that time) just before commit with a
+ * single update for all bookings the transaction wrote.
+ */
+@Service
+@Transactional
+public class BookingHistoryService {
+
+    private final BookingHistoryRepository historyRepository;
+    private final Clock clock;
+
+    @Autowired
+    public BookingHistoryService(BookingHistoryRepository historyRepository) {
+        this(historyRepository, Clock.systemDefaultZone());
+    }
+
+    BookingHistoryService(BookingHistoryRepository historyRepository, Clock clock) {
+        this.historyRepository = historyRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Append the new version of a booking, in the writing transaction.
+     * The event is published before the flush increments the entity version, so the new
+     * version number is the previous one plus one, as the flush will make it; a write that
+     * changes nothing is not flushed and appends nothing. A deletion appends the last state
+     * once more as the next version, marked DELETED.
+     * 
+     * @param event booking change
+     */
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking previous = event.previous();
+        if (previous != null && event.current() != null && sameState(previous, event.current())) {
+            return;
+        }
+        Booking state = event.current() != null ? event.current() : previous;
+        long version = previous == null ? 0L : previous.getVersion() + 1;
+
+        BookingHistory history = new BookingHistory();
+        history.setBookingId(state.getId());
+        history.setVersion(version);
+        history.setChangeType(event.type().name());
+        TransactionVersions versions = transactionVersions();
+        history.setValidFrom(versions.validFrom);
+        history.setResourceId(state.getResourceId());
+        history.setCustomerName(state.getCustomerName());
+        history.setCustomerEmail(state.getCustomerEmail());
+        history.setStartTime(state.getStartTime());
+        history.setEndTime(state.getEndTime());
+        history.setStatus(state.getStatus());
+        history.setNotes(state.getNotes());
+        historyRepository.save(history);
+        versions.appendedIds.add(history.getId());
+
+        BookingHistory earlier = versions.latest.put(history.getBookingId(), history);
+        if (earlier != null) {
+            // Superseded within this transaction, so it was never visible to anyone else
+            earlier.setValidTo(history.getValidFrom());
+        } else if (version > 0) {
+            versions.superseding.add(history.getBookingId());
+        }
+    }
+
+    /**
+     * Versions appended by the current transaction. The first use registers a synchronization
+     * that closes the superseded stored versions before commit.
+     */
+    private TransactionVersions transactionVersions() {
+        TransactionVersions versions = (TransactionVersions) TransactionSynchronizationManager.getResource(this);
+        if (versions != null) {
+            return versions;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking history is appended inside a transaction");
+        }
+
+        TransactionVersions created = new TransactionVersions(LocalDateTime.now(clock));
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!created.superseding.isEmpty()) {
+                    historyRepository.closeVersions(created.superseding, created.appendedIds, created.validFrom);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BookingHistoryService.this);
+            }
+        });
+        return created;
+    }
+
+    private static boolean sameState(Booking a, Booking b) {
+        return Objects.equals(a.getResourceId(), b.getResourceId())
+                && Objects.equals(a.getCustomerName(), b.getCustomerName())
+                && Objects.equals(a.getCustomerEmail(), b.getCustomerEmail())
+                && Objects.equals(a.getStartTime(), b.getStartTime())
+                && Objects.equals(a.getEndTime(), b.getEndTime())
+                && a.getStatus() == b.getStatus()
+                && Objects.equals(a.getNotes(), b.getNotes());
+    }
+
+    /**
+     * Get all versions of a booking, oldest first
+     * 
+     * @param bookingId booking ID
+     * @return versions, empty if the booking never existed
+     */
+    @Transactional(readOnly = true)
+    public List<BookingHistory> getHistory(Long bookingId) {
+        return historyRepository.findByBookingIdOrderByVersionAsc(bookingId);
+    }
+
+    /**
+     * Get a booking as it was at a point in time
+     * 
+     * @param bookingId booking ID
+     * @param asOf point in time
+     * @return the version current at that time, empty if the booking did not exist then
+     */
+    @Transactional(readOnly = true)
+    public Optional<BookingHistory> getBookingAsOf(Long bookingId, LocalDateTime asOf) {
+        return historyRepository.findAsOf(bookingId, asOf)
+                .filter(history -> !BookingChangedEvent.ChangeType.DELETED.name().equals(history.getChangeType()));
+    }
+
+    /**
+     * Get the bookings of a resource as they were at a point in time
+     * 
+     * @param resourceId resource ID
+     * @param asOf point in time
+     * @param start only bookings ending after this time, or null
+     * @param end only bookings starting before this time, or null
+     * @return booking versions current at that time, ordered by start time
+     */
+    @Transactional(readOnly = true)
+    public List<BookingHistory> getResourceScheduleAsOf(Long resourceId, LocalDateTime asOf,
+                                                        LocalDateTime start, LocalDateTime end) {
+        if (start != null && end != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        return historyRepository.findResourceScheduleAsOf(resourceId, asOf, start, end);
+    }
+
+    /**
+     * Versions appended by one transaction: their common validFrom, their IDs, the latest
+     * version per booking, and the bookings whose stored current version they supersede
+     */
+    private static final class TransactionVersions {
+
+        private final LocalDateTime validFrom;
+        private final List<Long> appendedIds = new ArrayList<>();
+        private final Map<Long, BookingHistory> latest = new HashMap<>();
+        private final List<Long> superseding = new ArrayList<>();
+
+        TransactionVersions(LocalDateTime validFrom) {
+            this.validFrom = validFrom;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.booking.service;
+
+import com.booking.dto.BookingSummary;
+import com.booking.dto.OverlapAuditReport;
+import com.booking.dto.OverlapPair;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consistency audit of the bookings table: finds every pair of active (PENDING or CONFIRMED)
+ * bookings of the same resource whose time ranges overlap.
+ *
+ * Resources are audited in parallel on a dedicated ForkJoin pool. Each resource's bookings
+ * are read in start-time order in keyset-paginated chunks, one short read-only transaction
+ * per chunk, and swept once: bookings still open when the next one starts overlap it. Only
+ * the open bookings are held in memory, so the audit runs against any table size without
+ * long transactions or locks. A booking moved to a later start between two chunks can be read
+ * twice; the later read replaces the earlier one among the open bookings and is not counted
+ * again. Keeping every ID seen would defeat the bounded memory, so a booking whose earlier read
+ * had already closed is counted twice in the scanned total (never paired with itself).
+ */
+@Service
+public class BookingOverlapAuditor {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOverlapAuditor.class);
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxReportedPairs;
+    private final Executor auditExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile OverlapAuditReport lastReport;
+
+    private final Timer auditTimer;
+    private final AtomicLong lastOverlappingPairs = new AtomicLong();
+    private final AtomicLong lastBookingsScanned = new AtomicLong();
+
+    public BookingOverlapAuditor(BookingRepository bookingRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${booking.audit.chunk-size:5000}") int chunkSize,
+                                 @Value("${booking.audit.parallelism:0}") int parallelism,
+                                 @Value("${booking.audit.max-reported-pairs:1000}") int maxReportedPairs,
+                                 @Qualifier("applicationTaskExecutor") Executor auditExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        // Leave processors for the API by default
+        this.parallelism = parallelism > 0
+                ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxReportedPairs = maxReportedPairs;
+        this.auditExecutor = auditExecutor;
+
+        this.auditTimer = Timer.builder("booking.audit.duration")
+                .description("Duration of overlap audits of the active bookings")
+                .register(meterRegistry);
+        Gauge.builder("booking.audit.overlapping.pairs", lastOverlappingPairs, AtomicLong::get)
+                .description("Overlapping active booking pairs found by the last audit")
+                .register(meterRegistry);
+        Gauge.builder("booking.audit.bookings.scanned", lastBookingsScanned, AtomicLong::get)
+                .description("Active bookings read by the last audit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Audit all active bookings
+     *
+     * @return audit report
+     * @throws IllegalStateException if an audit is already running
+     */
+    public OverlapAuditReport audit() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Audit already running");
+        }
+        return runAudit();
+    }
+
+    /**
+     * Start an audit of all active bookings in the background; its report becomes the last report
+     *
+     * @throws IllegalStateException if an audit is already running
+     */
+    public void startAudit() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Audit already running");
+        }
+        try {
+            auditExecutor.execute(() -> {
+                try {
+                    runAudit();
+                } catch (RuntimeException e) {
+                    log.warn("Booking audit failed", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether an audit is running
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private OverlapAuditReport runAudit() {
+        try {
+            Instant startedAt = Instant.now();
+            List<Long> resourceIds = readOnlyTransaction.execute(
+                    status -> bookingRepository.findResourceIdsByStatusIn(ACTIVE_STATUSES));
+
+            List<ResourceAudit> audits;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                audits = pool.submit(() -> resourceIds.parallelStream()
+                        .map(this::auditResource)
+                        .toList()).join();
+            } finally {
+                pool.shutdown();
+            }
+
+            long bookingsScanned = 0;
+            long overlappingPairs = 0;
+            List<OverlapPair> pairs = new ArrayList<>();
+            for (ResourceAudit audit : audits) {
+                bookingsScanned += audit.bookingsScanned();
+                overlappingPairs += audit.overlappingPairs();
+                pairs.addAll(audit.pairs().subList(0, Math.min(audit.pairs().size(), maxReportedPairs - pairs.size())));
+            }
+
+            Instant finishedAt = Instant.now();
+            OverlapAuditReport report = new OverlapAuditReport(startedAt, finishedAt, resourceIds.size(),
+                    bookingsScanned, overlappingPairs, List.copyOf(pairs), overlappingPairs > pairs.size());
+            auditTimer.record(Duration.between(startedAt, finishedAt));
+            lastOverlappingPairs.set(overlappingPairs);
+            lastBookingsScanned.set(bookingsScanned);
+            lastReport = report;
+
+            if (overlappingPairs > 0) {
+                log.warn("Booking audit found {} overlapping active booking pairs in {} bookings of {} resources",
+                        overlappingPairs, bookingsScanned, resourceIds.size());
+            } else {
+                log.info("Booking audit found no overlaps in {} bookings of {} resources in {} ms",
+                        bookingsScanned, resourceIds.size(), Duration.between(startedAt, finishedAt).toMillis());
+            }
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Get the report of the last completed audit
+     *
+     * @return last report, empty if no audit has completed yet
+     */
+    public Optional<OverlapAuditReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private ResourceAudit auditResource(Long resourceId) {
+        // Bookings that have started and not yet ended at the current sweep position
+        PriorityQueue<BookingSummary> open = new PriorityQueue<>(Comparator.comparing(BookingSummary::endTime));
+        List<OverlapPair> pairs = new ArrayList<>();
+        long overlappingPairs = 0;
+        long scanned = 0;
+
+        LocalDateTime afterStart = null;
+        Long afterId = null;
+        while (true) {
+            LocalDateTime chunkAfterStart = afterStart;
+            Long chunkAfterId = afterId;
+            PageRequest page = PageRequest.of(0, chunkSize);
+            List<BookingSummary> chunk = readOnlyTransaction.execute(status -> chunkAfterStart == null
+                    ? bookingRepository.findSummariesByResourceIdAndStatusIn(resourceId, ACTIVE_STATUSES, page)
+                    : bookingRepository.findSummariesByResourceIdAfter(resourceId, ACTIVE_STATUSES,
+                            chunkAfterStart, chunkAfterId, page));
+
+            for (BookingSummary booking : chunk) {
+                while (!open.isEmpty() && !open.peek().endTime().isAfter(booking.startTime())) {
+                    open.poll();
+                }
+                // Read again after moving to a later start: the earlier read is outdated
+                if (!open.removeIf(earlier -> earlier.id().equals(booking.id()))) {
+                    scanned++;
+                }
+                for (BookingSummary earlier : open) {
+                    overlappingPairs++;
+                    if (pairs.size() < maxReportedPairs) {
+                        pairs.add(new OverlapPair(resourceId, earlier.id(), booking.id(), booking.startTime(),
+                                earlier.endTime().isBefore(booking.endTime()) ? earlier.endTime() : booking.endTime()));
+                    }
+                }
+                open.add(booking);
+            }
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            BookingSummary last = chunk.get(chunk.size() - 1);
+            afterStart = last.startTime();
+            afterId = last.id();
+        }
+
+        pairs.sort(Comparator.comparing(OverlapPair::firstBookingId).thenComparing(OverlapPair::secondBookingId));
+        return new ResourceAudit(scanned, overlappingPairs, pairs);
+    }
+
+    private record ResourceAudit(long bookingsScanned, long overlappingPairs, List<OverlapPair> pairs) {
+    }
+}
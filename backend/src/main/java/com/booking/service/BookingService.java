@@ -1,16 +1,28 @@
 package com.booking.service;
 
+import com.booking.dto.BookingSummary;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
 import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Service layer for Booking management
@@ -20,7 +32,20 @@ import java.util.Optional;
 @Transactional
 public class BookingService {
 
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
     private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotOccupancyIndex occupancyIndex;
+
+    @Value("${booking.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
+    @Value("${booking.auto-assign.max-attempts:3}")
+    private int autoAssignMaxAttempts = 3;
 
     /**
      * Get all bookings
@@ -88,6 +113,76 @@ public class BookingService {
         return bookingRepository.findByTimeRange(start, end);
     }
 
+    /**
+     * Get summaries of all bookings
+     * 
+     * @return list of booking summaries
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getAllBookingSummaries() {
+        return bookingRepository.findAllSummaries();
+    }
+
+    /**
+     * Get booking summaries by resource ID
+     * 
+     * @param resourceId resource ID
+     * @return list of booking summaries for the specified resource
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingSummariesByResourceId(Long resourceId) {
+        return bookingRepository.findSummariesByResourceId(resourceId);
+    }
+
+    /**
+     * Get booking summaries of a resource within a time range
+     * 
+     * @param resourceId resource ID
+     * @param start start time
+     * @param end end time
+     * @return list of booking summaries of the resource that overlap with the time range
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingSummariesByResourceIdAndTimeRange(Long resourceId,
+                                                                           LocalDateTime start,
+                                                                           LocalDateTime end) {
+        return bookingRepository.findSummariesByResourceIdsAndTimeRange(List.of(resourceId), start, end);
+    }
+
+    /**
+     * Get booking summaries by status
+     * 
+     * @param status booking status
+     * @return list of booking summaries with specified status
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingSummariesByStatus(BookingStatus status) {
+        return bookingRepository.findSummariesByStatus(status);
+    }
+
+    /**
+     * Get booking summaries by customer email
+     * 
+     * @param email customer email
+     * @return list of booking summaries for the specified customer
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingSummariesByCustomerEmail(String email) {
+        return bookingRepository.findSummariesByCustomerEmail(email);
+    }
+
+    /**
+     * Get booking summaries within a time range
+     * 
+     * @param start start time
+     * @param end end time
+     * @return list of booking summaries within the time range
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getBookingSummariesByTimeRange(LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.findSummariesByTimeRange(start, end);
+    }
+
     /**
      * Check if a resource is available for booking
      * 
@@ -96,12 +191,107 @@ public class BookingService {
      * @param end end time
      * @return true if available, false if conflicting bookings exist
      */
-    @Transactional(readOnly = true)
+    // Not read-only: days missing from the index are loaded on the primary in their own
+    // transaction, and the fallback query runs in the repository's read-only transaction
     public boolean isResourceAvailable(Long resourceId, LocalDateTime start, LocalDateTime end) {
-        List<BookingStatus> activeStatuses = Arrays.asList(BookingStatus.PENDING, BookingStatus.CONFIRMED);
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                resourceId, start, end, activeStatuses);
-        return conflicts.isEmpty();
+        Optional<Boolean> indexed = occupancyIndex.isAvailable(resourceId, start, end);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        return findConflicts("availability", resourceId, start, end, null).isEmpty();
+    }
+
+    /**
+     * Exact conflict check against the database, used by writes after the resource is locked.
+     * Recorded as a {@code com.booking.ConflictCheck} flight recorder event.
+     *
+     * @param excludeBookingId booking that may overlap itself (when it is being updated), or null
+     */
+    private List<Booking> findConflicts(String operation, Long resourceId, LocalDateTime start,
+                                        LocalDateTime end, Long excludeBookingId) {
+        BookingFlightEvents.ConflictCheck event = new BookingFlightEvents.ConflictCheck();
+        event.begin();
+        List<Booking> found = bookingRepository.findConflictingBookings(resourceId, start, end, ACTIVE_STATUSES);
+        List<Booking> conflicts = found.stream()
+                .filter(b -> excludeBookingId == null || !excludeBookingId.equals(b.getId()))
+                .toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.resourceIds = String.valueOf(resourceId);
+            event.rowsScanned = found.size();
+            event.conflict = !conflicts.isEmpty();
+            event.commit();
+        }
+        return conflicts;
+    }
+
+    /**
+     * IDs of the given resources with active bookings in the time range, as one query.
+     * Recorded as a {@code com.booking.ConflictCheck} flight recorder event.
+     */
+    private List<Long> findBusyResourceIds(String operation, Collection<Long> resourceIds,
+                                           LocalDateTime start, LocalDateTime end) {
+        BookingFlightEvents.ConflictCheck event = new BookingFlightEvents.ConflictCheck();
+        event.begin();
+        List<Long> busy = bookingRepository.findBusyResourceIds(resourceIds, start, end, ACTIVE_STATUSES);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.resourceIds = resourceIds.toString();
+            event.rowsScanned = busy.size();
+            event.conflict = !busy.isEmpty();
+            event.commit();
+        }
+        return busy;
+    }
+
+    /**
+     * Lock resource rows until the transaction ends, in ID order.
+     * Writers holding a resource lock see every booking committed before them,
+     * which makes check-then-insert atomic per resource.
+     * The wait is recorded as a {@code com.booking.ResourceLock} flight recorder event.
+     */
+    private List<Resource> lockResources(String operation, Collection<Long> resourceIds) {
+        BookingFlightEvents.ResourceLock event = new BookingFlightEvents.ResourceLock();
+        event.begin();
+        List<Resource> locked = resourceRepository.lockAllByIdIn(resourceIds);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.resourceIds = resourceIds.toString();
+            event.resourceCount = locked.size();
+            event.commit();
+        }
+        return locked;
+    }
+
+    /**
+     * Lock the resource of an active booking about to be cancelled or deleted, before the
+     * listeners (waitlist promotion, quota counters) take their locks
+     */
+    private void lockFreedResource(String operation, Booking booking) {
+        if (BookingChangedEvent.isActive(booking)) {
+            lockResources(operation, List.of(booking.getResourceId()));
+        }
+    }
+
+    /**
+     * Save a booking, recorded as a {@code com.booking.BookingSave} flight recorder event
+     */
+    private Booking save(String operation, Booking booking) {
+        BookingFlightEvents.BookingSave event = new BookingFlightEvents.BookingSave();
+        event.begin();
+        Booking saved = bookingRepository.save(booking);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.resourceId = saved.getResourceId() != null ? saved.getResourceId() : 0L;
+            event.bookings = 1;
+            event.commit();
+        }
+        return saved;
     }
 
     /**
@@ -122,45 +312,175 @@ public class BookingService {
         }
 
         // Check for conflicts
-        if (!isResourceAvailable(booking.getResourceId(), booking.getStartTime(), booking.getEndTime())) {
+        BookingFlightEvents.traceCommit("create");
+        lockResources("create", List.of(booking.getResourceId()));
+        if (!findConflicts("create", booking.getResourceId(), booking.getStartTime(), booking.getEndTime(), null)
+                .isEmpty()) {
             throw new BookingConflictException(
                 "Resource is not available for the specified time range");
         }
 
-        Booking created = bookingRepository.save(booking);
+        Booking created = save("create", booking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(created));
 
         return created;
     }
 
     /**
-     * Update an existing booking
+     * Create a booking on the best-fitting resource for a group: the available resource
+     * with the smallest sufficient capacity that is free for the whole time range.
+     * Candidates are filtered with one query over their active bookings; only the best
+     * free one is then locked and re-checked, so auto-assign does not serialize with
+     * bookings on every other large room. If it was taken in between, the remaining
+     * candidates are re-filtered and the next best is tried, up to max-attempts locks.
+     * 
+     * @param booking booking to create; its resource ID is assigned
+     * @param headcount number of people
+     * @return created booking
+     * @throws BookingConflictException if no suitable resource is free
+     */
+    public Booking autoAssignBooking(Booking booking, int headcount) {
+        if (booking.getId() != null) {
+            throw new IllegalArgumentException("New booking should not have an ID");
+        }
+        if (headcount <= 0) {
+            throw new IllegalArgumentException("Headcount must be positive");
+        }
+        if (!booking.getEndTime().isAfter(booking.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        BookingFlightEvents.traceCommit("auto-assign");
+        List<Long> candidates = resourceRepository.findAvailableByCapacityAtLeast(headcount).stream()
+                .map(Resource::getId)
+                .toList();
+        List<Long> free = freeResourceIds(candidates, booking.getStartTime(), booking.getEndTime());
+        for (int attempt = 0; attempt < autoAssignMaxAttempts && !free.isEmpty(); attempt++) {
+            // Candidates are ordered by capacity, so the first free one is the best fit
+            Long best = free.get(0);
+            lockResources("auto-assign", List.of(best));
+            // Re-check the locked one; bookings committed meanwhile are now visible
+            if (findConflicts("auto-assign", best, booking.getStartTime(), booking.getEndTime(), null).isEmpty()) {
+                booking.setResourceId(best);
+                Booking created = save("auto-assign", booking);
+                eventPublisher.publishEvent(BookingChangedEvent.created(created));
+                return created;
+            }
+            free = freeResourceIds(free.subList(1, free.size()), booking.getStartTime(), booking.getEndTime());
+        }
+        throw new BookingConflictException(
+            "No resource for " + headcount + " people is available for the specified time range");
+    }
+
+    /**
+     * Book several resources for the same time range, all or nothing.
+     * All resource rows are locked in ascending ID order before any check, so concurrent
+     * bundles over overlapping resources queue up instead of deadlocking, and no booking
+     * is saved unless every resource is free.
+     *
+     * @param resourceIds resources to book
+     * @param template booking details shared by every resource; its resource ID is ignored
+     * @return created bookings, in ascending resource ID order
+     * @throws BookingConflictException if any resource is not available
+     */
+    public List<Booking> createBookingBundle(Collection<Long> resourceIds, Booking template) {
+        if (resourceIds == null || resourceIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one resource is required");
+        }
+        if (template.getId() != null) {
+            throw new IllegalArgumentException("New booking should not have an ID");
+        }
+        if (!template.getEndTime().isAfter(template.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        BookingFlightEvents.traceCommit("bundle");
+        List<Long> sortedIds = new TreeSet<>(resourceIds).stream().toList();
+        List<Resource> locked = lockResources("bundle", sortedIds);
+        if (locked.size() != sortedIds.size()) {
+            throw new IllegalArgumentException("Unknown resource in bundle");
+        }
+
+        List<Long> busy = findBusyResourceIds("bundle", sortedIds, template.getStartTime(), template.getEndTime());
+        if (!busy.isEmpty()) {
+            throw new BookingConflictException(
+                "Resources " + busy + " are not available for the specified time range");
+        }
+
+        List<Booking> bookings = sortedIds.stream()
+                .map(resourceId -> {
+                    Booking booking = template.snapshot();
+                    booking.setResourceId(resourceId);
+                    return booking;
+                })
+                .toList();
+        BookingFlightEvents.BookingSave saveEvent = new BookingFlightEvents.BookingSave();
+        saveEvent.begin();
+        List<Booking> created = bookingRepository.saveAll(bookings);
+        saveEvent.end();
+        if (saveEvent.shouldCommit()) {
+            saveEvent.operation = "bundle";
+            saveEvent.bookings = created.size();
+            saveEvent.commit();
+        }
+        created.forEach(booking -> eventPublisher.publishEvent(BookingChangedEvent.created(booking)));
+        return created;
+    }
+
+    /**
+     * Candidate IDs without active bookings in the time range, in candidate order
+     */
+    private List<Long> freeResourceIds(List<Long> candidates, LocalDateTime start, LocalDateTime end) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> busy = new HashSet<>(findBusyResourceIds("auto-assign", candidates, start, end));
+        return candidates.stream().filter(id -> !busy.contains(id)).toList();
+    }
+
+    /**
+     * Update an existing booking.
+     * The booking row stays locked until commit, so concurrent changes to it apply one after another.
+     * Writes that change the range or status then lock the old and new resource rows together in ID
+     * order, before any listener (waitlist promotion, quota counters) takes further locks, so that
+     * all writes lock booking, then resources, then counters.
      * 
      * @param id booking ID
-     * @param bookingDetails updated booking details
+     * @param bookingDetails updated booking details; if it carries a version, it must be the current one
      * @return updated booking
      * @throws BookingNotFoundException if booking is not found
      * @throws BookingConflictException if resource is not available
+     * @throws ObjectOptimisticLockingFailureException if the version is not the current one
      */
     public Booking updateBooking(Long id, Booking bookingDetails) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findForUpdateById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
+        if (bookingDetails.getVersion() != null && !bookingDetails.getVersion().equals(booking.getVersion())) {
+            // The caller edited an older state; applying it would silently undo the changes since
+            throw new ObjectOptimisticLockingFailureException(Booking.class, id);
+        }
+        Booking previous = booking.snapshot();
+        BookingFlightEvents.traceCommit("update");
 
-        // If time or resource is changing, check for conflicts
+        // If time or resource is changing, or the booking becomes active again, check for conflicts
         boolean timeChanged = !booking.getStartTime().equals(bookingDetails.getStartTime()) ||
                              !booking.getEndTime().equals(bookingDetails.getEndTime());
         boolean resourceChanged = !booking.getResourceId().equals(bookingDetails.getResourceId());
+        boolean reactivated = !ACTIVE_STATUSES.contains(booking.getStatus()) &&
+                             ACTIVE_STATUSES.contains(bookingDetails.getStatus());
+        boolean statusChanged = booking.getStatus() != bookingDetails.getStatus();
 
-        if (timeChanged || resourceChanged) {
-            // Temporarily remove this booking to check availability
-            List<BookingStatus> activeStatuses = Arrays.asList(BookingStatus.PENDING, BookingStatus.CONFIRMED);
-            List<Booking> conflicts = bookingRepository.findConflictingBookings(
+        if (timeChanged || resourceChanged || statusChanged) {
+            // The old resource too: the waitlist promotes into the range this update frees
+            lockResources("update", new TreeSet<>(List.of(booking.getResourceId(), bookingDetails.getResourceId())));
+        }
+        if (timeChanged || resourceChanged || reactivated) {
+            // This booking does not conflict with itself
+            List<Booking> conflicts = findConflicts("update",
                     bookingDetails.getResourceId(), 
                     bookingDetails.getStartTime(), 
                     bookingDetails.getEndTime(), 
-                    activeStatuses);
-            
-            // Remove self from conflicts
-            conflicts.removeIf(b -> b.getId().equals(id));
+                    id);
             
             if (!conflicts.isEmpty()) {
                 throw new BookingConflictException(
@@ -176,7 +496,9 @@ public class BookingService {
         booking.setStatus(bookingDetails.getStatus());
         booking.setNotes(bookingDetails.getNotes());
 
-        return bookingRepository.save(booking);
+        Booking updated = save("update", booking);
+        eventPublisher.publishEvent(BookingChangedEvent.updated(previous, updated));
+        return updated;
     }
 
     /**
@@ -187,11 +509,17 @@ public class BookingService {
      * @throws BookingNotFoundException if booking is not found
      */
     public Booking cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findForUpdateById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
 
+        Booking previous = booking.snapshot();
+        BookingFlightEvents.traceCommit("cancel");
+        lockFreedResource("cancel", previous);
+
         booking.setStatus(BookingStatus.CANCELLED);
-        return bookingRepository.save(booking);
+        Booking cancelled = save("cancel", booking);
+        eventPublisher.publishEvent(BookingChangedEvent.cancelled(previous, cancelled));
+        return cancelled;
     }
 
     /**
@@ -201,10 +529,91 @@ public class BookingService {
      * @throws BookingNotFoundException if booking is not found
      */
     public void deleteBooking(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new BookingNotFoundException("Booking not found with id: " + id);
+        Booking booking = bookingRepository.findForUpdateById(id)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
+        BookingFlightEvents.traceCommit("delete");
+        lockFreedResource("delete", booking);
+        bookingRepository.delete(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.deleted(booking.snapshot()));
+    }
+
+    /**
+     * Cancel every active booking of a resource that overlaps a time range,
+     * e.g. when the resource goes into maintenance.
+     * Runs as set-based UPDATE statements over chunks of bulk-chunk-size rows,
+     * each chunk in its own transaction to keep lock time short.
+     * 
+     * @param resourceId resource ID
+     * @param start start of the time range
+     * @param end end of the time range
+     * @return number of cancelled bookings
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int cancelBookingsByResourceAndTimeRange(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
         }
-        bookingRepository.deleteById(id);
+
+        int cancelled = 0;
+        Integer chunk;
+        // The chunk is locked, so the UPDATE changes exactly the selected rows and
+        // one event per row can be published; an empty chunk ends the loop
+        while ((chunk = transactionTemplate.execute(tx -> {
+            BookingFlightEvents.traceCommit("bulk-cancel");
+            List<Booking> bookings = bookingRepository.findForUpdateByResourceIdAndTimeRange(
+                    resourceId, start, end, ACTIVE_STATUSES, PageRequest.of(0, bulkChunkSize));
+            if (bookings.isEmpty()) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int rows = bookingRepository.updateStatusByIds(
+                    ids(bookings), ACTIVE_STATUSES, BookingStatus.CANCELLED, now);
+            for (Booking booking : bookings) {
+                Booking after = booking.snapshot();
+                after.setStatus(BookingStatus.CANCELLED);
+                after.setUpdatedAt(now);
+                after.setVersion(booking.getVersion() + 1);
+                eventPublisher.publishEvent(BookingChangedEvent.bulkCancelled(booking.snapshot(), after));
+            }
+            return rows;
+        })) != null) {
+            cancelled += chunk;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Delete bookings with the given status that ended before a point in time,
+     * e.g. purging old cancelled bookings.
+     * Runs as set-based DELETE statements over chunks of bulk-chunk-size rows,
+     * each chunk in its own transaction to keep lock time short.
+     * 
+     * @param status booking status
+     * @param before bookings ending before this time are deleted
+     * @return number of deleted bookings
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteBookingsByStatusBefore(BookingStatus status, LocalDateTime before) {
+        int deleted = 0;
+        Integer chunk;
+        while ((chunk = transactionTemplate.execute(tx -> {
+            BookingFlightEvents.traceCommit("bulk-delete");
+            List<Booking> bookings = bookingRepository.findForUpdateByStatusAndEndTimeBefore(
+                    status, before, PageRequest.of(0, bulkChunkSize));
+            if (bookings.isEmpty()) {
+                return null;
+            }
+            int rows = bookingRepository.deleteByIdsAndStatus(ids(bookings), status);
+            bookings.forEach(booking -> eventPublisher.publishEvent(BookingChangedEvent.bulkDeleted(booking.snapshot())));
+            return rows;
+        })) != null) {
+            deleted += chunk;
+        }
+        return deleted;
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).toList();
     }
 
     /**
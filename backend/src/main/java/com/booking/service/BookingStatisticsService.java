@@ -0,0 +1,179 @@
+package com.booking.service;
+
+import com.booking.dto.BookingStatistics;
+import com.booking.dto.GroupCount;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregate booking counts computed with GROUP BY queries.
+ *
+ * Results are cached per time window for a short TTL, in an LRU map of at most
+ * {@code max-entries} windows, and the whole cache is dropped after every committed booking
+ * change. A result computed while a change commits is not cached, so a stale result can never
+ * outlive the invalidation that should have removed it. Each combination of open and closed
+ * window ends has its own queries, so the database sees plain range predicates.
+ */
+@Service
+public class BookingStatisticsService {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<Window, Entry> cache;
+    // Incremented on every invalidation; a result is only cached if it did not change meanwhile
+    private long generation;
+
+    @Autowired
+    public BookingStatisticsService(BookingRepository bookingRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${booking.statistics.cache-ttl:PT30S}") Duration ttl,
+                                    @Value("${booking.statistics.max-entries:1000}") int maxEntries) {
+        this(bookingRepository, transactionManager, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    BookingStatisticsService(BookingRepository bookingRepository,
+                             PlatformTransactionManager transactionManager,
+                             Duration ttl,
+                             int maxEntries,
+                             Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Window, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get booking counts by status, resource and day for bookings overlapping a time window
+     *
+     * @param start start of the window, or null for no lower bound
+     * @param end end of the window, or null for no upper bound
+     * @return booking statistics
+     */
+    public BookingStatistics getStatistics(LocalDateTime start, LocalDateTime end) {
+        if (start != null && end != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+
+        Window window = new Window(start, end);
+        Instant now = clock.instant();
+        long observedGeneration;
+        synchronized (cache) {
+            Entry cached = cache.get(window);
+            if (cached != null) {
+                if (now.isBefore(cached.expiresAt())) {
+                    return cached.statistics();
+                }
+                cache.remove(window);
+            }
+            observedGeneration = generation;
+        }
+
+        BookingStatistics statistics = readOnlyTransaction.execute(status -> load(start, end));
+        synchronized (cache) {
+            if (generation == observedGeneration) {
+                cache.put(window, new Entry(statistics, now.plus(ttl)));
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return number of cached windows
+     */
+    int cachedWindows() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Drop all cached statistics once a booking change has committed
+     *
+     * @param event booking change
+     */
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    private BookingStatistics load(LocalDateTime start, LocalDateTime end) {
+        Map<BookingStatus, Long> byStatus = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        List<GroupCount<BookingStatus>> statusRows;
+        List<GroupCount<Long>> resourceRows;
+        List<GroupCount<LocalDate>> dayRows;
+        if (start != null && end != null) {
+            statusRows = bookingRepository.countByStatusInRange(start, end);
+            resourceRows = bookingRepository.countByResourceInRange(start, end);
+            dayRows = bookingRepository.countByStartDayInRange(start, end);
+        } else if (start != null) {
+            statusRows = bookingRepository.countByStatusEndingAfter(start);
+            resourceRows = bookingRepository.countByResourceEndingAfter(start);
+            dayRows = bookingRepository.countByStartDayEndingAfter(start);
+        } else if (end != null) {
+            statusRows = bookingRepository.countByStatusStartingBefore(end);
+            resourceRows = bookingRepository.countByResourceStartingBefore(end);
+            dayRows = bookingRepository.countByStartDayStartingBefore(end);
+        } else {
+            statusRows = bookingRepository.countByStatus();
+            resourceRows = bookingRepository.countByResource();
+            dayRows = bookingRepository.countByStartDay();
+        }
+
+        long total = 0;
+        for (GroupCount<BookingStatus> row : statusRows) {
+            byStatus.put(row.key(), row.count());
+            total += row.count();
+        }
+
+        return new BookingStatistics(start, end, total,
+                Collections.unmodifiableMap(byStatus),
+                toSortedMap(resourceRows),
+                toSortedMap(dayRows));
+    }
+
+    private static <K extends Comparable<? super K>> Map<K, Long> toSortedMap(List<GroupCount<K>> rows) {
+        Map<K, Long> counts = new TreeMap<>();
+        rows.forEach(row -> counts.put(row.key(), row.count()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private record Window(LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record Entry(BookingStatistics statistics, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,290 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.CustomerBookingCount;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.CustomerBookingCountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-customer limit on active bookings, enforced with maintained counters.
+ *
+ * Each customer has a {@link CustomerBookingCount} row that every booking write adjusts in
+ * its own transaction, from the active states before and after the write. The row is locked
+ * on first use in a transaction and kept for the rest of it, so concurrent bookings of one
+ * customer are checked one after another against an exact count. Committed counts are mirrored
+ * in memory, which rejects a customer already at the limit without touching the database;
+ * a transaction that rolls back never reaches the mirror. Mirrored counts are trusted for
+ * {@code mirror-ttl} only, since other instances may have changed the row since. Counter rows
+ * of the customers already holding bookings are backfilled once at startup, so a customer
+ * without a row has no bookings and the writing transaction itself creates the row at zero;
+ * a booking write never holds a second connection for seeding. Counters are locked in
+ * customer email order wherever one transaction takes several.
+ */
+@Service
+public class CustomerQuotaService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    // SQLSTATE of a unique constraint violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String SEED_COUNTER_SQL =
+            "INSERT INTO customer_booking_counts (customer_email, active_count, version) VALUES (?, 0, 0)";
+
+    private final CustomerBookingCountRepository countRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxActivePerCustomer;
+    private final long mirrorTtlNanos;
+
+    private final Map<String, Committed> committed = new ConcurrentHashMap<>();
+
+    public CustomerQuotaService(CustomerBookingCountRepository countRepository,
+                                BookingRepository bookingRepository,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${booking.quota.max-active-per-customer:20}") int maxActivePerCustomer,
+                                @Value("${booking.quota.mirror-ttl:PT5S}") Duration mirrorTtl) {
+        this.countRepository = countRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxActivePerCustomer = maxActivePerCustomer;
+        this.mirrorTtlNanos = mirrorTtl.toNanos();
+    }
+
+    /**
+     * Adjust the counters of the customers whose active bookings the write changed, in the
+     * writing transaction; an increment beyond the limit fails the write. Ordered after the
+     * waitlist's counter locking and before its promotions.
+     * 
+     * @param event booking change
+     * @throws BookingQuotaExceededException if the customer already holds the maximum
+     */
+    @EventListener
+    @Order(0)
+    public void onBookingChanged(BookingChangedEvent event) {
+        String released = activeCustomer(event.previous());
+        String taken = activeCustomer(event.current());
+        if (Objects.equals(released, taken)) {
+            return;
+        }
+
+        // Customers in a fixed order, so two writes swapping customers cannot deadlock
+        Map<String, Integer> deltas = new TreeMap<>();
+        if (released != null) {
+            deltas.put(released, -1);
+        }
+        if (taken != null) {
+            deltas.put(taken, 1);
+        }
+        deltas.forEach(this::adjust);
+    }
+
+    /**
+     * Check, inside a writing transaction, whether a customer can take one more active booking.
+     * The counter stays locked until the transaction ends, so the answer holds for a booking
+     * created in the same transaction.
+     * 
+     * @param customerEmail customer email
+     * @return true if below the limit
+     */
+    public boolean hasCapacity(String customerEmail) {
+        if (maxActivePerCustomer <= 0) {
+            return true;
+        }
+        return !committedAtLimit(customerEmail)
+                && lockedCounter(customerEmail).getActiveCount() < maxActivePerCustomer;
+    }
+
+    /**
+     * Create the missing counter rows of customers holding bookings, from their active bookings.
+     * Runs at startup, before the first write, for bookings stored without counters (sample data
+     * or data written before counters existed).
+     * 
+     * @return number of counter rows created
+     */
+    @Transactional
+    public int backfillCounters() {
+        return countRepository.insertMissingCounters();
+    }
+
+    /**
+     * Lock the counters of several customers in email order, ahead of a write that adjusts
+     * more than one of them, so two such writes cannot lock them in opposite orders
+     * 
+     * @param customerEmails customer emails
+     */
+    public void lockCounters(Collection<String> customerEmails) {
+        new TreeSet<>(customerEmails).forEach(this::lockedCounter);
+    }
+
+    /**
+     * Active bookings of a customer as of the last committed write seen by this instance,
+     * read from the database when the customer has not been seen yet
+     * 
+     * @param customerEmail customer email
+     * @return number of active bookings
+     */
+    public int getActiveCount(String customerEmail) {
+        Committed known = mirrored(customerEmail);
+        if (known != null) {
+            return known.activeCount();
+        }
+        return countRepository.findById(customerEmail)
+                .map(CustomerBookingCount::getActiveCount)
+                .orElseGet(() -> (int) bookingRepository.countByCustomerEmailAndStatusIn(customerEmail, ACTIVE_STATUSES));
+    }
+
+    /**
+     * @return maximum active bookings per customer, 0 if unlimited
+     */
+    public int getMaxActivePerCustomer() {
+        return maxActivePerCustomer;
+    }
+
+    private void adjust(String customerEmail, int delta) {
+        if (delta > 0 && committedAtLimit(customerEmail)) {
+            throw quotaExceeded(customerEmail);
+        }
+        CustomerBookingCount counter = lockedCounter(customerEmail);
+        int next = counter.getActiveCount() + delta;
+        if (delta > 0 && maxActivePerCustomer > 0 && next > maxActivePerCustomer) {
+            throw quotaExceeded(customerEmail);
+        }
+        counter.setActiveCount(next);
+    }
+
+    /**
+     * Fast rejection from the committed mirror, unless this transaction already holds the
+     * counter (then the locked row is authoritative, e.g. after a release in the same transaction)
+     */
+    private boolean committedAtLimit(String customerEmail) {
+        if (maxActivePerCustomer <= 0 || transactionCounters().containsKey(customerEmail)) {
+            return false;
+        }
+        Committed known = mirrored(customerEmail);
+        return known != null && known.activeCount() >= maxActivePerCustomer;
+    }
+
+    private Committed mirrored(String customerEmail) {
+        Committed known = committed.get(customerEmail);
+        return known != null && System.nanoTime() - known.recordedAt() < mirrorTtlNanos ? known : null;
+    }
+
+    /**
+     * The customer's counter, locked on first use in the current transaction
+     */
+    private CustomerBookingCount lockedCounter(String customerEmail) {
+        return transactionCounters().computeIfAbsent(customerEmail, email ->
+                countRepository.findForUpdateByCustomerEmail(email).orElseGet(() -> {
+                    seed(email);
+                    return countRepository.findForUpdateByCustomerEmail(email).orElseThrow();
+                }));
+    }
+
+    /**
+     * Create the counter row of a customer without bookings at zero, in the current transaction;
+     * the write being counted then adjusts it like any other. The insert runs in a JDBC savepoint
+     * on the transaction's connection, outside Hibernate (whose JPA dialect has no savepoints), so
+     * a duplicate key from a concurrent first booking of the same customer rolls back only the
+     * savepoint and the write goes on, also on databases that abort the whole transaction after
+     * a failed statement.
+     */
+    private void seed(String customerEmail) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(SEED_COUNTER_SQL)) {
+                insert.setString(1, customerEmail);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                // seeded concurrently by another transaction, whose row the caller locks next
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Counters locked by the current transaction. The first use registers a synchronization
+     * that copies them into the committed mirror after commit and drops them after rollback.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, CustomerBookingCount> transactionCounters() {
+        Map<String, CustomerBookingCount> counters =
+                (Map<String, CustomerBookingCount>) TransactionSynchronizationManager.getResource(this);
+        if (counters != null) {
+            return counters;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking quotas are maintained inside a transaction");
+        }
+
+        Map<String, CustomerBookingCount> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.values().forEach(counter -> committed.merge(counter.getCustomerEmail(),
+                        new Committed(counter.getVersion(), counter.getActiveCount(), System.nanoTime()),
+                        (known, latest) -> latest.version() >= known.version() ? latest : known));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CustomerQuotaService.this);
+            }
+        });
+        return created;
+    }
+
+    private BookingQuotaExceededException quotaExceeded(String customerEmail) {
+        return new BookingQuotaExceededException("Customer " + customerEmail + " already holds the maximum of "
+                + maxActivePerCustomer + " active bookings");
+    }
+
+    private static String activeCustomer(Booking booking) {
+        return BookingChangedEvent.isActive(booking) ? booking.getCustomerEmail() : null;
+    }
+
+    /**
+     * Committed count of a customer, the row version it was read at and when it was recorded
+     */
+    private record Committed(long version, int activeCount, long recordedAt) {
+    }
+
+    /**
+     * Custom exception for a customer exceeding the active booking limit
+     */
+    public static class BookingQuotaExceededException extends RuntimeException {
+        public BookingQuotaExceededException(String message) {
+            super(message);
+        }
+    }
+}
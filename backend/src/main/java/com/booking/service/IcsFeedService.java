@@ -0,0 +1,217 @@
+package com.booking.service;
+
+import com.booking.dto.IcsFeed;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds of the active bookings of each resource, for subscription from mail clients.
+ *
+ * A feed covers the bookings overlapping a horizon around the current time. It is generated
+ * by streaming the bookings from the database straight into the encoded document and cached
+ * per resource until a change to the resource or one of its bookings commits, or at most
+ * {@code booking.ics.max-age} so that the horizon moves along. Polling clients revalidate
+ * with the ETag (a digest of the content) or Last-Modified (the latest change), so an
+ * unchanged feed costs neither a query nor a transfer.
+ *
+ * Feeds contain no customer details. Times are floating local times of the server, whose
+ * zone is announced with {@code X-WR-TIMEZONE}.
+ */
+@Service
+public class IcsFeedService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final String PRODUCT_ID = "-//booking-management-system//Booking Feed//EN";
+    private static final String UID_DOMAIN = "booking-management-system";
+
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration pastHorizon;
+    private final Duration futureHorizon;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final Map<Long, Entry> feeds = new ConcurrentHashMap<>();
+    // Time of the last committed change per resource, so that Last-Modified never goes back
+    // when a deleted or moved booking was the latest one
+    private final Map<Long, Instant> changedAt = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public IcsFeedService(BookingRepository bookingRepository,
+                          ResourceRepository resourceRepository,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${booking.ics.past-horizon:P30D}") Duration pastHorizon,
+                          @Value("${booking.ics.future-horizon:P365D}") Duration futureHorizon,
+                          @Value("${booking.ics.max-age:PT1H}") Duration maxAge) {
+        this(bookingRepository, resourceRepository, entityManager, transactionManager,
+                pastHorizon, futureHorizon, maxAge, Clock.systemDefaultZone());
+    }
+
+    IcsFeedService(BookingRepository bookingRepository,
+                   ResourceRepository resourceRepository,
+                   EntityManager entityManager,
+                   PlatformTransactionManager transactionManager,
+                   Duration pastHorizon,
+                   Duration futureHorizon,
+                   Duration maxAge,
+                   Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.resourceRepository = resourceRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pastHorizon = pastHorizon;
+        this.futureHorizon = futureHorizon;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the feed of a resource, generating it if it is not cached
+     *
+     * @param resourceId resource ID
+     * @return iCalendar feed
+     * @throws ResourceService.ResourceNotFoundException if the resource does not exist
+     */
+    public IcsFeed getFeed(Long resourceId) {
+        Instant now = clock.instant();
+        Entry cached = feeds.get(resourceId);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.feed();
+        }
+
+        long observedInvalidations = invalidations.get();
+        IcsFeed feed = readOnlyTransaction.execute(status -> generate(resourceId));
+        if (invalidations.get() == observedInvalidations) {
+            feeds.put(resourceId, new Entry(feed, now.plus(maxAge)));
+        }
+        return feed;
+    }
+
+    /**
+     * Drop the feeds of the resources a committed booking change touched
+     *
+     * @param event booking change
+     */
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.previous() != null) {
+            invalidate(event.previous().getResourceId());
+        }
+        if (event.current() != null) {
+            invalidate(event.current().getResourceId());
+        }
+    }
+
+    /**
+     * Drop the feed of a resource that was renamed or deleted
+     *
+     * @param event resource change
+     */
+    @TransactionalEventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        invalidate(event.resourceId());
+    }
+
+    private void invalidate(Long resourceId) {
+        invalidations.incrementAndGet();
+        changedAt.put(resourceId, clock.instant());
+        feeds.remove(resourceId);
+    }
+
+    private IcsFeed generate(Long resourceId) {
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ResourceService.ResourceNotFoundException(
+                        "Resource not found with id: " + resourceId));
+        LocalDateTime now = LocalDateTime.now(clock);
+        Instant lastModified = later(changedAt.getOrDefault(resourceId, Instant.EPOCH), toInstant(resource.getUpdatedAt()));
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8);
+             Stream<Booking> bookings = bookingRepository.streamByResourceIdAndTimeRange(
+                     resourceId, now.minus(pastHorizon), now.plus(futureHorizon), ACTIVE_STATUSES)) {
+            IcsWriter ics = new IcsWriter(writer);
+            ics.property("BEGIN", "VCALENDAR");
+            ics.property("VERSION", "2.0");
+            ics.text("PRODID", PRODUCT_ID);
+            ics.property("CALSCALE", "GREGORIAN");
+            ics.property("METHOD", "PUBLISH");
+            ics.text("X-WR-CALNAME", resource.getName());
+            ics.text("X-WR-TIMEZONE", clock.getZone().getId());
+
+            for (Iterator<Booking> it = bookings.iterator(); it.hasNext(); ) {
+                Booking booking = it.next();
+                writeEvent(ics, resource, booking);
+                lastModified = later(lastModified, toInstant(booking.getUpdatedAt()));
+                // keep the persistence context from growing with the feed
+                entityManager.detach(booking);
+            }
+
+            ics.property("END", "VCALENDAR");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write iCalendar feed", e);
+        }
+
+        byte[] bytes = content.toByteArray();
+        return new IcsFeed(bytes, "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"", lastModified);
+    }
+
+    private void writeEvent(IcsWriter ics, Resource resource, Booking booking) throws IOException {
+        Instant updatedAt = toInstant(booking.getUpdatedAt());
+        boolean confirmed = booking.getStatus() == BookingStatus.CONFIRMED;
+        ics.property("BEGIN", "VEVENT");
+        ics.property("UID", "booking-" + booking.getId() + "@" + UID_DOMAIN);
+        ics.utcDateTime("DTSTAMP", updatedAt);
+        ics.utcDateTime("LAST-MODIFIED", updatedAt);
+        ics.localDateTime("DTSTART", booking.getStartTime());
+        ics.localDateTime("DTEND", booking.getEndTime());
+        ics.text("SUMMARY", resource.getName() + (confirmed ? " (booked)" : " (pending)"));
+        ics.property("STATUS", confirmed ? "CONFIRMED" : "TENTATIVE");
+        ics.property("TRANSP", "OPAQUE");
+        ics.property("END", "VEVENT");
+    }
+
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(clock.getZone()).toInstant() : Instant.EPOCH;
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record Entry(IcsFeed feed, Instant expiresAt) {
+    }
+}
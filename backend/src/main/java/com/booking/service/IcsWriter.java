@@ -0,0 +1,98 @@
+package com.booking.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal iCalendar (RFC 5545) content line writer: CRLF line endings, TEXT escaping and
+ * folding of lines longer than 75 octets without splitting UTF-8 sequences.
+ */
+final class IcsWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Writer out;
+
+    IcsWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write a property whose value is used as is
+     */
+    void property(String name, String value) throws IOException {
+        line(name + ":" + value);
+    }
+
+    /**
+     * Write a TEXT property, escaping backslashes, separators and line breaks
+     */
+    void text(String name, String value) throws IOException {
+        line(name + ":" + escape(value));
+    }
+
+    /**
+     * Write a floating DATE-TIME property (local time without a time zone)
+     */
+    void localDateTime(String name, LocalDateTime value) throws IOException {
+        line(name + ":" + LOCAL_DATE_TIME.format(value));
+    }
+
+    /**
+     * Write a UTC DATE-TIME property
+     */
+    void utcDateTime(String name, Instant value) throws IOException {
+        line(name + ":" + UTC_DATE_TIME.format(value));
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // dropped; CRLF is written as a single \n
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int length = utf8Length(codePoint);
+            if (octets + length > MAX_LINE_OCTETS) {
+                // continuation lines start with a space, which counts towards their limit
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
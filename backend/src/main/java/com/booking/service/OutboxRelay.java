@@ -0,0 +1,96 @@
+package com.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Background relay publishing committed outbox events to the change feed.
+ * Each run drains the backlog one batch (one transaction) at a time.
+ *
+ * Writes committed on this instance wake the relay for its next tick. While nothing is
+ * committed locally, the polls for rows written by other instances back off from the tick
+ * interval up to {@code max-idle-interval}, so an idle instance does not query every second.
+ * With {@code booking.outbox.relay.enabled=false} (checked at runtime, so it also applies to
+ * an AOT image) the instance neither relays nor prunes.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration maxIdleInterval;
+    private final Clock clock;
+
+    private volatile boolean pending = true;
+    private Duration idleInterval;
+    private Instant nextIdlePoll = Instant.MIN;
+
+    @Autowired
+    public OutboxRelay(OutboxService outboxService,
+                       @Value("${booking.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${booking.outbox.relay.interval:PT1S}") Duration interval,
+                       @Value("${booking.outbox.relay.max-idle-interval:PT30S}") Duration maxIdleInterval) {
+        this(outboxService, enabled, interval, maxIdleInterval, Clock.systemUTC());
+    }
+
+    OutboxRelay(OutboxService outboxService, boolean enabled, Duration interval, Duration maxIdleInterval,
+                Clock clock) {
+        this.outboxService = outboxService;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.maxIdleInterval = maxIdleInterval;
+        this.clock = clock;
+        this.idleInterval = interval;
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        pending = true;
+    }
+
+    @TransactionalEventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        pending = true;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay.interval:PT1S}")
+    public synchronized void relay() {
+        Instant now = clock.instant();
+        if (!enabled || !pending && now.isBefore(nextIdlePoll)) {
+            return;
+        }
+        pending = false;
+
+        int published = 0;
+        int batch;
+        while ((batch = outboxService.publishBatch()) > 0) {
+            published += batch;
+        }
+
+        idleInterval = published > 0 ? interval : min(idleInterval.multipliedBy(2), maxIdleInterval);
+        nextIdlePoll = now.plus(idleInterval);
+    }
+
+    @Scheduled(initialDelayString = "${booking.outbox.retention.interval:PT10M}",
+               fixedDelayString = "${booking.outbox.retention.interval:PT10M}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        while (outboxService.prunePublished() > 0) {
+            // keep going until nothing is past the retention
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
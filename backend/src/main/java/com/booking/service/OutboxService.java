@@ -0,0 +1,143 @@
+package com.booking.service;
+
+import com.booking.dto.ChangeFeedPage;
+import com.booking.model.OutboxEvent;
+import com.booking.model.OutboxEvent.AggregateType;
+import com.booking.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox and change feed.
+ *
+ * Every booking and resource write is appended to the outbox inside its own transaction,
+ * so the feed contains exactly the committed writes. The relay then assigns consecutive
+ * feed offsets to committed rows in batches, and consumers page through the feed by offset.
+ * Published rows are kept for {@code retention.max-age}; consumers must read within it.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking.outbox.relay.batch-size:500}")
+    private int relayBatchSize = 500;
+
+    @Value("${booking.outbox.feed.max-limit:1000}")
+    private int maxFeedLimit = 1000;
+
+    @Value("${booking.outbox.retention.max-age:P7D}")
+    private Duration retention = Duration.ofDays(7);
+
+    @Value("${booking.outbox.retention.batch-size:1000}")
+    private int pruneBatchSize = 1000;
+
+    /**
+     * Append a booking write to the outbox, in the writing transaction
+     * 
+     * @param event booking change
+     */
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Long bookingId = event.current() != null ? event.current().getId() : event.previous().getId();
+        append(AggregateType.BOOKING, bookingId, event.type().name(), event.previous(), event.current());
+    }
+
+    /**
+     * Append a resource write to the outbox, in the writing transaction
+     * 
+     * @param event resource change
+     */
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        append(AggregateType.RESOURCE, event.resourceId(), event.type().name(), event.previous(), event.current());
+    }
+
+    private void append(AggregateType aggregateType, Long aggregateId, String eventType,
+                        Object previous, Object current) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("previous", previous);
+        payload.put("current", current);
+        try {
+            outboxRepository.save(new OutboxEvent(
+                    aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    /**
+     * Assign feed offsets to the next batch of committed, unpublished events.
+     * Offsets continue from the highest assigned one; the unique offset index makes a
+     * concurrent relay on another instance fail and retry instead of reusing offsets.
+     * 
+     * @return number of events published
+     */
+    public int publishBatch() {
+        List<OutboxEvent> batch = outboxRepository.findByFeedOffsetIsNullOrderByIdAsc(
+                PageRequest.of(0, relayBatchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long offset = outboxRepository.findMaxFeedOffset();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : batch) {
+            event.setFeedOffset(++offset);
+            event.setPublishedAt(now);
+        }
+        outboxRepository.saveAll(batch);
+        return batch.size();
+    }
+
+    /**
+     * Delete the next batch of events published longer than the retention ago. The event with
+     * the highest offset is always kept, since the relay continues numbering from it.
+     * 
+     * @return number of events deleted
+     */
+    public int prunePublished() {
+        long highest = outboxRepository.findMaxFeedOffset();
+        List<Long> expired = outboxRepository.findPublishedIdsBefore(
+                LocalDateTime.now().minus(retention), highest, PageRequest.of(0, pruneBatchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        outboxRepository.deleteAllByIdInBatch(expired);
+        return expired.size();
+    }
+
+    /**
+     * Read the change feed after an offset
+     * 
+     * @param after last offset the consumer has processed (0 to start from the beginning)
+     * @param limit maximum number of events, capped by the configured maximum
+     * @return events in offset order and the offset to continue from
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage readFeed(long after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxFeedLimit));
+        List<OutboxEvent> events = outboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(
+                after, PageRequest.of(0, pageSize));
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getFeedOffset();
+        return new ChangeFeedPage(events, nextOffset);
+    }
+}
@@ -0,0 +1,44 @@
+package com.booking.service;
+
+import com.booking.model.Resource;
+
+/**
+ * Published by ResourceService for every resource write, inside the writing transaction.
+ *
+ * Both states are detached snapshots: {@code previous} is null for a created resource and
+ * {@code current} is null for a deleted one.
+ */
+public record ResourceChangedEvent(ChangeType type, Resource previous, Resource current) {
+
+    /**
+     * Kind of write that produced the event
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // previous states must be snapshots taken before the entity was modified
+
+    public static ResourceChangedEvent created(Resource current) {
+        return new ResourceChangedEvent(ChangeType.CREATED, null, current.snapshot());
+    }
+
+    public static ResourceChangedEvent updated(Resource previous, Resource current) {
+        return new ResourceChangedEvent(ChangeType.UPDATED, previous, current.snapshot());
+    }
+
+    public static ResourceChangedEvent deleted(Resource previous) {
+        return new ResourceChangedEvent(ChangeType.DELETED, previous, null);
+    }
+
+    /**
+     * ID of the changed resource
+     *
+     * @return resource ID
+     */
+    public Long resourceId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
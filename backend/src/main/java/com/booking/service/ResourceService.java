@@ -1,8 +1,10 @@
 package com.booking.service;
 
+import com.booking.dto.ResourceSummary;
 import com.booking.model.Resource;
 import com.booking.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import java.util.Optional;
 public class ResourceService {
 
     private final ResourceRepository resourceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all resources
@@ -61,6 +64,37 @@ public class ResourceService {
         return resourceRepository.findByNameContainingIgnoreCase(name);
     }
 
+    /**
+     * Get summaries of all resources
+     * 
+     * @return list of resource summaries
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceSummary> getAllResourceSummaries() {
+        return resourceRepository.findAllSummaries();
+    }
+
+    /**
+     * Get summaries of all available resources
+     * 
+     * @return list of available resource summaries
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceSummary> getAvailableResourceSummaries() {
+        return resourceRepository.findSummariesByAvailable(true);
+    }
+
+    /**
+     * Search resource summaries by name
+     * 
+     * @param name search term
+     * @return list of matching resource summaries
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceSummary> searchResourceSummariesByName(String name) {
+        return resourceRepository.findSummariesByNameContainingIgnoreCase(name);
+    }
+
     /**
      * Create a new resource
      * 
@@ -71,7 +105,9 @@ public class ResourceService {
         if (resource.getId() != null) {
             throw new IllegalArgumentException("New resource should not have an ID");
         }
-        return resourceRepository.save(resource);
+        Resource created = resourceRepository.save(resource);
+        eventPublisher.publishEvent(ResourceChangedEvent.created(created));
+        return created;
     }
 
     /**
@@ -85,13 +121,16 @@ public class ResourceService {
     public Resource updateResource(Long id, Resource resourceDetails) {
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        Resource previous = resource.snapshot();
 
         resource.setName(resourceDetails.getName());
         resource.setDescription(resourceDetails.getDescription());
         resource.setCapacity(resourceDetails.getCapacity());
         resource.setAvailable(resourceDetails.getAvailable());
 
-        return resourceRepository.save(resource);
+        Resource updated = resourceRepository.save(resource);
+        eventPublisher.publishEvent(ResourceChangedEvent.updated(previous, updated));
+        return updated;
     }
 
     /**
@@ -101,10 +140,10 @@ public class ResourceService {
      * @throws ResourceNotFoundException if resource is not found
      */
     public void deleteResource(Long id) {
-        if (!resourceRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Resource not found with id: " + id);
-        }
-        resourceRepository.deleteById(id);
+        Resource resource = resourceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        resourceRepository.delete(resource);
+        eventPublisher.publishEvent(ResourceChangedEvent.deleted(resource.snapshot()));
     }
 
     /**
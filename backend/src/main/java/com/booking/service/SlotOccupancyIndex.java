@@ -0,0 +1,285 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Optional in-memory index of slot occupancy per resource and day.
+ *
+ * Each resource-day holds one bit per slot of slot-minutes (96 bits for 15 minutes),
+ * set for slots covered by PENDING or CONFIRMED bookings. Availability of a
+ * slot-aligned range is then answered with a few word-level bit operations instead
+ * of the conflict query. Days are loaded lazily from the database and kept in step
+ * with every BookingService write through {@link BookingChangedEvent}s applied after
+ * commit. Days are loaded in a read-write transaction so they come from the primary:
+ * a day read from a lagging replica would stay cached until the next write to it.
+ * A day that contains a booking not aligned to slot boundaries cannot be represented
+ * exactly, so queries touching it (and unaligned queries) return empty and the caller
+ * falls back to the exact check. Ranges longer than max-span-days also return empty:
+ * one conflict query is cheaper than loading every day of a long range.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final int STRIPES = 256;
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean enabled;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int maxDays;
+    private final int maxSpanDays;
+
+    private final ConcurrentHashMap<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+    // Per-stripe modification stamps: a day loaded from the database is only cached if
+    // no write touched its stripe while it was loading
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final Object[] locks = new Object[STRIPES];
+
+    public SlotOccupancyIndex(BookingRepository bookingRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${booking.occupancy-index.enabled:false}") boolean enabled,
+                              @Value("${booking.occupancy-index.slot-minutes:15}") int slotMinutes,
+                              @Value("${booking.occupancy-index.max-days:100000}") int maxDays,
+                              @Value("${booking.occupancy-index.max-span-days:7}") int maxSpanDays) {
+        if (slotMinutes <= 0 || (24 * 60) % slotMinutes != 0) {
+            throw new IllegalArgumentException("slot-minutes must divide a day evenly");
+        }
+        this.bookingRepository = bookingRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = 24 * 60 / slotMinutes;
+        this.maxDays = maxDays;
+        this.maxSpanDays = maxSpanDays;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Answer an availability query from the index if possible
+     *
+     * @param resourceId resource ID
+     * @param start start time
+     * @param end end time
+     * @return availability, or empty if the index cannot answer exactly or the range
+     *         spans more than max-span-days days
+     */
+    public Optional<Boolean> isAvailable(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled || !end.isAfter(start) || !isAligned(start) || !isAligned(end)) {
+            return Optional.empty();
+        }
+
+        LocalDate lastDay = end.minusNanos(1).toLocalDate();
+        if (ChronoUnit.DAYS.between(start.toLocalDate(), lastDay) >= maxSpanDays) {
+            return Optional.empty();
+        }
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            DayOccupancy occupancy = getOrLoad(new DayKey(resourceId, day));
+            if (occupancy.unaligned()) {
+                return Optional.empty();
+            }
+            int from = day.equals(start.toLocalDate()) ? slotOf(start) : 0;
+            int to = day.equals(lastDay) ? slotOf(end.minusNanos(1)) + 1 : slotsPerDay;
+            if (occupancy.anySet(from, to)) {
+                return Optional.of(false);
+            }
+        }
+        return Optional.of(true);
+    }
+
+    /**
+     * Apply a committed booking change to the cached days it touches.
+     * A newly active booking is added to loaded days; any other change drops the
+     * affected days so they are reloaded on next use, which stays correct even if
+     * the stored bookings overlap.
+     *
+     * @param event booking change
+     */
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Booking previous = event.previous();
+        Booking current = event.current();
+
+        if (BookingChangedEvent.isActive(previous)) {
+            forEachDay(previous, this::invalidate);
+        }
+        if (BookingChangedEvent.isActive(current)) {
+            if (BookingChangedEvent.isActive(previous)) {
+                forEachDay(current, this::invalidate);
+            } else {
+                forEachDay(current, key -> add(key, current));
+            }
+        }
+    }
+
+    /**
+     * Number of resource-days currently cached
+     *
+     * @return cached day count
+     */
+    public int size() {
+        return days.size();
+    }
+
+    private DayOccupancy getOrLoad(DayKey key) {
+        DayOccupancy cached = days.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(key);
+        long stamp = stamps.get(stripe);
+        LocalDateTime dayStart = key.day().atStartOfDay();
+        List<Booking> bookings = primaryTransaction.execute(status -> bookingRepository.findConflictingBookings(
+                key.resourceId(), dayStart, dayStart.plusDays(1), ACTIVE_STATUSES));
+        DayOccupancy loaded = DayOccupancy.empty(slotsPerDay);
+        for (Booking booking : bookings) {
+            loaded = with(loaded, key.day(), booking);
+        }
+
+        synchronized (locks[stripe]) {
+            if (stamps.get(stripe) == stamp) {
+                if (days.size() >= maxDays) {
+                    evictSome();
+                }
+                days.putIfAbsent(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void add(DayKey key, Booking booking) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            stamps.incrementAndGet(stripe);
+            days.computeIfPresent(key, (k, occupancy) -> with(occupancy, k.day(), booking));
+        }
+    }
+
+    private void invalidate(DayKey key) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            stamps.incrementAndGet(stripe);
+            days.remove(key);
+        }
+    }
+
+    /**
+     * Copy of the occupancy with the part of the booking that falls on the given day added
+     */
+    private DayOccupancy with(DayOccupancy occupancy, LocalDate day, Booking booking) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime from = booking.getStartTime().isAfter(dayStart) ? booking.getStartTime() : dayStart;
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        LocalDateTime to = booking.getEndTime().isBefore(dayEnd) ? booking.getEndTime() : dayEnd;
+        if (!isAligned(from) || !isAligned(to)) {
+            return occupancy.withUnaligned();
+        }
+        int fromSlot = (int) (Duration.between(dayStart, from).toMinutes() / slotMinutes);
+        int toSlot = (int) (Duration.between(dayStart, to).toMinutes() / slotMinutes);
+        return occupancy.withRange(fromSlot, toSlot);
+    }
+
+    private void forEachDay(Booking booking, Consumer<DayKey> action) {
+        LocalDate lastDay = booking.getEndTime().minusNanos(1).toLocalDate();
+        for (LocalDate day = booking.getStartTime().toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            action.accept(new DayKey(booking.getResourceId(), day));
+        }
+    }
+
+    private boolean isAligned(LocalDateTime time) {
+        LocalTime t = time.toLocalTime();
+        return t.getSecond() == 0 && t.getNano() == 0 && t.getMinute() % slotMinutes == 0;
+    }
+
+    private int slotOf(LocalDateTime time) {
+        return time.toLocalTime().toSecondOfDay() / 60 / slotMinutes;
+    }
+
+    private static int stripe(DayKey key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    /**
+     * Drop roughly a tenth of the cached days; they are reloaded on demand
+     */
+    private void evictSome() {
+        int toRemove = Math.max(1, maxDays / 10);
+        Iterator<DayKey> iterator = days.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record DayKey(Long resourceId, LocalDate day) {
+    }
+
+    /**
+     * Immutable bitset of occupied slots for one resource-day.
+     * Replaced rather than mutated so readers never need a lock.
+     */
+    private record DayOccupancy(long[] words, boolean unaligned) {
+
+        static DayOccupancy empty(int slots) {
+            return new DayOccupancy(new long[(slots + 63) / 64], false);
+        }
+
+        DayOccupancy withUnaligned() {
+            return new DayOccupancy(words, true);
+        }
+
+        DayOccupancy withRange(int from, int to) {
+            long[] copy = words.clone();
+            for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+                copy[word] |= mask(word, from, to);
+            }
+            return new DayOccupancy(copy, unaligned);
+        }
+
+        boolean anySet(int from, int to) {
+            for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+                if ((words[word] & mask(word, from, to)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Bits of the given word that fall inside [from, to)
+         */
+        private static long mask(int word, int from, int to) {
+            int lo = Math.max(from - (word << 6), 0);
+            int hi = Math.min(to - (word << 6), 64);
+            long upper = hi == 64 ? -1L : (1L << hi) - 1;
+            return upper & (-1L << lo);
+        }
+    }
+}
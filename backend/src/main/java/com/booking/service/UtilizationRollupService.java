@@ -0,0 +1,398 @@
+package com.booking.service;
+
+import com.booking.dto.ResourceUtilization;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Precomputed utilization rollups per resource and day.
+ *
+ * Each cell holds the booked minutes of active bookings, booking counts by status and booked
+ * minutes per hour of day, so a dashboard cell is answered in constant time. Cells are kept
+ * up to date by applying each booking change after commit as a delta: the previous state of
+ * the event is subtracted and the current state added, so no per-booking state is kept.
+ *
+ * A rebuild runs in parallel from the database while writes continue, in the background at
+ * startup. For bookings changed while it runs, the rebuild corrects the state it read to the
+ * latest applied one; the read states are held only for the duration of the rebuild. A write
+ * is tracked as in flight from its event until its delta is applied after commit, because the
+ * rebuild may read a committed state whose delta has not arrived yet. For bookings still in
+ * flight when the rebuild finishes, the state the rebuilt rollups hold is queued, and the
+ * next delta replaces that state rather than the event's previous one, so it is not counted twice.
+ */
+@Service
+public class UtilizationRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(UtilizationRollupService.class);
+    private static final int MAX_DAYS_PER_QUERY = 366;
+
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final int bookableMinutesPerDay;
+    private final int rebuildParallelism;
+    private final Executor startupExecutor;
+
+    private volatile Rollups rollups = new Rollups();
+    private volatile boolean built;
+    // Latest states of the bookings changed while a rebuild is running (null if deleted); null otherwise
+    private Map<Long, Contribution> appliedDuringRebuild;
+    // Writes per booking whose delta has not been applied yet
+    private final Map<Long, Integer> inFlight = new HashMap<>();
+    // State the current rollups hold for bookings that were in flight when a rebuild finished
+    private final Map<Long, Contribution> rebuiltStates = new HashMap<>();
+
+    public UtilizationRollupService(BookingRepository bookingRepository,
+                                    ResourceRepository resourceRepository,
+                                    @Value("${booking.analytics.bookable-minutes-per-day:1440}") int bookableMinutesPerDay,
+                                    @Value("${booking.analytics.rebuild-parallelism:0}") int rebuildParallelism,
+                                    @Qualifier("applicationTaskExecutor") Executor startupExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookableMinutesPerDay = bookableMinutesPerDay;
+        this.rebuildParallelism = rebuildParallelism > 0
+                ? rebuildParallelism : Runtime.getRuntime().availableProcessors();
+        this.startupExecutor = startupExecutor;
+    }
+
+    /**
+     * Start the first rebuild in the background, so it does not hold up startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        startupExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (IllegalStateException e) {
+                // a rebuild requested through the API got there first
+                log.info("Skipping startup rebuild of utilization rollups: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Startup rebuild of utilization rollups failed", e);
+            }
+        });
+    }
+
+    /**
+     * @return whether a rebuild has completed, so the rollups cover the bookings written before startup
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Apply a booking change to the rollups once its transaction commits, tracking it as in
+     * flight until then; outside a transaction it is applied right away
+     *
+     * @param event booking change
+     */
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking previous = event.previous();
+        Booking current = event.current();
+        Long bookingId = current != null ? current.getId() : previous.getId();
+        Contribution before = Contribution.of(previous);
+        Contribution after = Contribution.of(current);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                apply(bookingId, before, after);
+            }
+            return;
+        }
+
+        synchronized (this) {
+            inFlight.merge(bookingId, 1, Integer::sum);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(bookingId, before, after, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private synchronized void complete(Long bookingId, Contribution previous, Contribution current, boolean committed) {
+        if (inFlight.merge(bookingId, -1, Integer::sum) == 0) {
+            inFlight.remove(bookingId);
+        }
+        if (committed) {
+            // A rebuild that finished meanwhile may already hold this or a later state
+            Contribution held = rebuiltStates.containsKey(bookingId) ? rebuiltStates.remove(bookingId) : previous;
+            apply(bookingId, held, current);
+        } else if (!inFlight.containsKey(bookingId)) {
+            rebuiltStates.remove(bookingId);
+        }
+    }
+
+    private void apply(Long bookingId, Contribution previous, Contribution current) {
+        rollups.replace(previous, current);
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.put(bookingId, current);
+        }
+    }
+
+    /**
+     * Recompute all rollups from the database, one resource per task in parallel.
+     * Reads keep using the previous rollups until the new ones are complete.
+     *
+     * @return number of bookings read
+     */
+    public int rebuild() {
+        synchronized (this) {
+            if (appliedDuringRebuild != null) {
+                throw new IllegalStateException("Rebuild already running");
+            }
+            appliedDuringRebuild = new HashMap<>();
+        }
+
+        long startNanos = System.nanoTime();
+        Rollups rebuilt = new Rollups();
+        Map<Long, Contribution> read = new HashMap<>();
+        try {
+            List<Long> resourceIds = resourceRepository.findAll().stream().map(Resource::getId).toList();
+            ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+            try {
+                // Resources own disjoint cells, so each task fills its own partial rollups
+                List<Partial> partials = pool.submit(() -> resourceIds.parallelStream()
+                        .map(this::rollupsForResource)
+                        .toList()).join();
+                for (Partial partial : partials) {
+                    rebuilt.cells.putAll(partial.rollups().cells);
+                    read.putAll(partial.read());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                appliedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        int bookings = read.size();
+        synchronized (this) {
+            // The rebuild may have read any state of a booking changed meanwhile; move it to the latest
+            appliedDuringRebuild.forEach((bookingId, latest) -> rebuilt.replace(read.get(bookingId), latest));
+            // Deltas still to come must start from what the rebuilt rollups hold
+            rebuiltStates.clear();
+            for (Long bookingId : inFlight.keySet()) {
+                rebuiltStates.put(bookingId, appliedDuringRebuild.containsKey(bookingId)
+                        ? appliedDuringRebuild.get(bookingId) : read.get(bookingId));
+            }
+            appliedDuringRebuild = null;
+            rollups = rebuilt;
+            built = true;
+        }
+        log.info("Rebuilt utilization rollups: {} bookings, {} cells in {} ms", bookings, rebuilt.cells.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return bookings;
+    }
+
+    private Partial rollupsForResource(Long resourceId) {
+        Rollups partial = new Rollups();
+        Map<Long, Contribution> read = new HashMap<>();
+        for (Booking booking : bookingRepository.findByResourceId(resourceId)) {
+            Contribution state = Contribution.of(booking);
+            partial.replace(null, state);
+            read.put(booking.getId(), state);
+        }
+        return new Partial(partial, read);
+    }
+
+    /**
+     * Utilization of a resource per day or per week
+     *
+     * @param resourceId resource ID
+     * @param from first day
+     * @param to last day (inclusive)
+     * @param weekly whether to sum the days into weeks starting at {@code from}
+     * @return one entry per day or week
+     */
+    public List<ResourceUtilization> getUtilization(Long resourceId, LocalDate from, LocalDate to, boolean weekly) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (from.plusDays(MAX_DAYS_PER_QUERY).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_DAYS_PER_QUERY + " days");
+        }
+
+        Rollups current = rollups;
+        int periodDays = weekly ? 7 : 1;
+        List<ResourceUtilization> result = new ArrayList<>();
+        for (LocalDate periodStart = from; !periodStart.isAfter(to); periodStart = periodStart.plusDays(periodDays)) {
+            LocalDate periodEnd = periodStart.plusDays(periodDays - 1);
+            if (periodEnd.isAfter(to)) {
+                periodEnd = to;
+            }
+            DayRollup sum = DayRollup.EMPTY;
+            for (LocalDate day = periodStart; !day.isAfter(periodEnd); day = day.plusDays(1)) {
+                sum = sum.plus(current.cells.getOrDefault(new CellKey(resourceId, day), DayRollup.EMPTY));
+            }
+            int days = (int) (periodEnd.toEpochDay() - periodStart.toEpochDay()) + 1;
+            result.add(toUtilization(resourceId, periodStart, periodEnd, sum, days));
+        }
+        return result;
+    }
+
+    private ResourceUtilization toUtilization(Long resourceId, LocalDate from, LocalDate to, DayRollup rollup, int days) {
+        Map<BookingStatus, Integer> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, rollup.statusCounts[status.ordinal()]);
+        }
+        Integer peakHour = null;
+        for (int hour = 0; hour < 24; hour++) {
+            if (rollup.hourMinutes[hour] > 0 && (peakHour == null || rollup.hourMinutes[hour] > rollup.hourMinutes[peakHour])) {
+                peakHour = hour;
+            }
+        }
+        double occupancy = 100.0 * rollup.bookedMinutes / ((long) bookableMinutesPerDay * days);
+        return new ResourceUtilization(resourceId, from, to, rollup.bookedMinutes,
+                Math.round(occupancy * 10) / 10.0, counts, peakHour);
+    }
+
+    private record CellKey(Long resourceId, LocalDate day) {
+    }
+
+    /**
+     * Rollups of one resource and the booking states they were built from, kept during a rebuild only
+     */
+    private record Partial(Rollups rollups, Map<Long, Contribution> read) {
+    }
+
+    /**
+     * What one booking state adds to the rollups
+     */
+    private record Contribution(Long resourceId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+
+        static Contribution of(Booking booking) {
+            if (booking == null) {
+                return null;
+            }
+            return new Contribution(booking.getResourceId(), booking.getStartTime(), booking.getEndTime(),
+                    booking.getStatus());
+        }
+    }
+
+    /**
+     * Cells per resource and day
+     */
+    private static final class Rollups {
+
+        private final ConcurrentHashMap<CellKey, DayRollup> cells = new ConcurrentHashMap<>();
+
+        /**
+         * Replace one state of a booking with another; null on either side means none
+         */
+        void replace(Contribution previous, Contribution current) {
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (current != null) {
+                add(current, 1);
+            }
+        }
+
+        private void add(Contribution booking, int sign) {
+            boolean active = booking.status() == BookingStatus.PENDING || booking.status() == BookingStatus.CONFIRMED;
+            LocalDateTime segmentStart = booking.start();
+            while (segmentStart.isBefore(booking.end())) {
+                LocalDate day = segmentStart.toLocalDate();
+                LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+                LocalDateTime segmentEnd = booking.end().isBefore(nextDay) ? booking.end() : nextDay;
+                DayRollup delta = DayRollup.of(segmentStart, segmentEnd, booking.status(), active, sign);
+                cells.compute(new CellKey(booking.resourceId(), day), (key, cell) -> {
+                    DayRollup sum = cell == null ? delta : cell.plus(delta);
+                    return sum.isEmpty() ? null : sum;
+                });
+                segmentStart = segmentEnd;
+            }
+        }
+    }
+
+    /**
+     * Immutable rollup of one resource-day (or a sum of days)
+     */
+    private static final class DayRollup {
+
+        static final DayRollup EMPTY = new DayRollup(0, new int[BookingStatus.values().length], new int[24]);
+
+        final long bookedMinutes;
+        final int[] statusCounts;
+        final int[] hourMinutes;
+
+        private DayRollup(long bookedMinutes, int[] statusCounts, int[] hourMinutes) {
+            this.bookedMinutes = bookedMinutes;
+            this.statusCounts = statusCounts;
+            this.hourMinutes = hourMinutes;
+        }
+
+        /**
+         * Contribution of a booking segment within one day
+         */
+        static DayRollup of(LocalDateTime start, LocalDateTime end, BookingStatus status, boolean active, int sign) {
+            int[] statusCounts = new int[BookingStatus.values().length];
+            statusCounts[status.ordinal()] = sign;
+            int[] hourMinutes = new int[24];
+            long minutes = 0;
+            if (active) {
+                minutes = Duration.between(start, end).toMinutes();
+                LocalDateTime hourStart = start.withMinute(0).withSecond(0).withNano(0);
+                while (hourStart.isBefore(end)) {
+                    LocalDateTime hourEnd = hourStart.plusHours(1);
+                    LocalDateTime from = start.isAfter(hourStart) ? start : hourStart;
+                    LocalDateTime to = end.isBefore(hourEnd) ? end : hourEnd;
+                    hourMinutes[hourStart.getHour()] += sign * (int) Duration.between(from, to).toMinutes();
+                    hourStart = hourEnd;
+                }
+            }
+            return new DayRollup(sign * minutes, statusCounts, hourMinutes);
+        }
+
+        DayRollup plus(DayRollup other) {
+            int[] statusCounts = this.statusCounts.clone();
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] += other.statusCounts[i];
+            }
+            int[] hourMinutes = this.hourMinutes.clone();
+            for (int i = 0; i < hourMinutes.length; i++) {
+                hourMinutes[i] += other.hourMinutes[i];
+            }
+            return new DayRollup(bookedMinutes + other.bookedMinutes, statusCounts, hourMinutes);
+        }
+
+        boolean isEmpty() {
+            if (bookedMinutes != 0) {
+                return false;
+            }
+            for (int count : statusCounts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
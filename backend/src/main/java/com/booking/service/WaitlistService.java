@@ -0,0 +1,227 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import com.booking.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service layer for the booking waitlist.
+ *
+ * Requests that conflict with an existing booking can wait for their resource and time range.
+ * When an active booking is cancelled, deleted or moved away, the waiters overlapping the freed
+ * range are promoted to bookings in queue order, inside the transaction that freed the range.
+ * Bulk maintenance writes (bulk cancel/delete) promote nobody: they free a range on purpose.
+ * Joining locks the resource row, as does every freeing write before it publishes its event,
+ * so a waiter either sees the range still taken and is found by the freeing write, or finds
+ * it free and is booked on the spot. A promotion adjusts the booking counters of both the
+ * freeing customer and the waiter, so those counters are locked together in email order
+ * before the quota listener takes the freeing customer's counter on its own.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WaitlistService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final BookingService bookingService;
+    private final CustomerQuotaService quotaService;
+
+    /**
+     * Get waitlist entry by ID
+     * 
+     * @param id entry ID
+     * @return Optional containing the entry if found
+     */
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntry> getEntryById(Long id) {
+        return waitlistRepository.findById(id);
+    }
+
+    /**
+     * Get waiting entries for a resource in queue order
+     * 
+     * @param resourceId resource ID
+     * @return list of waiting entries
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getWaitingEntries(Long resourceId) {
+        return waitlistRepository.findByResourceIdAndStatusOrderByIdAsc(resourceId, WaitlistStatus.WAITING);
+    }
+
+    /**
+     * Queue a booking request until its resource and time range become free.
+     * The range is re-checked under the resource lock: if it was freed since the request
+     * conflicted, the booking is created right away and the entry is returned as promoted.
+     * 
+     * @param booking requested booking
+     * @return created waitlist entry, WAITING or already PROMOTED
+     */
+    public WaitlistEntry join(Booking booking) {
+        if (booking.getId() != null) {
+            throw new IllegalArgumentException("New booking should not have an ID");
+        }
+        if (!booking.getEndTime().isAfter(booking.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        WaitlistEntry entry = WaitlistEntry.of(booking);
+        resourceRepository.lockAllByIdIn(List.of(booking.getResourceId()));
+        if (canPromote(entry)) {
+            promote(entry);
+        }
+        return waitlistRepository.save(entry);
+    }
+
+    /**
+     * Withdraw a waiting entry
+     * 
+     * @param id entry ID
+     * @return cancelled entry
+     * @throws WaitlistEntryNotFoundException if entry is not found
+     */
+    public WaitlistEntry leave(Long id) {
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new WaitlistEntryNotFoundException("Waitlist entry not found with id: " + id));
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new IllegalArgumentException("Only waiting entries can be cancelled");
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        return waitlistRepository.save(entry);
+    }
+
+    /**
+     * Lock the counters of the freeing customer and the waiting customers in email order, first
+     * among the listeners. Otherwise two writes promoting each other's customers could each hold
+     * their own counter and wait for the other's.
+     * 
+     * @param event booking change
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void lockCustomerCounters(BookingChangedEvent event) {
+        Booking freed = freedBy(event);
+        if (freed == null) {
+            return;
+        }
+        List<String> customers = new ArrayList<>(waitlistRepository.findWaitingCustomersOverlapping(
+                freed.getResourceId(), freed.getStartTime(), freed.getEndTime()));
+        if (!customers.isEmpty()) {
+            customers.add(freed.getCustomerEmail());
+            quotaService.lockCounters(customers);
+        }
+    }
+
+    /**
+     * Promote waiters when a booking write frees a time range. Runs synchronously inside the
+     * writing transaction, so a cancellation and the promotions it enables commit together,
+     * and after the quota listener, so the freeing customer's own waiters see the released count.
+     * 
+     * @param event booking change
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking freed = freedBy(event);
+        if (freed == null) {
+            return;
+        }
+        promoteWaiters(freed.getResourceId(), freed.getStartTime(), freed.getEndTime());
+    }
+
+    /**
+     * The active booking state whose range a non-bulk write gives up, or null
+     */
+    private static Booking freedBy(BookingChangedEvent event) {
+        Booking freed = event.previous();
+        if (event.bulk() || !BookingChangedEvent.isActive(freed) || stillCovers(event.current(), freed)) {
+            return null;
+        }
+        return freed;
+    }
+
+    /**
+     * Promote, in queue order, every waiter overlapping the range whose own range is now free.
+     * The freeing write has locked the resource row, so the checks cannot race concurrent
+     * bookings or joins. Waiters whose range has already ended are marked expired instead.
+     * 
+     * @param resourceId resource ID
+     * @param start start of the freed range
+     * @param end end of the freed range
+     * @return number of promoted entries
+     */
+    private int promoteWaiters(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        List<WaitlistEntry> waiters = waitlistRepository.findWaitingOverlapping(resourceId, start, end);
+        LocalDateTime now = LocalDateTime.now();
+        int promoted = 0;
+        for (WaitlistEntry waiter : waiters) {
+            if (!waiter.getEndTime().isAfter(now)) {
+                waiter.setStatus(WaitlistStatus.EXPIRED);
+                waitlistRepository.save(waiter);
+                continue;
+            }
+            if (!canPromote(waiter)) {
+                continue;
+            }
+            promote(waiter);
+            waitlistRepository.save(waiter);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    /**
+     * Whether the waiter's range is free and its customer below the booking limit; the
+     * resource must be locked, and on a freeing write the customer's counter already is.
+     * A waiter at the limit stays queued, since failing the booking would fail the freeing write.
+     */
+    private boolean canPromote(WaitlistEntry waiter) {
+        boolean free = bookingRepository.findConflictingBookings(
+                waiter.getResourceId(), waiter.getStartTime(), waiter.getEndTime(), ACTIVE_STATUSES).isEmpty();
+        return free && quotaService.hasCapacity(waiter.getCustomerEmail());
+    }
+
+    private void promote(WaitlistEntry waiter) {
+        Booking booking = bookingService.createBooking(waiter.toBooking());
+        waiter.setStatus(WaitlistStatus.PROMOTED);
+        waiter.setBookingId(booking.getId());
+    }
+
+    /**
+     * Whether the new state still occupies the whole range of the previous one
+     */
+    private static boolean stillCovers(Booking current, Booking previous) {
+        return BookingChangedEvent.isActive(current)
+                && current.getResourceId().equals(previous.getResourceId())
+                && !current.getStartTime().isAfter(previous.getStartTime())
+                && !current.getEndTime().isBefore(previous.getEndTime());
+    }
+
+    /**
+     * Custom exception for waitlist entry not found
+     */
+    public static class WaitlistEntryNotFoundException extends RuntimeException {
+        public WaitlistEntryNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.booking.service;
+
+import com.booking.dto.BookingSummary;
+import com.booking.dto.CalendarWeek;
+import com.booking.model.Booking;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weekly calendar served from precomputed blocks.
+ *
+ * A block is the serialized JSON of one resource's bookings in one week (Monday to Sunday).
+ * Blocks are kept in a bounded LRU cache and a calendar response is the concatenation of its
+ * blocks, so a repeated load neither queries the database nor encodes JSON. After a booking
+ * change commits, only the blocks of the weeks its previous and current state touch are
+ * dropped. Blocks loaded while an invalidation happened are not cached. Clients asking for
+ * another format get the blocks decoded back into {@link CalendarWeek} objects.
+ */
+@Service
+public class WeeklyCalendarService {
+
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Access-ordered, so the eldest entry is the least recently used block; guarded by itself
+    private final LinkedHashMap<BlockKey, byte[]> blocks;
+    private long invalidations;
+
+    public WeeklyCalendarService(BookingRepository bookingRepository,
+                                 ResourceRepository resourceRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.calendar.max-blocks:10000}") int maxBlocks) {
+        this.bookingRepository = bookingRepository;
+        this.resourceRepository = resourceRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BlockKey, byte[]> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * Get the week containing a date for one resource or all resources, as a JSON array of
+     * {@link CalendarWeek} ordered by resource ID
+     *
+     * @param date any day of the week
+     * @param resourceId resource ID; all resources if null
+     * @return serialized calendar weeks
+     */
+    public byte[] getWeek(LocalDate date, Long resourceId) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        boolean first = true;
+        for (byte[] block : getBlocks(date, resourceId)) {
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(block);
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Get the week containing a date for one resource or all resources, decoded from the
+     * cached blocks for responses in formats other than JSON
+     *
+     * @param date any day of the week
+     * @param resourceId resource ID; all resources if null
+     * @return calendar weeks ordered by resource ID
+     */
+    public List<CalendarWeek> getWeekEntries(LocalDate date, Long resourceId) {
+        List<CalendarWeek> weeks = new ArrayList<>();
+        for (byte[] block : getBlocks(date, resourceId)) {
+            try {
+                weeks.add(objectMapper.readValue(block, CalendarWeek.class));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read calendar week", e);
+            }
+        }
+        return weeks;
+    }
+
+    private List<byte[]> getBlocks(LocalDate date, Long resourceId) {
+        LocalDate weekStart = weekStart(date);
+        List<Long> resourceIds;
+        if (resourceId != null) {
+            if (resourceRepository.findById(resourceId).isEmpty()) {
+                throw new ResourceService.ResourceNotFoundException("Resource not found with id: " + resourceId);
+            }
+            resourceIds = List.of(resourceId);
+        } else {
+            resourceIds = resourceRepository.findAll().stream().map(Resource::getId).sorted().toList();
+        }
+
+        Map<Long, byte[]> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long observedInvalidations;
+        synchronized (blocks) {
+            for (Long id : resourceIds) {
+                byte[] block = blocks.get(new BlockKey(id, weekStart));
+                if (block != null) {
+                    found.put(id, block);
+                } else {
+                    missing.add(id);
+                }
+            }
+            observedInvalidations = invalidations;
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, byte[]> loaded = readOnlyTransaction.execute(status -> loadBlocks(missing, weekStart));
+            found.putAll(loaded);
+            synchronized (blocks) {
+                if (invalidations == observedInvalidations) {
+                    loaded.forEach((id, block) -> blocks.put(new BlockKey(id, weekStart), block));
+                }
+            }
+        }
+
+        return resourceIds.stream().map(found::get).toList();
+    }
+
+    /**
+     * Drop the blocks touched by a committed booking change
+     *
+     * @param event booking change
+     */
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<BlockKey> touched = new HashSet<>();
+        addWeeks(touched, event.previous());
+        addWeeks(touched, event.current());
+        synchronized (blocks) {
+            invalidations++;
+            touched.forEach(blocks::remove);
+        }
+    }
+
+    /**
+     * Drop the blocks of a deleted resource
+     *
+     * @param event resource change
+     */
+    @TransactionalEventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (event.type() != ResourceChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        Long resourceId = event.resourceId();
+        synchronized (blocks) {
+            invalidations++;
+            blocks.keySet().removeIf(key -> key.resourceId().equals(resourceId));
+        }
+    }
+
+    private Map<Long, byte[]> loadBlocks(List<Long> resourceIds, LocalDate weekStart) {
+        Map<Long, List<BookingSummary>> bookingsByResource = new LinkedHashMap<>();
+        resourceIds.forEach(id -> bookingsByResource.put(id, new ArrayList<>()));
+        bookingRepository.findSummariesByResourceIdsAndTimeRange(resourceIds,
+                        weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay())
+                .forEach(summary -> bookingsByResource.get(summary.resourceId()).add(summary));
+
+        Map<Long, byte[]> loaded = new LinkedHashMap<>();
+        bookingsByResource.forEach((id, bookings) -> loaded.put(id, serialize(new CalendarWeek(id, weekStart, bookings))));
+        return loaded;
+    }
+
+    private byte[] serialize(CalendarWeek week) {
+        try {
+            return objectMapper.writeValueAsBytes(week);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize calendar week", e);
+        }
+    }
+
+    private static void addWeeks(Set<BlockKey> keys, Booking booking) {
+        if (booking == null) {
+            return;
+        }
+        LocalDateTime end = booking.getEndTime();
+        for (LocalDate week = weekStart(booking.getStartTime().toLocalDate());
+             week.atStartOfDay().isBefore(end);
+             week = week.plusWeeks(1)) {
+            keys.add(new BlockKey(booking.getResourceId(), week));
+        }
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record BlockKey(Long resourceId, LocalDate weekStart) {
+    }
+}
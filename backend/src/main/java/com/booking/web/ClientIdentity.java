@@ -0,0 +1,54 @@
+package com.booking.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Identity of the client behind a request, shared by everything that keeps per-client state
+ * (rate limits, idempotency keys, read-your-writes).
+ *
+ * A client is identified by the X-API-Key header when it holds one of the configured keys,
+ * otherwise by the remote address (the client address taken from X-Forwarded-For behind the
+ * router, see server.forward-headers-strategy). Unknown keys are ignored, so rotating made-up
+ * keys does not buy a fresh identity.
+ */
+@Component
+public class ClientIdentity {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientIdentity(@Value("${booking.rate-limit.api-keys:}") List<String> apiKeys) {
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    /**
+     * Identity of the client that sent the request
+     *
+     * @param request HTTP request
+     * @return "key:" followed by a trusted API key, or "ip:" followed by the remote address
+     */
+    public String of(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Identity of the client whose request the current thread is handling
+     *
+     * @return client identity, or empty outside a request (scheduled and background work)
+     */
+    public Optional<String> current() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? Optional.of(of(attributes.getRequest()))
+                : Optional.empty();
+    }
+}
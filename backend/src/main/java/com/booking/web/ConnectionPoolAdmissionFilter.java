@@ -0,0 +1,99 @@
+package com.booking.web;
+
+import com.booking.config.ConnectionPoolMonitor;
+import com.booking.config.ConnectionPoolMonitor.Saturation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Optional;
+
+/**
+ * Admission control for the booking and waitlist API in front of the database.
+ *
+ * Requests that would start BookingService transactions are rejected with 503 up front
+ * while a connection pool is saturated, instead of queueing inside the pool until its
+ * connection timeout. Requests that were admitted but still timed out waiting for a
+ * connection get 503 as well, so callers can back off and retry.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 25)
+public class ConnectionPoolAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolAdmissionFilter.class);
+
+    private final ConnectionPoolMonitor poolMonitor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public ConnectionPoolAdmissionFilter(ConnectionPoolMonitor poolMonitor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${booking.db-admission.enabled:true}") boolean enabled) {
+        this.poolMonitor = poolMonitor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !enabled || !(uri.startsWith("/api/bookings") || uri.startsWith("/api/waitlist"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Optional<Saturation> saturation = poolMonitor.checkSaturation();
+        if (saturation.isPresent()) {
+            Saturation s = saturation.get();
+            log.debug("Rejecting {} {}: pool {} saturated ({})", request.getMethod(), request.getRequestURI(),
+                    s.pool(), s.detail());
+            reject(response, s.reason().name().toLowerCase().replace('_', '-'));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            if (!isConnectionTimeout(e) || response.isCommitted()) {
+                throw e;
+            }
+            log.warn("Timed out waiting for a database connection on {} {}", request.getMethod(), request.getRequestURI());
+            response.resetBuffer();
+            reject(response, "timeout");
+        }
+    }
+
+    private void reject(HttpServletResponse response, String reason) throws IOException {
+        Counter.builder("booking.db.admission.rejected")
+                .description("API requests rejected because the connection pool was saturated")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        RateLimitFilter.writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Database is busy");
+    }
+
+    private static boolean isConnectionTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,181 @@
+package com.booking.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded store of results keyed by client supplied idempotency keys.
+ *
+ * The first request for a key runs the action and records its result; retries
+ * with the same key and the same request fingerprint get the recorded result back
+ * without running the action again, while a different fingerprint is rejected.
+ * A retry that arrives while the original is still running waits for it, up to
+ * a limit. Only results the caller marks as recordable are kept, so a retry after
+ * a rejected attempt runs again. Entries expire after a fixed TTL and the oldest
+ * completed entries are evicted once the store is full; entries still running are
+ * never evicted, since their retries would otherwise run the action a second time.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration inFlightWait;
+    private final Clock clock;
+
+    // Insertion order equals expiry order because every entry gets the same TTL
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${booking.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${booking.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${booking.idempotency.in-flight-wait:PT10S}") Duration inFlightWait) {
+        this(maxEntries, ttl, inFlightWait, Clock.systemUTC());
+    }
+
+    IdempotencyStore(int maxEntries, Duration ttl, Duration inFlightWait, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.inFlightWait = inFlightWait;
+        this.clock = clock;
+    }
+
+    /**
+     * Run the action once per key and return the recorded result for retries
+     *
+     * @param key idempotency key, already scoped to the operation
+     * @param fingerprint digest of the request; a retry must carry the same one
+     * @param action action producing the result
+     * @param recordable whether a result is kept for retries
+     * @return result of the first recorded execution for this key
+     * @throws KeyReusedException if the key was used for a different request
+     * @throws InProgressException if the original request is still running after the wait limit
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action, Predicate<? super T> recordable) {
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), clock.instant().plus(ttl));
+        Entry existing;
+        synchronized (entries) {
+            evict(clock.instant());
+            existing = entries.putIfAbsent(key, entry);
+        }
+
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                throw new KeyReusedException("Idempotency key was already used for a different request");
+            }
+            return (T) awaitResult(existing);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            // Failed attempts are not recorded so the client can retry them
+            forget(key, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+        if (!recordable.test(result)) {
+            forget(key, entry);
+        }
+        // Retries already waiting get this result either way
+        entry.result().complete(result);
+        return result;
+    }
+
+    /**
+     * Run the action once per key, recording every result
+     *
+     * @param key idempotency key, already scoped to the operation
+     * @param fingerprint digest of the request; a retry must carry the same one
+     * @param action action producing the result
+     * @return result of the first execution for this key
+     */
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        return execute(key, fingerprint, action, result -> true);
+    }
+
+    /**
+     * Number of keys currently held
+     *
+     * @return entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Object awaitResult(Entry existing) {
+        try {
+            return existing.result().get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new InProgressException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InProgressException("A request with this idempotency key is still in progress");
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void evict(Instant now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            if (entries.size() < maxEntries && eldest.expiresAt().isAfter(now)) {
+                break;
+            }
+            // In-flight entries stay, so the store may exceed maxEntries by the number of running writes
+            if (eldest.result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, Instant expiresAt) {
+    }
+
+    /**
+     * Custom exception for an idempotency key reused with a different request
+     */
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Custom exception for a retry whose original request is still running
+     */
+    public static class InProgressException extends RuntimeException {
+        public InProgressException(String message) {
+            super(message);
+        }
+    }
+}
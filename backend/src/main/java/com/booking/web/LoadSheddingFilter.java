@@ -0,0 +1,77 @@
+package com.booking.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overload protection for the REST API.
+ *
+ * At most max-concurrent API requests run at a time; the rest wait in a fair
+ * queue. A request that has waited longer than max-queue-wait is shed with 503
+ * instead of adding to the backlog, so the pod answers quickly under overload
+ * rather than timing out every request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final boolean enabled;
+    private final long maxQueueWaitNanos;
+    private final Semaphore permits;
+
+    public LoadSheddingFilter(@Value("${booking.load-shedding.enabled:true}") boolean enabled,
+                              @Value("${booking.load-shedding.max-concurrent:64}") int maxConcurrent,
+                              @Value("${booking.load-shedding.max-queue-wait:PT0.2S}") Duration maxQueueWait) {
+        this.enabled = enabled;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire() || permits.tryAcquire(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.debug("Shedding {} {}: queue wait exceeded", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            RateLimitFilter.writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
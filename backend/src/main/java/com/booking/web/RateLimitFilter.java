@@ -0,0 +1,189 @@
+package com.booking.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-client rate limiting for the REST API.
+ *
+ * Clients are identified by {@link ClientIdentity}: a trusted X-API-Key or the
+ * remote address, so rotating made-up keys does not buy a fresh bucket. Each
+ * client gets two independent token buckets: one for the expensive collection
+ * reads (GET /api/bookings, GET /api/resources) and one for everything else,
+ * so a client polling full lists cannot exhaust its budget for item reads and
+ * writes. Rejected requests get 429 with Retry-After.
+ *
+ * Buckets live in a concurrent map, so looking up a known client takes no lock.
+ * When a new client pushes the map past max-clients, one request thread sweeps
+ * it: clients whose buckets have refilled completely are dropped first (they
+ * would get the same full buckets back), then the least recently seen ones,
+ * down to nine tenths of max-clients so sweeps stay rare under churn.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int listCapacity;
+    private final double listRefillPerSecond;
+    private final int itemCapacity;
+    private final double itemRefillPerSecond;
+    private final ClientIdentity clientIdentity;
+    private final int maxClients;
+    private final int sweepTarget;
+
+    private final ConcurrentHashMap<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public RateLimitFilter(@Value("${booking.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${booking.rate-limit.list.capacity:50}") int listCapacity,
+                           @Value("${booking.rate-limit.list.refill-per-second:10}") double listRefillPerSecond,
+                           @Value("${booking.rate-limit.item.capacity:200}") int itemCapacity,
+                           @Value("${booking.rate-limit.item.refill-per-second:100}") double itemRefillPerSecond,
+                           @Value("${booking.rate-limit.max-clients:10000}") int maxClients,
+                           ClientIdentity clientIdentity) {
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("maxClients must be positive");
+        }
+        this.enabled = enabled;
+        this.listCapacity = listCapacity;
+        this.listRefillPerSecond = listRefillPerSecond;
+        this.itemCapacity = itemCapacity;
+        this.itemRefillPerSecond = itemRefillPerSecond;
+        this.clientIdentity = clientIdentity;
+        this.maxClients = maxClients;
+        this.sweepTarget = maxClients - maxClients / 10;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        ClientBuckets client = bucketsFor(clientIdentity.of(request), now);
+        TokenBucket bucket = isCollectionRead(request) ? client.list() : client.item();
+
+        if (!bucket.tryAcquire(now)) {
+            long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(now)) + 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Write a JSON error body in the same shape the controllers use
+     */
+    static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    private boolean isCollectionRead(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        return uri.equals("/api/bookings") || uri.equals("/api/resources");
+    }
+
+    private ClientBuckets bucketsFor(String clientKey, long now) {
+        ClientBuckets client = clients.get(clientKey);
+        if (client == null) {
+            client = clients.computeIfAbsent(clientKey, key -> new ClientBuckets(
+                    new TokenBucket(listCapacity, listRefillPerSecond, now),
+                    new TokenBucket(itemCapacity, itemRefillPerSecond, now), now));
+            if (clients.size() > maxClients) {
+                sweep(client, now);
+            }
+        }
+        client.lastSeenNanos = now;
+        return client;
+    }
+
+    /**
+     * Shrink the table to the sweep target, keeping the client that triggered the
+     * sweep. Only one thread sweeps at a time; the others carry on, so the table
+     * may briefly hold a few more than max-clients.
+     */
+    private void sweep(ClientBuckets current, long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            clients.values().removeIf(client -> client != current && client.isIdle(now));
+            int excess = clients.size() - sweepTarget;
+            if (excess <= 0) {
+                return;
+            }
+            long[] lastSeen = clients.values().stream().mapToLong(client -> client.lastSeenNanos).sorted().toArray();
+            long cutoff = lastSeen[Math.min(excess, lastSeen.length) - 1];
+            Iterator<ClientBuckets> iterator = clients.values().iterator();
+            while (excess > 0 && iterator.hasNext()) {
+                ClientBuckets client = iterator.next();
+                if (client != current && client.lastSeenNanos - cutoff <= 0) {
+                    iterator.remove();
+                    excess--;
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Number of clients currently tracked
+     *
+     * @return client count
+     */
+    int trackedClients() {
+        return clients.size();
+    }
+
+    private static final class ClientBuckets {
+
+        private final TokenBucket list;
+        private final TokenBucket item;
+        private volatile long lastSeenNanos;
+
+        ClientBuckets(TokenBucket list, TokenBucket item, long nowNanos) {
+            this.list = list;
+            this.item = item;
+            this.lastSeenNanos = nowNanos;
+        }
+
+        TokenBucket list() {
+            return list;
+        }
+
+        TokenBucket item() {
+            return item;
+        }
+
+        boolean isIdle(long now) {
+            return list.isFull(now) && item.isFull(now);
+        }
+    }
+}
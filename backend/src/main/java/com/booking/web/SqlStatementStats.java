@@ -0,0 +1,81 @@
+package com.booking.web;
+
+/**
+ * JDBC work done on behalf of one HTTP request: statements, rows and time spent in JDBC.
+ *
+ * Bound to the request thread between {@link #begin()} and {@link #end()}; JDBC calls made
+ * on other threads or outside a request are not counted.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rowsRead;
+    private long rowsUpdated;
+    private long jdbcNanos;
+    private long queryStartNanos;
+
+    /**
+     * Start collecting for the current thread
+     * 
+     * @return new, empty stats
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the current thread
+     * 
+     * @return stats, or null when nothing is being collected
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting for the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void beforeQuery() {
+        queryStartNanos = System.nanoTime();
+    }
+
+    public void afterQuery(int statementCount, long updatedRows) {
+        jdbcNanos += System.nanoTime() - queryStartNanos;
+        statements += statementCount;
+        rowsUpdated += updatedRows;
+    }
+
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d statements, %d rows read, %d rows updated, %.1f ms JDBC",
+                statements, rowsRead, rowsUpdated, jdbcNanos / 1_000_000.0);
+    }
+}
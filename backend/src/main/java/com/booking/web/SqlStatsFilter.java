@@ -0,0 +1,88 @@
+package com.booking.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link SqlStatementStats} for each API request.
+ *
+ * The stats are logged at DEBUG (at INFO above the statement threshold, which usually means
+ * an N+1 pattern), recorded as per-endpoint metrics and left on the request under
+ * {@link #STATS_ATTRIBUTE} for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatsFilter.class.getName() + ".stats";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int statementWarnThreshold;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry,
+                          @Value("${booking.sql-stats.enabled:true}") boolean enabled,
+                          @Value("${booking.sql-stats.statement-warn-threshold:20}") int statementWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("booking.http.sql.statements")
+                .description("JDBC statements per API request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("booking.http.sql.time")
+                .description("Time spent in JDBC per API request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > statementWarnThreshold) {
+            log.info("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+        } else {
+            log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.booking.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Implemented in its GCRA form: instead of storing a token count and a refill
+ * timestamp, the bucket stores a single "theoretical arrival time" and moves it
+ * forward by one emission interval per accepted request. A request is rejected
+ * when that time runs further ahead of now than the burst capacity allows.
+ * Each acquire is one read and one CAS, so no locks are taken on the hot path.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param capacity maximum burst size in requests
+     * @param refillPerSecond sustained requests per second
+     * @param nowNanos current value of the nano clock
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token if available
+     *
+     * @param nowNanos current value of the nano clock
+     * @return true if the request is allowed
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Time until the next token becomes available
+     *
+     * @param nowNanos current value of the nano clock
+     * @return wait time in nanoseconds, 0 if a token is available now
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        long next = Math.max(theoreticalArrivalNanos.get(), nowNanos) + emissionIntervalNanos;
+        return Math.max(0L, next - nowNanos - burstToleranceNanos);
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. it holds no state worth keeping
+     *
+     * @param nowNanos current value of the nano clock
+     * @return true if the bucket is full
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+}
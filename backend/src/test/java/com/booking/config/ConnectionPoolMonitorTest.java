@@ -0,0 +1,150 @@
+package com.booking.config;
+
+import com.booking.config.ConnectionPoolMonitor.Saturation;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for pool saturation signals against a real single-connection Hikari pool on H2
+ */
+class ConnectionPoolMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:pool-monitor;DB_CLOSE_DELAY=-1");
+        config.setPoolName("test-pool");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(5000);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        dataSource = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void should_admit_when_poolIsIdle() throws Exception {
+        // Arrange
+        ConnectionPoolMonitor monitor = createMonitor(0, Duration.ofMillis(50));
+        try (Connection ignored = dataSource.getConnection()) {
+            // a fast acquire
+        }
+
+        // Act
+        Optional<Saturation> saturation = monitor.checkSaturation();
+
+        // Assert
+        assertThat(saturation).isEmpty();
+    }
+
+    @Test
+    void should_reportPending_when_threadsWaitForConnection() throws Exception {
+        // Arrange
+        ConnectionPoolMonitor monitor = createMonitor(0, Duration.ofSeconds(10));
+        CompletableFuture<Void> waiter;
+        Optional<Saturation> saturation;
+
+        // Act
+        try (Connection ignored = dataSource.getConnection()) {
+            waiter = CompletableFuture.runAsync(this::borrowConnection);
+            awaitPending(1);
+            saturation = monitor.checkSaturation();
+        }
+        waiter.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(saturation).hasValueSatisfying(s -> {
+            assertThat(s.pool()).isEqualTo("test-pool");
+            assertThat(s.reason()).isEqualTo(Saturation.Reason.PENDING);
+        });
+        assertThat(monitor.checkSaturation()).isEmpty();
+    }
+
+    @Test
+    void should_reportAcquireLatency_when_recentAcquiresWereSlow() throws Exception {
+        // Arrange
+        ConnectionPoolMonitor monitor = createMonitor(10, Duration.ofMillis(50));
+        assertThat(monitor.checkSaturation()).isEmpty();
+        CompletableFuture<Void> waiter;
+
+        // Act
+        try (Connection ignored = dataSource.getConnection()) {
+            waiter = CompletableFuture.runAsync(this::borrowConnection);
+            awaitPending(1);
+            Thread.sleep(200);
+        }
+        waiter.get(5, TimeUnit.SECONDS);
+        Optional<Saturation> saturation = monitor.checkSaturation();
+
+        // Assert
+        assertThat(saturation).hasValueSatisfying(s ->
+                assertThat(s.reason()).isEqualTo(Saturation.Reason.ACQUIRE_LATENCY));
+    }
+
+    @Test
+    void should_admitAgain_when_nextSampleHasFastAcquires() throws Exception {
+        // Arrange
+        ConnectionPoolMonitor monitor = createMonitor(10, Duration.ofMillis(50));
+        monitor.checkSaturation();
+        CompletableFuture<Void> waiter;
+        try (Connection ignored = dataSource.getConnection()) {
+            waiter = CompletableFuture.runAsync(this::borrowConnection);
+            awaitPending(1);
+            Thread.sleep(200);
+        }
+        waiter.get(5, TimeUnit.SECONDS);
+        assertThat(monitor.checkSaturation()).isPresent();
+
+        // Act
+        borrowConnection();
+        Optional<Saturation> saturation = monitor.checkSaturation();
+
+        // Assert
+        assertThat(saturation).isEmpty();
+    }
+
+    // ========== Helper Methods ==========
+
+    private ConnectionPoolMonitor createMonitor(int maxPending, Duration maxAcquireLatency) {
+        return new ConnectionPoolMonitor(() -> List.of(dataSource), meterRegistry,
+                maxPending, maxAcquireLatency, Duration.ZERO);
+    }
+
+    private void borrowConnection() {
+        try (Connection ignored = dataSource.getConnection()) {
+            // released immediately
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitPending(int threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() < threads) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.booking.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for read/write routing against two embedded H2 databases, each holding a marker row
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private MutableClock clock;
+    private String currentClient;
+    private ReplicaStalenessGuard stalenessGuard;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = createDatabase("primary");
+        DataSource replica = createDatabase("replica");
+        clock = new MutableClock(Instant.parse("2030-01-07T10:00:00Z"));
+        currentClient = "ip:10.0.0.1";
+        stalenessGuard = new ReplicaStalenessGuard(Duration.ofSeconds(1), clock,
+                () -> Optional.ofNullable(currentClient));
+
+        DataSource routing = ReadWriteRoutingConfig.routingDataSource(primary, replica, stalenessGuard);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void should_useReplica_when_transactionIsReadOnly() {
+        // Act
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertThat(database).isEqualTo("replica");
+    }
+
+    @Test
+    void should_usePrimary_when_transactionWrites() {
+        // Act
+        String database = writeTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertThat(database).isEqualTo("primary");
+    }
+
+    @Test
+    void should_usePrimary_when_noTransaction() {
+        // Act
+        String database = currentDatabase();
+
+        // Assert
+        assertThat(database).isEqualTo("primary");
+    }
+
+    @Test
+    void should_readFromPrimaryUntilStalenessWindowPasses_when_writeRecorded() {
+        // Arrange
+        stalenessGuard.recordWrite();
+
+        // Act
+        String justAfterWrite = readOnlyTransaction.execute(status -> currentDatabase());
+        clock.advance(Duration.ofMillis(1000));
+        String afterWindow = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertThat(justAfterWrite).isEqualTo("primary");
+        assertThat(afterWindow).isEqualTo("replica");
+    }
+
+    @Test
+    void should_keepOtherClientsOnReplica_when_oneClientWrote() {
+        // Arrange
+        stalenessGuard.recordWrite();
+
+        // Act
+        currentClient = "ip:10.0.0.2";
+        String otherClient = readOnlyTransaction.execute(status -> currentDatabase());
+        currentClient = null;
+        String background = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Assert
+        assertThat(otherClient).isEqualTo("replica");
+        assertThat(background).isEqualTo("replica");
+        assertThat(stalenessGuard.isReplicaPossiblyStale("ip:10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void should_pruneExpiredClients_when_laterWriteArrives() {
+        // Arrange
+        stalenessGuard.recordWrite("ip:10.0.0.1");
+        stalenessGuard.recordWrite("ip:10.0.0.2");
+        clock.advance(Duration.ofSeconds(2));
+
+        // Act
+        stalenessGuard.recordWrite("ip:10.0.0.3");
+
+        // Assert
+        assertThat(stalenessGuard.trackedClients()).isEqualTo(1);
+        assertThat(stalenessGuard.isReplicaPossiblyStale("ip:10.0.0.3")).isTrue();
+    }
+
+    // ========== Helper Methods ==========
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private DataSource createDatabase(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (name VARCHAR(16))");
+        setup.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.booking.config;
+
+import com.booking.dto.ResourceSummary;
+import com.booking.service.BookingService;
+import com.booking.service.BookingStatisticsService;
+import com.booking.service.IcsFeedService;
+import com.booking.service.ResourceService;
+import com.booking.service.WeeklyCalendarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WarmupRunner
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmupRunnerTest {
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private WeeklyCalendarService weeklyCalendarService;
+
+    @Mock
+    private IcsFeedService icsFeedService;
+
+    @Mock
+    private BookingStatisticsService statisticsService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_fillCachesOnce_when_roundsRun() {
+        // Arrange
+        when(resourceService.getAllResourceSummaries()).thenReturn(List.of(
+                new ResourceSummary(1L, "Room A", 10, true),
+                new ResourceSummary(2L, "Room B", 6, true)));
+
+        // Act
+        createRunner(3, Duration.ofMinutes(1)).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(resourceService, times(3)).getAllResourceSummaries();
+        verify(bookingService, times(3)).isResourceAvailable(eq(2L), any(), any());
+        verify(bookingService, times(3)).getBookingSummariesByResourceIdAndTimeRange(eq(1L), any(), any());
+        verify(bookingService, never()).getBookingSummariesByResourceId(any());
+        verify(statisticsService, times(1)).getStatistics(any(), any());
+        verify(weeklyCalendarService, times(1)).getWeek(any(), eq(null));
+        verify(icsFeedService, times(1)).getFeed(1L);
+        verify(icsFeedService, times(1)).getFeed(2L);
+        assertThat(meterRegistry.get("booking.warmup.rounds").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("booking.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_probeOffTheSlotGrid_when_checkingAvailability() {
+        // Arrange
+        when(resourceService.getAllResourceSummaries()).thenReturn(List.of(
+                new ResourceSummary(1L, "Room A", 10, true)));
+
+        // Act
+        createRunner(1, Duration.ofMinutes(1)).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(bookingService).isResourceAvailable(eq(1L),
+                argThat((LocalDateTime start) -> start.getMinute() % 15 != 0), any());
+    }
+
+    @Test
+    void should_stopWithoutFailing_when_roundThrows() {
+        // Arrange
+        when(resourceService.getAllResourceSummaries()).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        createRunner(5, Duration.ofMinutes(1)).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(resourceService, times(1)).getAllResourceSummaries();
+        verify(icsFeedService, never()).getFeed(any());
+        assertThat(meterRegistry.get("booking.warmup.rounds").gauge().value()).isZero();
+    }
+
+    @Test
+    void should_stopAtTimeBudget_when_roundsRemain() {
+        // Act
+        createRunner(Integer.MAX_VALUE, Duration.ZERO).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(resourceService, never()).getAllResourceSummaries();
+        assertThat(meterRegistry.get("booking.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_readNothing_when_warmupDisabled() {
+        // Act
+        createRunner(false, 5, Duration.ofMinutes(1)).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(resourceService, never()).getAllResourceSummaries();
+        assertThat(meterRegistry.find("booking.warmup.duration").timer()).isNull();
+    }
+
+    // ========== Helper Methods ==========
+
+    private WarmupRunner createRunner(int rounds, Duration maxDuration) {
+        return createRunner(true, rounds, maxDuration);
+    }
+
+    private WarmupRunner createRunner(boolean enabled, int rounds, Duration maxDuration) {
+        return new WarmupRunner(resourceService, bookingService, weeklyCalendarService, icsFeedService,
+                statisticsService, new ObjectMapper().findAndRegisterModules(), meterRegistry, enabled, rounds, maxDuration);
+    }
+}
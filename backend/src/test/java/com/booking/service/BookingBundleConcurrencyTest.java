@@ -0,0 +1,141 @@
+package com.booking.service;
+
+import com.booking.dto.OverlapAuditReport;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for concurrent overlapping bundles against the real database.
+ * Bundles list their resources in random order; ordered locking must keep them
+ * deadlock-free and every bundle must be all-or-nothing. The overlap auditor (with tiny
+ * chunks, to cross chunk boundaries) must then find the table overlap-free.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:bundle-stress;LOCK_TIMEOUT=10000",
+                "booking.audit.chunk-size=3"})
+class BookingBundleConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int BUNDLES_PER_SLOT = 24;
+    private static final int SLOTS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private BookingOverlapAuditor overlapAuditor;
+
+    private List<Long> resourceIds;
+
+    @BeforeEach
+    void setUp() {
+        resourceIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Resource resource = new Resource();
+            resource.setName("バンドル検証" + i + "-" + System.nanoTime());
+            resource.setCapacity(10);
+            resource.setAvailable(true);
+            resourceIds.add(resourceRepository.save(resource).getId());
+        }
+    }
+
+    @Test
+    void should_keepBundlesAtomicAndDeadlockFree_when_overlappingBundlesRunConcurrently() throws Exception {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2030, 1, 7, 9, 0);
+        List<Callable<List<Booking>>> tasks = new ArrayList<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            LocalDateTime start = base.plusHours(slot);
+            for (int i = 0; i < BUNDLES_PER_SLOT; i++) {
+                List<Long> bundle = randomBundle();
+                tasks.add(() -> {
+                    try {
+                        return bookingService.createBookingBundle(bundle, createTemplate(start));
+                    } catch (BookingService.BookingConflictException e) {
+                        return List.of();
+                    }
+                });
+            }
+        }
+        Collections.shuffle(tasks);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<List<Booking>>> futures;
+        try {
+            futures = executor.invokeAll(tasks, 60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        int created = 0;
+        for (Future<List<Booking>> future : futures) {
+            // A deadlock or lock timeout would surface here as a cancelled or failed task
+            assertThat(future.isCancelled()).isFalse();
+            created += future.get().size();
+        }
+
+        // Assert
+        List<Booking> stored = resourceIds.stream()
+                .flatMap(id -> bookingRepository.findByResourceId(id).stream())
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
+                .toList();
+        assertThat(stored).hasSize(created);
+        Map<String, Long> perResourceAndSlot = stored.stream()
+                .collect(Collectors.groupingBy(
+                        booking -> booking.getResourceId() + "@" + booking.getStartTime(),
+                        Collectors.counting()));
+        assertThat(perResourceAndSlot.values()).allMatch(count -> count == 1);
+        assertThat(stored.stream().map(Booking::getStartTime).distinct()).hasSize(SLOTS);
+        OverlapAuditReport audit = overlapAuditor.audit();
+        assertThat(audit.bookingsScanned()).isGreaterThanOrEqualTo(created);
+        assertThat(audit.overlappingPairs()).isZero();
+    }
+
+    // ========== Helper Methods ==========
+
+    private List<Long> randomBundle() {
+        List<Long> shuffled = new ArrayList<>(resourceIds);
+        Collections.shuffle(shuffled);
+        return shuffled.subList(0, 2 + ThreadLocalRandom.current().nextInt(2));
+    }
+
+    private Booking createTemplate(LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setCustomerName("Bundle Tester");
+        booking.setCustomerEmail("bundle@example.com");
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,152 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that BookingService emits its flight recorder events with the expected fields
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingFlightEventsTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SlotOccupancyIndex occupancyIndex;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    @TempDir
+    Path tempDir;
+
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable("com.booking.ConflictCheck");
+        recording.enable("com.booking.ResourceLock");
+        recording.enable("com.booking.BookingSave");
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void should_recordLockConflictCheckAndSave_when_createBooking() throws Exception {
+        // Arrange
+        Booking booking = createTestBooking();
+        when(resourceRepository.lockAllByIdIn(List.of(3L))).thenReturn(List.of(new Resource()));
+        when(bookingRepository.findConflictingBookings(eq(3L), any(), any(), anyList())).thenReturn(List.of());
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        // Act
+        bookingService.createBooking(booking);
+        List<RecordedEvent> events = stopAndRead();
+
+        // Assert
+        RecordedEvent lock = single(events, "com.booking.ResourceLock");
+        assertThat(lock.getString("operation")).isEqualTo("create");
+        assertThat(lock.getString("resourceIds")).isEqualTo("[3]");
+        assertThat(lock.getInt("resourceCount")).isEqualTo(1);
+
+        RecordedEvent check = single(events, "com.booking.ConflictCheck");
+        assertThat(check.getString("resourceIds")).isEqualTo("3");
+        assertThat(check.getInt("rowsScanned")).isZero();
+        assertThat(check.getBoolean("conflict")).isFalse();
+
+        RecordedEvent save = single(events, "com.booking.BookingSave");
+        assertThat(save.getLong("resourceId")).isEqualTo(3L);
+        assertThat(save.getInt("bookings")).isEqualTo(1);
+    }
+
+    @Test
+    void should_recordConflict_when_createBookingConflicts() throws Exception {
+        // Arrange
+        Booking booking = createTestBooking();
+        Booking existing = createTestBooking();
+        existing.setId(9L);
+        when(bookingRepository.findConflictingBookings(eq(3L), any(), any(), anyList()))
+                .thenReturn(List.of(existing));
+
+        // Act
+        assertThatThrownBy(() -> bookingService.createBooking(booking))
+                .isInstanceOf(BookingService.BookingConflictException.class);
+        List<RecordedEvent> events = stopAndRead();
+
+        // Assert
+        RecordedEvent check = single(events, "com.booking.ConflictCheck");
+        assertThat(check.getInt("rowsScanned")).isEqualTo(1);
+        assertThat(check.getBoolean("conflict")).isTrue();
+        assertThat(events).noneMatch(event -> event.getEventType().getName().equals("com.booking.BookingSave"));
+    }
+
+    // ========== Helper Methods ==========
+
+    private List<RecordedEvent> stopAndRead() throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("booking.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertThat(matching).as(name).hasSize(1);
+        return matching.get(0);
+    }
+
+    private Booking createTestBooking() {
+        Booking booking = new Booking();
+        booking.setResourceId(3L);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(LocalDateTime.of(2030, 1, 7, 10, 0));
+        booking.setEndTime(LocalDateTime.of(2030, 1, 7, 12, 0));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
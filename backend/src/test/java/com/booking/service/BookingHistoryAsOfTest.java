@@ -0,0 +1,173 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingHistory;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Point-in-time queries over the booking history written by real booking transactions
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:booking-history",
+                "booking.warmup.enabled=false"})
+class BookingHistoryAsOfTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingHistoryService historyService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private Long roomA;
+    private Long roomB;
+
+    @BeforeEach
+    void setUp() {
+        roomA = createResource("履歴検証A");
+        roomB = createResource("履歴検証B");
+    }
+
+    @Test
+    void should_reconstructSchedule_when_bookingsMovedCancelledAndDeleted() throws Exception {
+        // Arrange
+        Booking moved = bookingService.createBooking(createBooking(roomA, BASE));
+        Booking cancelled = bookingService.createBooking(createBooking(roomA, BASE.plusHours(2)));
+        Booking deleted = bookingService.createBooking(createBooking(roomA, BASE.plusHours(4)));
+        LocalDateTime afterCreates = tick();
+
+        Booking details = moved.snapshot();
+        details.setResourceId(roomB);
+        bookingService.updateBooking(moved.getId(), details);
+        bookingService.cancelBooking(cancelled.getId());
+        bookingService.deleteBooking(deleted.getId());
+        LocalDateTime afterChanges = tick();
+
+        // Act
+        List<BookingHistory> before = historyService.getResourceScheduleAsOf(roomA, afterCreates, null, null);
+        List<BookingHistory> after = historyService.getResourceScheduleAsOf(roomA, afterChanges, null, null);
+        List<BookingHistory> roomBAfter = historyService.getResourceScheduleAsOf(roomB, afterChanges, null, null);
+
+        // Assert
+        assertThat(before).extracting(BookingHistory::getBookingId)
+                .containsExactly(moved.getId(), cancelled.getId(), deleted.getId());
+        assertThat(after).extracting(BookingHistory::getBookingId, BookingHistory::getStatus)
+                .containsExactly(tuple(cancelled.getId(), BookingStatus.CANCELLED));
+        assertThat(roomBAfter).extracting(BookingHistory::getBookingId).containsExactly(moved.getId());
+    }
+
+    @Test
+    void should_returnVersionValidAtTime_when_bookingChangedSeveralTimes() throws Exception {
+        // Arrange
+        Booking booking = bookingService.createBooking(createBooking(roomA, BASE));
+        LocalDateTime beforeCreate = booking.getCreatedAt().minusSeconds(1);
+        LocalDateTime asCreated = tick();
+        Booking details = booking.snapshot();
+        details.setNotes("first change");
+        bookingService.updateBooking(booking.getId(), details);
+        LocalDateTime asChanged = tick();
+        bookingService.deleteBooking(booking.getId());
+        LocalDateTime asDeleted = tick();
+
+        // Act & Assert
+        assertThat(historyService.getBookingAsOf(booking.getId(), beforeCreate)).isEmpty();
+        assertThat(historyService.getBookingAsOf(booking.getId(), asCreated))
+                .hasValueSatisfying(version -> assertThat(version.getNotes()).isNull());
+        assertThat(historyService.getBookingAsOf(booking.getId(), asChanged))
+                .hasValueSatisfying(version -> assertThat(version.getNotes()).isEqualTo("first change"));
+        assertThat(historyService.getBookingAsOf(booking.getId(), asDeleted)).isEmpty();
+        List<BookingHistory> versions = historyService.getHistory(booking.getId());
+        assertThat(versions)
+                .extracting(BookingHistory::getVersion, BookingHistory::getChangeType)
+                .containsExactly(
+                        tuple(0L, "CREATED"),
+                        tuple(1L, "UPDATED"),
+                        tuple(2L, "DELETED"));
+        assertThat(versions.get(0).getValidTo()).isEqualTo(versions.get(1).getValidFrom());
+        assertThat(versions.get(1).getValidTo()).isEqualTo(versions.get(2).getValidFrom());
+        assertThat(versions.get(2).getValidTo()).isNull();
+    }
+
+    @Test
+    void should_limitScheduleToWindow_when_windowGiven() throws Exception {
+        // Arrange
+        bookingService.createBooking(createBooking(roomA, BASE));
+        Booking later = bookingService.createBooking(createBooking(roomA, BASE.plusDays(1)));
+        LocalDateTime asOf = tick();
+
+        // Act
+        List<BookingHistory> schedule = historyService.getResourceScheduleAsOf(
+                roomA, asOf, BASE.plusDays(1), BASE.plusDays(2));
+
+        // Assert
+        assertThat(schedule).extracting(BookingHistory::getBookingId).containsExactly(later.getId());
+    }
+
+    @Test
+    void should_keepVersionsInStep_when_bulkCancelRuns() throws Exception {
+        // Arrange
+        Booking first = bookingService.createBooking(createBooking(roomA, BASE));
+        Booking second = bookingService.createBooking(createBooking(roomA, BASE.plusHours(1)));
+
+        // Act
+        bookingService.cancelBookingsByResourceAndTimeRange(roomA, BASE, BASE.plusHours(2));
+        LocalDateTime asOf = tick();
+
+        // Assert
+        for (Booking booking : List.of(first, second)) {
+            BookingHistory latest = historyService.getBookingAsOf(booking.getId(), asOf).orElseThrow();
+            assertThat(latest.getVersion()).isEqualTo(bookingService.getBookingById(booking.getId())
+                    .orElseThrow().getVersion());
+            assertThat(latest.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * A point in time strictly between the writes before and after it
+     */
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private Long createResource(String name) {
+        Resource resource = new Resource();
+        resource.setName(name + "-" + System.nanoTime());
+        resource.setCapacity(10);
+        resource.setAvailable(true);
+        return resourceRepository.save(resource).getId();
+    }
+
+    private Booking createBooking(Long resourceId, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setResourceId(resourceId);
+        booking.setCustomerName("History Tester");
+        booking.setCustomerEmail("history@example.com");
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,256 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingHistory;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookingHistoryService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingHistoryServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Mock
+    private BookingHistoryRepository historyRepository;
+
+    private MutableClock clock;
+    private BookingHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T09:00:00Z"));
+        historyService = new BookingHistoryService(historyRepository, clock);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(historyService);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void should_appendVersionZero_when_bookingCreated() {
+        // Arrange
+        Booking created = createTestBooking(0L, BookingStatus.PENDING);
+
+        // Act
+        historyService.onBookingChanged(BookingChangedEvent.created(created));
+
+        // Assert
+        BookingHistory history = captureSaved();
+        assertThat(history.getBookingId()).isEqualTo(1L);
+        assertThat(history.getVersion()).isZero();
+        assertThat(history.getChangeType()).isEqualTo("CREATED");
+        assertThat(history.getValidFrom()).isEqualTo(LocalDateTime.of(2030, 1, 1, 9, 0));
+        assertThat(history.getStatus()).isEqualTo(BookingStatus.PENDING);
+    }
+
+    @Test
+    void should_appendNextVersion_when_bookingUpdatedBeforeFlush() {
+        // Arrange: the event carries the version the entity had before the flush increments it
+        Booking previous = createTestBooking(3L, BookingStatus.PENDING);
+        Booking current = createTestBooking(3L, BookingStatus.CONFIRMED);
+        clock.advance(Duration.ofHours(1));
+
+        // Act
+        historyService.onBookingChanged(BookingChangedEvent.updated(previous, current));
+
+        // Assert
+        BookingHistory history = captureSaved();
+        assertThat(history.getVersion()).isEqualTo(4L);
+        assertThat(history.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(history.getValidFrom()).isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 0));
+    }
+
+    @Test
+    void should_closePreviousVersion_when_nextVersionAppended() {
+        // Arrange
+        clock.advance(Duration.ofHours(2));
+        historyService.onBookingChanged(BookingChangedEvent.updated(
+                createTestBooking(3L, BookingStatus.PENDING), createTestBooking(3L, BookingStatus.CONFIRMED)));
+
+        // Act
+        commit();
+
+        // Assert
+        BookingHistory appended = captureSaved();
+        verify(historyRepository).closeVersions(List.of(1L), Collections.singletonList(appended.getId()),
+                LocalDateTime.of(2030, 1, 1, 11, 0));
+        assertThat(appended.getValidTo()).isNull();
+    }
+
+    @Test
+    void should_closeNothing_when_bookingCreated() {
+        // Arrange
+        historyService.onBookingChanged(BookingChangedEvent.created(createTestBooking(0L, BookingStatus.PENDING)));
+
+        // Act
+        commit();
+
+        // Assert
+        verify(historyRepository, never()).closeVersions(any(), any(), any());
+    }
+
+    @Test
+    void should_closeEarlierVersionInMemory_when_bookingWrittenTwiceInTransaction() {
+        // Arrange
+        historyService.onBookingChanged(BookingChangedEvent.created(createTestBooking(0L, BookingStatus.PENDING)));
+        clock.advance(Duration.ofMinutes(1));
+
+        // Act
+        historyService.onBookingChanged(BookingChangedEvent.updated(
+                createTestBooking(0L, BookingStatus.PENDING), createTestBooking(0L, BookingStatus.CONFIRMED)));
+        commit();
+
+        // Assert: both versions are valid from the transaction's first write; the first never was visible
+        ArgumentCaptor<BookingHistory> captor = ArgumentCaptor.forClass(BookingHistory.class);
+        verify(historyRepository, times(2)).save(captor.capture());
+        BookingHistory first = captor.getAllValues().get(0);
+        BookingHistory second = captor.getAllValues().get(1);
+        assertThat(second.getValidFrom()).isEqualTo(first.getValidFrom());
+        assertThat(first.getValidTo()).isEqualTo(second.getValidFrom());
+        assertThat(second.getValidTo()).isNull();
+        verify(historyRepository, never()).closeVersions(any(), any(), any());
+    }
+
+    @Test
+    void should_appendNothing_when_updateChangesNothing() {
+        // Arrange
+        Booking previous = createTestBooking(2L, BookingStatus.CANCELLED);
+        Booking current = createTestBooking(2L, BookingStatus.CANCELLED);
+
+        // Act
+        historyService.onBookingChanged(BookingChangedEvent.cancelled(previous, current));
+
+        // Assert
+        verify(historyRepository, never()).save(any());
+    }
+
+    @Test
+    void should_appendDeletedVersionWithLastState_when_bookingDeleted() {
+        // Arrange
+        Booking previous = createTestBooking(5L, BookingStatus.CONFIRMED);
+
+        // Act
+        historyService.onBookingChanged(BookingChangedEvent.deleted(previous));
+
+        // Assert
+        BookingHistory history = captureSaved();
+        assertThat(history.getVersion()).isEqualTo(6L);
+        assertThat(history.getChangeType()).isEqualTo("DELETED");
+        assertThat(history.getResourceId()).isEqualTo(1L);
+        assertThat(history.getStartTime()).isEqualTo(START);
+    }
+
+    @Test
+    void should_returnEmpty_when_bookingWasDeletedAtThatTime() {
+        // Arrange
+        BookingHistory deleted = new BookingHistory();
+        deleted.setChangeType("DELETED");
+        LocalDateTime asOf = LocalDateTime.of(2030, 1, 2, 0, 0);
+        when(historyRepository.findAsOf(1L, asOf)).thenReturn(Optional.of(deleted));
+
+        // Act
+        Optional<BookingHistory> result = historyService.getBookingAsOf(1L, asOf);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void should_throwException_when_scheduleWindowIsEmpty() {
+        // Act & Assert
+        assertThatThrownBy(() -> historyService.getResourceScheduleAsOf(1L, START, START, START))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Start time must be before end time");
+
+        verify(historyRepository, never()).findResourceScheduleAsOf(any(), any(), any(), any());
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private BookingHistory captureSaved() {
+        ArgumentCaptor<BookingHistory> captor = ArgumentCaptor.forClass(BookingHistory.class);
+        verify(historyRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private Booking createTestBooking(Long version, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setResourceId(1L);
+        booking.setCustomerName("テストユーザー");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(START);
+        booking.setEndTime(START.plusHours(1));
+        booking.setStatus(status);
+        booking.setVersion(version);
+        return booking;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.booking.service;
+
+import com.booking.dto.BookingSummary;
+import com.booking.dto.OverlapAuditReport;
+import com.booking.dto.OverlapPair;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookingOverlapAuditor
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingOverlapAuditorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> stubbedResourceIds = List.of();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_reportNothing_when_bookingsOnlyTouch() {
+        // Arrange
+        stubBookings(1L,
+                createTestSummary(1L, 1L, 0, 60),
+                createTestSummary(2L, 1L, 60, 120),
+                createTestSummary(3L, 1L, 120, 180));
+
+        // Act
+        OverlapAuditReport report = createAuditor(2, 100).audit();
+
+        // Assert
+        assertThat(report.bookingsScanned()).isEqualTo(3);
+        assertThat(report.overlappingPairs()).isZero();
+        assertThat(report.pairs()).isEmpty();
+    }
+
+    @Test
+    void should_reportEveryPair_when_bookingsOverlapAcrossChunks() {
+        // Arrange: 1 overlaps 2 and 3, 2 overlaps 3, 4 overlaps nothing
+        stubBookings(1L,
+                createTestSummary(1L, 1L, 0, 120),
+                createTestSummary(2L, 1L, 30, 90),
+                createTestSummary(3L, 1L, 60, 150),
+                createTestSummary(4L, 1L, 150, 200));
+
+        // Act
+        OverlapAuditReport report = createAuditor(2, 100).audit();
+
+        // Assert
+        assertThat(report.overlappingPairs()).isEqualTo(3);
+        assertThat(report.pairs()).extracting(OverlapPair::firstBookingId, OverlapPair::secondBookingId)
+                .containsExactly(
+                        tuple(1L, 2L),
+                        tuple(1L, 3L),
+                        tuple(2L, 3L));
+        assertThat(report.pairs().get(1).overlapStart()).isEqualTo(BASE.plusMinutes(60));
+        assertThat(report.pairs().get(1).overlapEnd()).isEqualTo(BASE.plusMinutes(120));
+        assertThat(report.truncated()).isFalse();
+    }
+
+    @Test
+    void should_notPairBookingWithItself_when_movedBetweenChunks() {
+        // Arrange: booking 2 is read in the first chunk, then moved to a later start and read again
+        BookingSummary first = createTestSummary(1L, 1L, 0, 60);
+        BookingSummary moved = createTestSummary(2L, 1L, 10, 130);
+        BookingSummary movedAgain = createTestSummary(2L, 1L, 120, 200);
+        when(bookingRepository.findResourceIdsByStatusIn(anyList())).thenReturn(List.of(1L));
+        when(bookingRepository.findSummariesByResourceIdAndStatusIn(eq(1L), anyList(), any()))
+                .thenReturn(List.of(first, moved));
+        when(bookingRepository.findSummariesByResourceIdAfter(eq(1L), anyList(), any(), any(), any()))
+                .thenReturn(List.of(movedAgain));
+
+        // Act
+        OverlapAuditReport report = createAuditor(2, 100).audit();
+
+        // Assert
+        assertThat(report.overlappingPairs()).isEqualTo(1);
+        assertThat(report.pairs()).extracting(OverlapPair::firstBookingId, OverlapPair::secondBookingId)
+                .containsExactly(tuple(1L, 2L));
+        assertThat(report.bookingsScanned()).isEqualTo(2);
+    }
+
+    @Test
+    void should_keepReport_when_auditStartedInBackground() {
+        // Arrange
+        stubBookings(1L, createTestSummary(1L, 1L, 0, 60), createTestSummary(2L, 1L, 30, 90));
+        BookingOverlapAuditor auditor = createAuditor(10, 100);
+
+        // Act
+        auditor.startAudit();
+
+        // Assert
+        assertThat(auditor.isRunning()).isFalse();
+        assertThat(auditor.getLastReport())
+                .hasValueSatisfying(report -> assertThat(report.overlappingPairs()).isEqualTo(1));
+    }
+
+    @Test
+    void should_auditResourcesIndependently_when_sameTimesOnDifferentResources() {
+        // Arrange
+        stubBookings(1L, createTestSummary(1L, 1L, 0, 60));
+        stubBookings(2L, createTestSummary(2L, 2L, 0, 60), createTestSummary(3L, 2L, 0, 60));
+
+        // Act
+        OverlapAuditReport report = createAuditor(10, 100).audit();
+
+        // Assert
+        assertThat(report.resourcesScanned()).isEqualTo(2);
+        assertThat(report.pairs()).singleElement()
+                .satisfies(pair -> assertThat(pair.resourceId()).isEqualTo(2L));
+    }
+
+    @Test
+    void should_countAllButListLimitedPairs_when_tooManyOverlaps() {
+        // Arrange: 4 bookings at the same time form 6 pairs
+        stubBookings(1L,
+                createTestSummary(1L, 1L, 0, 60),
+                createTestSummary(2L, 1L, 0, 60),
+                createTestSummary(3L, 1L, 0, 60),
+                createTestSummary(4L, 1L, 0, 60));
+
+        // Act
+        OverlapAuditReport report = createAuditor(3, 2).audit();
+
+        // Assert
+        assertThat(report.overlappingPairs()).isEqualTo(6);
+        assertThat(report.pairs()).hasSize(2);
+        assertThat(report.truncated()).isTrue();
+    }
+
+    @Test
+    void should_publishMetricsAndKeepReport_when_auditCompleted() {
+        // Arrange
+        stubBookings(1L, createTestSummary(1L, 1L, 0, 60), createTestSummary(2L, 1L, 30, 90));
+        BookingOverlapAuditor auditor = createAuditor(10, 100);
+
+        // Act
+        OverlapAuditReport report = auditor.audit();
+
+        // Assert
+        assertThat(auditor.getLastReport()).contains(report);
+        assertThat(meterRegistry.get("booking.audit.overlapping.pairs").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("booking.audit.bookings.scanned").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("booking.audit.duration").timer().count()).isEqualTo(1);
+    }
+
+    // ========== Helper Methods ==========
+
+    private BookingOverlapAuditor createAuditor(int chunkSize, int maxReportedPairs) {
+        return new BookingOverlapAuditor(bookingRepository, transactionManager, meterRegistry,
+                chunkSize, 2, maxReportedPairs, Runnable::run);
+    }
+
+    /**
+     * Serve the bookings of a resource through the keyset query like the database would
+     */
+    private void stubBookings(Long resourceId, BookingSummary... bookings) {
+        List<Long> resourceIds = new ArrayList<>(stubbedResourceIds);
+        resourceIds.add(resourceId);
+        stubbedResourceIds = resourceIds;
+        when(bookingRepository.findResourceIdsByStatusIn(anyList())).thenAnswer(invocation -> stubbedResourceIds);
+
+        List<BookingSummary> sorted = new ArrayList<>(List.of(bookings));
+        sorted.sort(Comparator.comparing(BookingSummary::startTime).thenComparing(BookingSummary::id));
+        when(bookingRepository.findSummariesByResourceIdAndStatusIn(eq(resourceId), anyList(), any()))
+                .thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    return sorted.stream().limit(pageable.getPageSize()).toList();
+                });
+        // Only reached when the bookings fill more than one chunk
+        lenient().when(bookingRepository.findSummariesByResourceIdAfter(eq(resourceId), anyList(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime afterStart = invocation.getArgument(2);
+                    Long afterId = invocation.getArgument(3);
+                    Pageable pageable = invocation.getArgument(4);
+                    return sorted.stream()
+                            .filter(b -> b.startTime().isAfter(afterStart)
+                                    || (b.startTime().equals(afterStart) && b.id() > afterId))
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+    }
+
+
+    private BookingSummary createTestSummary(Long id, Long resourceId, int startMinute, int endMinute) {
+        return new BookingSummary(id, resourceId, BASE.plusMinutes(startMinute), BASE.plusMinutes(endMinute),
+                BookingStatus.CONFIRMED);
+    }
+}
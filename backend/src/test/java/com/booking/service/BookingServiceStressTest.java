@@ -0,0 +1,287 @@
+package com.booking.service;
+
+import com.booking.dto.OverlapAuditReport;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.CustomerBookingCountRepository;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for concurrent create/update/cancel/delete mixes against the real JPA stack.
+ *
+ * Every thread draws its operations from a Random seeded with {@code booking.stress.seed} (set
+ * the system property to replay a failing run) and its thread number. Bookings start on a
+ * half-hour grid with lengths of one to four half-hours over a few resources, so most operations
+ * contend. Updates are read-modify-write with the version read, and each successful one appends a
+ * unique token to the notes. Afterwards no two active bookings of a resource may overlap, and
+ * every booking's notes must hold exactly the tokens of its successful updates: a lost update
+ * would drop a token. All bookings belong to one customer with a small quota, whose counter
+ * must end equal to the customer's active bookings and within the quota.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:booking-stress;LOCK_TIMEOUT=10000",
+                "booking.warmup.enabled=false",
+                "booking.quota.max-active-per-customer=" + BookingServiceStressTest.QUOTA,
+                // SQL logging would dominate the throughput numbers
+                "spring.jpa.show-sql=false",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.com.booking=INFO"})
+class BookingServiceStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingServiceStressTest.class);
+
+    private static final long SEED = Long.getLong("booking.stress.seed", 20300107L);
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 100;
+    private static final int RESOURCES = 3;
+    private static final int HALF_HOURS = 24;
+    private static final int INITIAL_BOOKINGS = 12;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 2, 4, 8, 0);
+    static final int QUOTA = 16;
+    private static final String CUSTOMER = "stress@example.com";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private BookingOverlapAuditor overlapAuditor;
+
+    @Autowired
+    private CustomerBookingCountRepository countRepository;
+
+    private List<Long> resourceIds;
+    private List<Long> bookingIds;
+    private Map<Long, List<String>> appliedTokens;
+
+    private enum Operation { CREATE, UPDATE, CANCEL, DELETE }
+
+    private enum Outcome { APPLIED, CONFLICT, QUOTA, STALE, NOT_FOUND }
+
+    @BeforeEach
+    void setUp() {
+        resourceIds = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("ストレス検証" + i + "-" + System.nanoTime());
+            resource.setCapacity(10);
+            resource.setAvailable(true);
+            resourceIds.add(resourceRepository.save(resource).getId());
+        }
+        bookingIds = new CopyOnWriteArrayList<>();
+        appliedTokens = new ConcurrentHashMap<>();
+
+        // Non-overlapping starting set, so updates, cancels and deletes have targets from the first operation
+        for (int i = 0; i < INITIAL_BOOKINGS; i++) {
+            LocalDateTime start = BASE.plusHours(2L * (i / RESOURCES));
+            bookingIds.add(bookingService.createBooking(
+                    createBooking(resourceIds.get(i % RESOURCES), start, start.plusHours(1))).getId());
+        }
+    }
+
+    @Test
+    void should_keepInvariants_when_randomOperationsRunConcurrently() throws Exception {
+        // Arrange
+        Map<Operation, Map<Outcome, AtomicInteger>> outcomes = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Map<Outcome, AtomicInteger> counts = new EnumMap<>(Outcome.class);
+            Arrays.stream(Outcome.values()).forEach(outcome -> counts.put(outcome, new AtomicInteger()));
+            outcomes.put(operation, counts);
+        }
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(() -> {
+                Random random = new Random(SEED * 31 + thread);
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Operation operation = nextOperation(random);
+                    Outcome outcome = run(operation, random, "t" + thread + "." + i);
+                    outcomes.get(operation).get(outcome).incrementAndGet();
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        long started = System.nanoTime();
+        List<Future<Void>> futures;
+        try {
+            futures = executor.invokeAll(workers, 120, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        for (Future<Void> future : futures) {
+            // A deadlock, lock timeout or unexpected exception would surface here
+            assertThat(future.isCancelled()).as("seed %d", SEED).isFalse();
+            future.get();
+        }
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        log.info("Stress run (seed {}): {} operations on {} threads in {} ms, {} ops/s, outcomes {}",
+                SEED, operations, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(operations / (elapsedNanos / 1e9)), outcomes);
+
+        // Assert
+        List<Booking> stored = resourceIds.stream()
+                .flatMap(id -> bookingRepository.findByResourceId(id).stream())
+                .toList();
+        assertNoOverlaps(stored);
+        OverlapAuditReport audit = overlapAuditor.audit();
+        assertThat(audit.overlappingPairs()).as("seed %d", SEED).isZero();
+
+        for (Booking booking : stored) {
+            List<String> tokens = appliedTokens.getOrDefault(booking.getId(), List.of());
+            assertThat(tokensOf(booking)).as("updates of booking %d, seed %d", booking.getId(), SEED)
+                    .containsExactlyInAnyOrderElementsOf(tokens);
+            assertThat(booking.getVersion()).as("version of booking %d, seed %d", booking.getId(), SEED)
+                    .isGreaterThanOrEqualTo(tokens.size());
+        }
+        long active = stored.stream().filter(BookingChangedEvent::isActive).count();
+        assertThat(active).as("active bookings of the customer, seed %d", SEED).isLessThanOrEqualTo(QUOTA);
+        assertThat(countRepository.findById(CUSTOMER)).as("customer counter, seed %d", SEED)
+                .hasValueSatisfying(counter -> assertThat(counter.getActiveCount()).isEqualTo(active));
+        assertThat(outcomes.get(Operation.UPDATE).get(Outcome.APPLIED).get()).isPositive();
+        assertThat(outcomes.get(Operation.CREATE).get(Outcome.CONFLICT).get()).isPositive();
+    }
+
+    // ========== Helper Methods ==========
+
+    private Operation nextOperation(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 35) {
+            return Operation.CREATE;
+        }
+        if (roll < 75) {
+            return Operation.UPDATE;
+        }
+        return roll < 92 ? Operation.CANCEL : Operation.DELETE;
+    }
+
+    private Outcome run(Operation operation, Random random, String token) {
+        try {
+            switch (operation) {
+                case CREATE -> create(random);
+                case UPDATE -> update(pickBooking(random), random, token);
+                case CANCEL -> bookingService.cancelBooking(pickBooking(random));
+                case DELETE -> bookingService.deleteBooking(pickBooking(random));
+            }
+            return Outcome.APPLIED;
+        } catch (BookingService.BookingConflictException e) {
+            return Outcome.CONFLICT;
+        } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+            return Outcome.QUOTA;
+        } catch (OptimisticLockingFailureException e) {
+            return Outcome.STALE;
+        } catch (BookingService.BookingNotFoundException e) {
+            return Outcome.NOT_FOUND;
+        }
+    }
+
+    private void create(Random random) {
+        Booking booking = createBooking(resourceIds.get(random.nextInt(RESOURCES)), BASE, BASE);
+        setRandomTime(booking, random);
+        booking.setStatus(random.nextBoolean() ? BookingStatus.CONFIRMED : BookingStatus.PENDING);
+        bookingIds.add(bookingService.createBooking(booking).getId());
+    }
+
+    private Booking createBooking(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setResourceId(resourceId);
+        booking.setCustomerName("Stress Tester");
+        booking.setCustomerEmail(CUSTOMER);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setNotes("");
+        return booking;
+    }
+
+    /**
+     * Read the booking, change it as a client editing it would, and send it back with the version read
+     */
+    private void update(Long id, Random random, String token) {
+        Booking details = bookingRepository.findById(id)
+                .orElseThrow(() -> new BookingService.BookingNotFoundException("Booking not found with id: " + id));
+        details.setNotes(details.getNotes() + token + ";");
+        int change = random.nextInt(4);
+        if (change == 0) {
+            setRandomTime(details, random);
+        } else if (change == 1) {
+            details.setResourceId(resourceIds.get(random.nextInt(RESOURCES)));
+        } else if (change == 2) {
+            details.setStatus(BookingStatus.CONFIRMED);
+        }
+        bookingService.updateBooking(id, details);
+        appliedTokens.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(token);
+    }
+
+    private Long pickBooking(Random random) {
+        return bookingIds.get(random.nextInt(bookingIds.size()));
+    }
+
+    private void setRandomTime(Booking booking, Random random) {
+        LocalDateTime start = BASE.plusMinutes(30L * random.nextInt(HALF_HOURS));
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusMinutes(30L * (1 + random.nextInt(4))));
+    }
+
+    private static List<String> tokensOf(Booking booking) {
+        return Arrays.stream(booking.getNotes().split(";"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void assertNoOverlaps(List<Booking> stored) {
+        Map<Long, List<Booking>> activeByResource = stored.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.PENDING
+                        || booking.getStatus() == BookingStatus.CONFIRMED)
+                .collect(Collectors.groupingBy(Booking::getResourceId));
+        for (List<Booking> active : activeByResource.values()) {
+            for (int i = 0; i < active.size(); i++) {
+                for (int j = i + 1; j < active.size(); j++) {
+                    Booking a = active.get(i);
+                    Booking b = active.get(j);
+                    assertThat(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()))
+                            .as("bookings %d and %d overlap, seed %d", a.getId(), b.getId(), SEED)
+                            .isFalse();
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.booking.service;
 
+import com.booking.dto.BookingSummary;
 import com.booking.model.Booking;
 import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
 import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,12 +13,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,6 +42,18 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SlotOccupancyIndex occupancyIndex;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -173,6 +195,55 @@ class BookingServiceTest {
         verify(bookingRepository).findByTimeRange(start, end);
     }
 
+    @Test
+    void should_returnSummaries_when_getAllBookingSummaries() {
+        // Arrange
+        List<BookingSummary> expectedSummaries = Arrays.asList(createTestSummary());
+        when(bookingRepository.findAllSummaries()).thenReturn(expectedSummaries);
+
+        // Act
+        List<BookingSummary> result = bookingService.getAllBookingSummaries();
+
+        // Assert
+        assertThat(result).containsExactlyElementsOf(expectedSummaries);
+        verify(bookingRepository).findAllSummaries();
+        verify(bookingRepository, never()).findAll();
+    }
+
+    @Test
+    void should_returnSummaries_when_timeRangeOverlaps() {
+        // Arrange
+        LocalDateTime start = testStartTime.minusHours(1);
+        LocalDateTime end = testEndTime.plusHours(1);
+        List<BookingSummary> expectedSummaries = Arrays.asList(createTestSummary());
+        when(bookingRepository.findSummariesByTimeRange(start, end)).thenReturn(expectedSummaries);
+
+        // Act
+        List<BookingSummary> result = bookingService.getBookingSummariesByTimeRange(start, end);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).startTime()).isEqualTo(testStartTime);
+        verify(bookingRepository).findSummariesByTimeRange(start, end);
+    }
+
+    @Test
+    void should_queryTimeWindow_when_resourceSummariesInRangeRequested() {
+        // Arrange
+        LocalDateTime start = testStartTime.minusHours(1);
+        LocalDateTime end = testEndTime.plusHours(1);
+        List<BookingSummary> expectedSummaries = Arrays.asList(createTestSummary());
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(List.of(1L), start, end))
+                .thenReturn(expectedSummaries);
+
+        // Act
+        List<BookingSummary> result = bookingService.getBookingSummariesByResourceIdAndTimeRange(1L, start, end);
+
+        // Assert
+        assertThat(result).containsExactlyElementsOf(expectedSummaries);
+        verify(bookingRepository, never()).findSummariesByResourceId(any());
+    }
+
     // ========== Availability Check ==========
 
     @Test
@@ -192,6 +263,20 @@ class BookingServiceTest {
                 eq(resourceId), eq(testStartTime), eq(testEndTime), anyList());
     }
 
+    @Test
+    void should_useIndex_when_indexCanAnswer() {
+        // Arrange
+        Long resourceId = 1L;
+        when(occupancyIndex.isAvailable(resourceId, testStartTime, testEndTime)).thenReturn(Optional.of(false));
+
+        // Act
+        boolean result = bookingService.isResourceAvailable(resourceId, testStartTime, testEndTime);
+
+        // Assert
+        assertThat(result).isFalse();
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), anyList());
+    }
+
     @Test
     void should_returnFalse_when_resourceHasConflictingBooking() {
         // Arrange
@@ -231,7 +316,12 @@ class BookingServiceTest {
         verify(bookingRepository).findConflictingBookings(
                 eq(newBooking.getResourceId()), eq(newBooking.getStartTime()), 
                 eq(newBooking.getEndTime()), anyList());
+        verify(resourceRepository).lockAllByIdIn(List.of(newBooking.getResourceId()));
         verify(bookingRepository).save(newBooking);
+        ArgumentCaptor<BookingChangedEvent> eventCaptor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(BookingChangedEvent.ChangeType.CREATED);
+        assertThat(eventCaptor.getValue().previous()).isNull();
     }
 
     @Test
@@ -281,6 +371,168 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    // ========== Auto-Assign Operation ==========
+
+    @Test
+    void should_assignSmallestFreeResource_when_autoAssignBooking() {
+        // Arrange
+        Booking newBooking = createTestBooking();
+        newBooking.setId(null);
+        newBooking.setResourceId(null);
+        when(resourceRepository.findAvailableByCapacityAtLeast(5)).thenReturn(Arrays.asList(
+                createTestResource(4L, 5), createTestResource(2L, 6), createTestResource(1L, 10)));
+        when(bookingRepository.findBusyResourceIds(eq(List.of(4L, 2L, 1L)), any(), any(), anyList()))
+                .thenReturn(List.of(4L));
+        when(bookingRepository.findConflictingBookings(eq(2L), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Booking result = bookingService.autoAssignBooking(newBooking, 5);
+
+        // Assert
+        assertThat(result.getResourceId()).isEqualTo(2L);
+        verify(resourceRepository).lockAllByIdIn(List.of(2L));
+        verify(resourceRepository, times(1)).lockAllByIdIn(anyList());
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void should_pickNextCandidate_when_resourceTakenBeforeLock() {
+        // Arrange
+        Booking newBooking = createTestBooking();
+        newBooking.setId(null);
+        when(resourceRepository.findAvailableByCapacityAtLeast(5)).thenReturn(Arrays.asList(
+                createTestResource(2L, 6), createTestResource(1L, 10)));
+        when(bookingRepository.findBusyResourceIds(eq(List.of(2L, 1L)), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findConflictingBookings(eq(2L), any(), any(), anyList()))
+                .thenReturn(List.of(createTestBooking()));
+        when(bookingRepository.findBusyResourceIds(eq(List.of(1L)), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findConflictingBookings(eq(1L), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Booking result = bookingService.autoAssignBooking(newBooking, 5);
+
+        // Assert
+        assertThat(result.getResourceId()).isEqualTo(1L);
+        verify(resourceRepository).lockAllByIdIn(List.of(2L));
+        verify(resourceRepository).lockAllByIdIn(List.of(1L));
+    }
+
+    @Test
+    void should_throwConflictException_when_autoAssignRunsOutOfAttempts() {
+        // Arrange
+        Booking newBooking = createTestBooking();
+        newBooking.setId(null);
+        when(resourceRepository.findAvailableByCapacityAtLeast(5)).thenReturn(Arrays.asList(
+                createTestResource(1L, 6), createTestResource(2L, 7),
+                createTestResource(3L, 8), createTestResource(4L, 9)));
+        when(bookingRepository.findBusyResourceIds(anyList(), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findConflictingBookings(anyLong(), any(), any(), anyList()))
+                .thenReturn(List.of(createTestBooking()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.autoAssignBooking(newBooking, 5))
+                .isInstanceOf(BookingService.BookingConflictException.class);
+        verify(resourceRepository, times(3)).lockAllByIdIn(anyList());
+        verify(resourceRepository, never()).lockAllByIdIn(List.of(4L));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void should_throwConflictException_when_noResourceIsLargeEnough() {
+        // Arrange
+        Booking newBooking = createTestBooking();
+        newBooking.setId(null);
+        when(resourceRepository.findAvailableByCapacityAtLeast(50)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.autoAssignBooking(newBooking, 50))
+                .isInstanceOf(BookingService.BookingConflictException.class)
+                .hasMessageContaining("No resource for 50 people");
+
+        verify(resourceRepository, never()).lockAllByIdIn(anyList());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void should_throwException_when_headcountIsNotPositive() {
+        // Arrange
+        Booking newBooking = createTestBooking();
+        newBooking.setId(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.autoAssignBooking(newBooking, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Headcount must be positive");
+
+        verify(resourceRepository, never()).findAvailableByCapacityAtLeast(anyInt());
+    }
+
+    // ========== Bundle Operation ==========
+
+    @Test
+    void should_createAllBookingsInResourceIdOrder_when_bundleIsFree() {
+        // Arrange
+        Booking template = createTestBooking();
+        template.setId(null);
+        when(resourceRepository.lockAllByIdIn(List.of(1L, 2L, 3L))).thenReturn(Arrays.asList(
+                createTestResource(1L, 10), createTestResource(2L, 6), createTestResource(3L, 8)));
+        when(bookingRepository.findBusyResourceIds(eq(List.of(1L, 2L, 3L)), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<Booking> result = bookingService.createBookingBundle(List.of(3L, 1L, 2L, 1L), template);
+
+        // Assert
+        assertThat(result).extracting(Booking::getResourceId).containsExactly(1L, 2L, 3L);
+        assertThat(result).allSatisfy(booking -> {
+            assertThat(booking.getStartTime()).isEqualTo(template.getStartTime());
+            assertThat(booking.getCustomerEmail()).isEqualTo(template.getCustomerEmail());
+        });
+        verify(eventPublisher, times(3)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void should_createNothing_when_anyBundleResourceIsBusy() {
+        // Arrange
+        Booking template = createTestBooking();
+        template.setId(null);
+        when(resourceRepository.lockAllByIdIn(List.of(1L, 2L))).thenReturn(Arrays.asList(
+                createTestResource(1L, 10), createTestResource(2L, 6)));
+        when(bookingRepository.findBusyResourceIds(eq(List.of(1L, 2L)), any(), any(), anyList()))
+                .thenReturn(List.of(2L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.createBookingBundle(List.of(2L, 1L), template))
+                .isInstanceOf(BookingService.BookingConflictException.class)
+                .hasMessageContaining("[2]");
+
+        verify(bookingRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void should_throwException_when_bundleContainsUnknownResource() {
+        // Arrange
+        Booking template = createTestBooking();
+        template.setId(null);
+        when(resourceRepository.lockAllByIdIn(List.of(1L, 99L))).thenReturn(List.of(createTestResource(1L, 10)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.createBookingBundle(List.of(1L, 99L), template))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown resource");
+
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
     // ========== Update Operation ==========
 
     @Test
@@ -293,7 +545,7 @@ class BookingServiceTest {
         updatedData.setNotes("Updated notes");
         // Time and resource are not changed, so conflict check won't be called
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(updatedData);
 
         // Act
@@ -303,7 +555,7 @@ class BookingServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getCustomerName()).isEqualTo("Updated Name");
         assertThat(result.getNotes()).isEqualTo("Updated notes");
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findForUpdateById(bookingId);
         verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), anyList());
         verify(bookingRepository).save(any(Booking.class));
     }
@@ -316,7 +568,7 @@ class BookingServiceTest {
         Booking updatedData = createTestBooking();
         updatedData.setStatus(BookingStatus.CANCELLED);
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -334,7 +586,7 @@ class BookingServiceTest {
         // Arrange
         Long bookingId = 999L;
         Booking updatedData = createTestBooking();
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> bookingService.updateBooking(bookingId, updatedData))
@@ -352,7 +604,7 @@ class BookingServiceTest {
         Booking updatedData = createTestBooking();
         updatedData.setStartTime(testStartTime.plusHours(5)); // Time changed
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
         when(bookingRepository.findConflictingBookings(
                 eq(updatedData.getResourceId()), any(LocalDateTime.class), any(LocalDateTime.class), anyList()))
                 .thenReturn(Collections.emptyList());
@@ -376,7 +628,7 @@ class BookingServiceTest {
         updatedData.setStartTime(testStartTime.plusHours(5));
         List<Booking> conflicts = Arrays.asList(createTestBooking(2L));
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
         when(bookingRepository.findConflictingBookings(
                 eq(updatedData.getResourceId()), any(LocalDateTime.class), any(LocalDateTime.class), anyList()))
                 .thenReturn(conflicts);
@@ -389,6 +641,68 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void should_throwOptimisticLockingFailure_when_versionIsStale() {
+        // Arrange
+        Long bookingId = 1L;
+        Booking existingBooking = createTestBooking();
+        existingBooking.setVersion(3L);
+        Booking updatedData = createTestBooking();
+        updatedData.setVersion(2L);
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.updateBooking(bookingId, updatedData))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(bookingRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void should_lockResourceAndCheckConflicts_when_cancelledBookingIsReactivated() {
+        // Arrange
+        Long bookingId = 1L;
+        Booking existingBooking = createTestBooking();
+        existingBooking.setStatus(BookingStatus.CANCELLED);
+        Booking updatedData = createTestBooking();
+        updatedData.setStatus(BookingStatus.PENDING);
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findConflictingBookings(
+                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), anyList()))
+                .thenReturn(List.of(createTestBooking(2L)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.updateBooking(bookingId, updatedData))
+                .isInstanceOf(BookingService.BookingConflictException.class);
+
+        verify(resourceRepository).lockAllByIdIn(Set.of(1L));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void should_lockOldAndNewResourceTogether_when_bookingMovesResource() {
+        // Arrange
+        Long bookingId = 1L;
+        Booking existingBooking = createTestBooking();
+        existingBooking.setResourceId(3L);
+        Booking updatedData = createTestBooking();
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findConflictingBookings(
+                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        bookingService.updateBooking(bookingId, updatedData);
+
+        // Assert: one statement in ID order, so opposite moves between two resources cannot deadlock
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> lockedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(resourceRepository).lockAllByIdIn(lockedCaptor.capture());
+        assertThat(lockedCaptor.getValue()).containsExactly(1L, 3L);
+    }
+
     // ========== Cancel Operation ==========
 
     @Test
@@ -397,7 +711,7 @@ class BookingServiceTest {
         Long bookingId = 1L;
         Booking existingBooking = createTestBooking();
         existingBooking.setStatus(BookingStatus.CONFIRMED);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(existingBooking));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking saved = invocation.getArgument(0);
             saved.setStatus(BookingStatus.CANCELLED);
@@ -410,15 +724,20 @@ class BookingServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(BookingStatus.CANCELLED);
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findForUpdateById(bookingId);
+        verify(resourceRepository).lockAllByIdIn(List.of(1L));
         verify(bookingRepository).save(existingBooking);
+        ArgumentCaptor<BookingChangedEvent> eventCaptor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().previous().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(eventCaptor.getValue().current().getStatus()).isEqualTo(BookingStatus.CANCELLED);
     }
 
     @Test
     void should_throwException_when_bookingNotFoundForCancel() {
         // Arrange
         Long bookingId = 999L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> bookingService.cancelBooking(bookingId))
@@ -434,37 +753,133 @@ class BookingServiceTest {
     void should_deleteBooking_when_bookingExists() {
         // Arrange
         Long bookingId = 1L;
-        when(bookingRepository.existsById(bookingId)).thenReturn(true);
-        doNothing().when(bookingRepository).deleteById(bookingId);
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.of(testBooking));
+        doNothing().when(bookingRepository).delete(testBooking);
 
         // Act
         bookingService.deleteBooking(bookingId);
 
         // Assert
-        verify(bookingRepository).existsById(bookingId);
-        verify(bookingRepository).deleteById(bookingId);
+        verify(bookingRepository).findForUpdateById(bookingId);
+        verify(bookingRepository).delete(testBooking);
+        ArgumentCaptor<BookingChangedEvent> eventCaptor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(BookingChangedEvent.ChangeType.DELETED);
+        assertThat(eventCaptor.getValue().previous().getId()).isEqualTo(bookingId);
     }
 
     @Test
     void should_throwException_when_bookingNotFoundForDelete() {
         // Arrange
         Long bookingId = 999L;
-        when(bookingRepository.existsById(bookingId)).thenReturn(false);
+        when(bookingRepository.findForUpdateById(bookingId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> bookingService.deleteBooking(bookingId))
                 .isInstanceOf(BookingService.BookingNotFoundException.class)
                 .hasMessageContaining("Booking not found with id: " + bookingId);
         
+        verify(bookingRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    // ========== Bulk Operations ==========
+
+    @Test
+    void should_cancelInChunks_when_cancelBookingsByResourceAndTimeRange() {
+        // Arrange
+        runTransactionCallbacks();
+        LocalDateTime start = testStartTime.minusDays(1);
+        LocalDateTime end = testEndTime.plusDays(1);
+        when(bookingRepository.findForUpdateByResourceIdAndTimeRange(
+                eq(1L), eq(start), eq(end), anyList(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(createTestBooking(1L), createTestBooking(2L)),
+                        Arrays.asList(createTestBooking(3L)), Collections.emptyList());
+        when(bookingRepository.updateStatusByIds(anyList(), anyList(), eq(BookingStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(2, 1);
+
+        // Act
+        int result = bookingService.cancelBookingsByResourceAndTimeRange(1L, start, end);
+
+        // Assert
+        assertThat(result).isEqualTo(3);
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(bookingRepository).updateStatusByIds(eq(Arrays.asList(1L, 2L)), anyList(),
+                eq(BookingStatus.CANCELLED), any(LocalDateTime.class));
+        verify(bookingRepository, never()).save(any());
+        verify(eventPublisher, times(3)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void should_throwException_when_bulkCancelRangeIsInvalid() {
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.cancelBookingsByResourceAndTimeRange(1L, testEndTime, testStartTime))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("End time must be after start time");
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void should_deleteInChunks_when_deleteBookingsByStatusBefore() {
+        // Arrange
+        runTransactionCallbacks();
+        LocalDateTime before = testStartTime;
+        when(bookingRepository.findForUpdateByStatusAndEndTimeBefore(
+                eq(BookingStatus.CANCELLED), eq(before), any(Pageable.class)))
+                .thenReturn(Arrays.asList(createTestBooking(1L), createTestBooking(2L)), Collections.emptyList());
+        when(bookingRepository.deleteByIdsAndStatus(Arrays.asList(1L, 2L), BookingStatus.CANCELLED)).thenReturn(2);
+
+        // Act
+        int result = bookingService.deleteBookingsByStatusBefore(BookingStatus.CANCELLED, before);
+
+        // Assert
+        assertThat(result).isEqualTo(2);
+        verify(bookingRepository).deleteByIdsAndStatus(Arrays.asList(1L, 2L), BookingStatus.CANCELLED);
         verify(bookingRepository, never()).deleteById(any());
+        verify(eventPublisher, times(2)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void should_returnZero_when_noBookingsMatchBulkDelete() {
+        // Arrange
+        runTransactionCallbacks();
+        when(bookingRepository.findForUpdateByStatusAndEndTimeBefore(
+                eq(BookingStatus.CANCELLED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        int result = bookingService.deleteBookingsByStatusBefore(BookingStatus.CANCELLED, testStartTime);
+
+        // Assert
+        assertThat(result).isZero();
+        verify(bookingRepository, never()).deleteByIdsAndStatus(anyList(), any());
     }
 
     // ========== Helper Methods ==========
 
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     private Booking createTestBooking() {
         return createTestBooking(1L);
     }
 
+    private Resource createTestResource(Long id, int capacity) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName("会議室" + id);
+        resource.setCapacity(capacity);
+        resource.setAvailable(true);
+        return resource;
+    }
+
+    private BookingSummary createTestSummary() {
+        return new BookingSummary(1L, 1L, testStartTime, testEndTime, BookingStatus.CONFIRMED);
+    }
+
     private Booking createTestBooking(Long id) {
         Booking booking = new Booking();
         booking.setId(id);
@@ -475,6 +890,7 @@ class BookingServiceTest {
         booking.setEndTime(testEndTime);
         booking.setStatus(BookingStatus.CONFIRMED);
         booking.setNotes("テスト備考");
+        booking.setVersion(0L);
         return booking;
     }
 }
@@ -0,0 +1,236 @@
+package com.booking.service;
+
+import com.booking.dto.BookingStatistics;
+import com.booking.dto.GroupCount;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookingStatisticsService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingStatisticsServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2030, 1, 14, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private BookingStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+        statisticsService = new BookingStatisticsService(bookingRepository, transactionManager,
+                Duration.ofSeconds(30), 2, clock);
+    }
+
+    @Test
+    void should_combineGroupedCounts_when_statisticsRequested() {
+        // Arrange
+        when(bookingRepository.countByStatusInRange(START, END)).thenReturn(List.of(
+                new GroupCount<>(BookingStatus.CONFIRMED, 3),
+                new GroupCount<>(BookingStatus.CANCELLED, 1)));
+        when(bookingRepository.countByResourceInRange(START, END)).thenReturn(List.of(
+                new GroupCount<>(2L, 1),
+                new GroupCount<>(1L, 3)));
+        when(bookingRepository.countByStartDayInRange(START, END)).thenReturn(List.of(
+                new GroupCount<>(LocalDate.of(2030, 1, 8), 4)));
+
+        // Act
+        BookingStatistics statistics = statisticsService.getStatistics(START, END);
+
+        // Assert
+        assertThat(statistics.total()).isEqualTo(4);
+        assertThat(statistics.byStatus())
+                .containsEntry(BookingStatus.CONFIRMED, 3L)
+                .containsEntry(BookingStatus.CANCELLED, 1L)
+                .containsEntry(BookingStatus.PENDING, 0L);
+        assertThat(statistics.byResource()).containsExactly(
+                entry(1L, 3L),
+                entry(2L, 1L));
+        assertThat(statistics.byDay()).containsEntry(LocalDate.of(2030, 1, 8), 4L);
+    }
+
+    @Test
+    void should_serveFromCache_when_withinTtl() {
+        // Arrange
+        stubEmptyCounts();
+        statisticsService.getStatistics(null, null);
+        clock.advance(Duration.ofSeconds(29));
+
+        // Act
+        statisticsService.getStatistics(null, null);
+
+        // Assert
+        verify(bookingRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void should_queryAgain_when_ttlExpired() {
+        // Arrange
+        stubEmptyCounts();
+        statisticsService.getStatistics(null, null);
+        clock.advance(Duration.ofSeconds(31));
+
+        // Act
+        statisticsService.getStatistics(null, null);
+
+        // Assert
+        verify(bookingRepository, times(2)).countByStatus();
+    }
+
+    @Test
+    void should_queryAgain_when_bookingChanged() {
+        // Arrange
+        stubEmptyCounts();
+        statisticsService.getStatistics(null, null);
+
+        // Act
+        statisticsService.onBookingChanged(BookingChangedEvent.created(createTestBooking()));
+        statisticsService.getStatistics(null, null);
+
+        // Assert
+        verify(bookingRepository, times(2)).countByStatus();
+    }
+
+    @Test
+    void should_queryWithUpperBoundOnly_when_startIsOpen() {
+        // Arrange
+        when(bookingRepository.countByStatusStartingBefore(END)).thenReturn(List.of(
+                new GroupCount<>(BookingStatus.PENDING, 2)));
+        when(bookingRepository.countByResourceStartingBefore(END)).thenReturn(List.of());
+        when(bookingRepository.countByStartDayStartingBefore(END)).thenReturn(List.of());
+
+        // Act
+        BookingStatistics statistics = statisticsService.getStatistics(null, END);
+
+        // Assert
+        assertThat(statistics.total()).isEqualTo(2);
+        verify(bookingRepository, never()).countByStatus();
+    }
+
+    @Test
+    void should_dropExpiredEntry_when_readAfterTtl() {
+        // Arrange
+        stubEmptyCounts();
+        statisticsService.getStatistics(null, null);
+        clock.advance(Duration.ofSeconds(31));
+        when(bookingRepository.countByStatus()).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        assertThatThrownBy(() -> statisticsService.getStatistics(null, null))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(statisticsService.cachedWindows()).isZero();
+    }
+
+    @Test
+    void should_dropLeastRecentlyUsedWindow_when_cacheIsFull() {
+        // Arrange
+        stubEmptyCounts();
+        when(bookingRepository.countByStatusEndingAfter(any())).thenReturn(List.of());
+        when(bookingRepository.countByResourceEndingAfter(any())).thenReturn(List.of());
+        when(bookingRepository.countByStartDayEndingAfter(any())).thenReturn(List.of());
+        statisticsService.getStatistics(null, null);
+        statisticsService.getStatistics(START, null);
+        statisticsService.getStatistics(null, null);
+
+        // Act
+        statisticsService.getStatistics(END, null);
+        statisticsService.getStatistics(null, null);
+        statisticsService.getStatistics(START, null);
+
+        // Assert
+        assertThat(statisticsService.cachedWindows()).isEqualTo(2);
+        verify(bookingRepository, times(1)).countByStatus();
+        verify(bookingRepository, times(2)).countByStatusEndingAfter(START);
+    }
+
+    @Test
+    void should_throwException_when_windowIsEmpty() {
+        // Act & Assert
+        assertThatThrownBy(() -> statisticsService.getStatistics(END, START))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Start time must be before end time");
+        verifyNoInteractions(bookingRepository);
+    }
+
+    // ========== Helper Methods ==========
+
+    private void stubEmptyCounts() {
+        when(bookingRepository.countByStatus()).thenReturn(List.of());
+        when(bookingRepository.countByResource()).thenReturn(List.of());
+        when(bookingRepository.countByStartDay()).thenReturn(List.of());
+    }
+
+    private Booking createTestBooking() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setResourceId(1L);
+        booking.setStartTime(START.plusHours(10));
+        booking.setEndTime(START.plusHours(11));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
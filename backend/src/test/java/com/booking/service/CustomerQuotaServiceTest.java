@@ -0,0 +1,236 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.CustomerBookingCountRepository;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Per-customer quotas maintained by real booking transactions
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:booking-quota;LOCK_TIMEOUT=10000",
+                "booking.warmup.enabled=false",
+                "booking.quota.max-active-per-customer=" + CustomerQuotaServiceTest.QUOTA})
+class CustomerQuotaServiceTest {
+
+    static final int QUOTA = 3;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 4, 1, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CustomerQuotaService quotaService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CustomerBookingCountRepository countRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private Long resourceId;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        resourceId = createResource();
+        email = "quota-" + System.nanoTime() + "@example.com";
+    }
+
+    @Test
+    void should_rejectBooking_when_customerAtQuota() {
+        // Arrange
+        for (int i = 0; i < QUOTA; i++) {
+            bookingService.createBooking(createBooking(email, i));
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.createBooking(createBooking(email, QUOTA)))
+                .isInstanceOf(CustomerQuotaService.BookingQuotaExceededException.class);
+        assertThat(quotaService.getActiveCount(email)).isEqualTo(QUOTA);
+        assertThat(bookingRepository.countByCustomerEmailAndStatusIn(
+                email, List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED))).isEqualTo(QUOTA);
+    }
+
+    @Test
+    void should_freeCapacity_when_bookingCancelledOrDeleted() {
+        // Arrange
+        List<Booking> created = new ArrayList<>();
+        for (int i = 0; i < QUOTA; i++) {
+            created.add(bookingService.createBooking(createBooking(email, i)));
+        }
+
+        // Act
+        bookingService.cancelBooking(created.get(0).getId());
+        bookingService.deleteBooking(created.get(1).getId());
+        bookingService.createBooking(createBooking(email, QUOTA));
+
+        // Assert
+        assertThat(quotaService.getActiveCount(email)).isEqualTo(2);
+        assertThat(countRepository.findById(email))
+                .hasValueSatisfying(counter -> assertThat(counter.getActiveCount()).isEqualTo(2));
+    }
+
+    @Test
+    void should_moveCount_when_bookingReassignedToAnotherCustomer() {
+        // Arrange
+        String other = "other-" + email;
+        Booking booking = bookingService.createBooking(createBooking(email, 0));
+        Booking details = booking.snapshot();
+        details.setCustomerEmail(other);
+
+        // Act
+        bookingService.updateBooking(booking.getId(), details);
+
+        // Assert
+        assertThat(quotaService.getActiveCount(email)).isZero();
+        assertThat(quotaService.getActiveCount(other)).isEqualTo(1);
+    }
+
+    @Test
+    void should_rejectReactivation_when_customerAtQuota() {
+        // Arrange
+        Booking cancelled = bookingService.createBooking(createBooking(email, 0));
+        bookingService.cancelBooking(cancelled.getId());
+        for (int i = 1; i <= QUOTA; i++) {
+            bookingService.createBooking(createBooking(email, i));
+        }
+        Booking details = bookingService.getBookingById(cancelled.getId()).orElseThrow().snapshot();
+        details.setStatus(BookingStatus.CONFIRMED);
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookingService.updateBooking(cancelled.getId(), details))
+                .isInstanceOf(CustomerQuotaService.BookingQuotaExceededException.class);
+        assertThat(bookingService.getBookingById(cancelled.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.CANCELLED);
+        assertThat(quotaService.getActiveCount(email)).isEqualTo(QUOTA);
+    }
+
+    @Test
+    void should_stopExactlyAtQuota_when_customerBooksConcurrently() throws Exception {
+        // Arrange
+        int attempts = 16;
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            Booking booking = createBooking(email, i);
+            tasks.add(() -> {
+                try {
+                    bookingService.createBooking(booking);
+                    return true;
+                } catch (CustomerQuotaService.BookingQuotaExceededException e) {
+                    return false;
+                }
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Boolean>> futures;
+        try {
+            futures = executor.invokeAll(tasks, 60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        int accepted = 0;
+        for (Future<Boolean> future : futures) {
+            assertThat(future.isCancelled()).isFalse();
+            accepted += future.get() ? 1 : 0;
+        }
+
+        // Assert
+        assertThat(accepted).isEqualTo(QUOTA);
+        assertThat(bookingRepository.countByCustomerEmailAndStatusIn(
+                email, List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED))).isEqualTo(QUOTA);
+        assertThat(countRepository.findById(email))
+                .hasValueSatisfying(counter -> assertThat(counter.getActiveCount()).isEqualTo(QUOTA));
+    }
+
+    @Test
+    void should_backfillCounterFromBookings_when_bookingsWereStoredWithoutOne() {
+        // Arrange
+        bookingRepository.save(createBooking(email, 0));
+        Booking cancelled = createBooking(email, 1);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        bookingRepository.save(cancelled);
+
+        // Act
+        quotaService.backfillCounters();
+        bookingService.createBooking(createBooking(email, 2));
+
+        // Assert
+        assertThat(countRepository.findById(email))
+                .hasValueSatisfying(counter -> assertThat(counter.getActiveCount()).isEqualTo(2));
+    }
+
+    @Test
+    void should_seedCounterOnce_when_firstBookingsOfCustomerRunConcurrently() throws Exception {
+        // Arrange: separate resources, so only the counter row serializes the bookings
+        List<Callable<Booking>> tasks = new ArrayList<>();
+        for (int i = 0; i < QUOTA; i++) {
+            Booking booking = createBooking(email, 0);
+            booking.setResourceId(createResource());
+            tasks.add(() -> bookingService.createBooking(booking));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(QUOTA);
+
+        // Act
+        List<Future<Booking>> futures;
+        try {
+            futures = executor.invokeAll(tasks, 60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        for (Future<Booking> future : futures) {
+            assertThat(future.get().getId()).isNotNull();
+        }
+        assertThat(countRepository.findById(email))
+                .hasValueSatisfying(counter -> assertThat(counter.getActiveCount()).isEqualTo(QUOTA));
+    }
+
+    // ========== Helper Methods ==========
+
+    private Long createResource() {
+        Resource resource = new Resource();
+        resource.setName("上限検証-" + System.nanoTime());
+        resource.setCapacity(10);
+        resource.setAvailable(true);
+        return resourceRepository.save(resource).getId();
+    }
+
+    private Booking createBooking(String customerEmail, int hour) {
+        Booking booking = new Booking();
+        booking.setResourceId(resourceId);
+        booking.setCustomerName("Quota Tester");
+        booking.setCustomerEmail(customerEmail);
+        booking.setStartTime(BASE.plusHours(hour));
+        booking.setEndTime(BASE.plusHours(hour + 1));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
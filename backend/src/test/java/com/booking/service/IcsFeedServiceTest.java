@@ -0,0 +1,229 @@
+package com.booking.service;
+
+import com.booking.dto.IcsFeed;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IcsFeedService
+ */
+@ExtendWith(MockitoExtension.class)
+class IcsFeedServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private IcsFeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        feedService = new IcsFeedService(bookingRepository, resourceRepository, entityManager, transactionManager,
+                Duration.ofDays(30), Duration.ofDays(365), Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void should_writeOneEventPerActiveBooking_when_feedRequested() {
+        // Arrange
+        stubResource("Room A, 3F");
+        stubBookings(createTestBooking(10L, BookingStatus.CONFIRMED, NOW.plusDays(1)),
+                createTestBooking(11L, BookingStatus.PENDING, NOW.plusDays(2)));
+
+        // Act
+        String content = content(feedService.getFeed(1L));
+
+        // Assert
+        assertThat(content).startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+        assertThat(content).endsWith("END:VCALENDAR\r\n");
+        assertThat(content).contains("X-WR-CALNAME:Room A\\, 3F\r\n");
+        assertThat(content).contains("UID:booking-10@booking-management-system\r\n");
+        assertThat(content).contains("DTSTART:20300108T080000\r\nDTEND:20300108T090000\r\n");
+        assertThat(content).contains("STATUS:CONFIRMED\r\n", "STATUS:TENTATIVE\r\n");
+        assertThat(content.split("BEGIN:VEVENT", -1)).hasSize(3);
+        verify(bookingRepository).streamByResourceIdAndTimeRange(eq(1L), eq(NOW.minusDays(30)),
+                eq(NOW.plusDays(365)), eq(List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED)));
+    }
+
+    @Test
+    void should_foldLinesAt75Octets_when_lineIsLong() {
+        // Arrange
+        String name = "大会議室".repeat(20);
+        stubResource(name);
+        stubBookings();
+
+        // Act
+        String content = content(feedService.getFeed(1L));
+
+        // Assert
+        for (String line : content.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(content.replace("\r\n ", "")).contains("X-WR-CALNAME:" + name + "\r\n");
+    }
+
+    @Test
+    void should_serveCachedFeed_until_bookingChanged() {
+        // Arrange
+        stubResource("Room A");
+        stubBookings();
+        IcsFeed first = feedService.getFeed(1L);
+
+        // Act
+        IcsFeed cached = feedService.getFeed(1L);
+        feedService.onBookingChanged(BookingChangedEvent.created(
+                createTestBooking(10L, BookingStatus.PENDING, NOW.plusDays(1))));
+        IcsFeed regenerated = feedService.getFeed(1L);
+
+        // Assert
+        assertThat(cached).isSameAs(first);
+        assertThat(regenerated).isNotSameAs(first);
+        verify(bookingRepository, times(2)).streamByResourceIdAndTimeRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_regenerateFeed_when_maxAgeExpired() {
+        // Arrange
+        stubResource("Room A");
+        stubBookings();
+        feedService.getFeed(1L);
+        clock.advance(Duration.ofMinutes(61));
+
+        // Act
+        feedService.getFeed(1L);
+
+        // Assert
+        verify(bookingRepository, times(2)).streamByResourceIdAndTimeRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_changeEtagAndAdvanceLastModified_when_latestBookingDeleted() {
+        // Arrange
+        stubResource("Room A");
+        Booking latest = createTestBooking(10L, BookingStatus.CONFIRMED, NOW.plusDays(1));
+        latest.setUpdatedAt(NOW.minusMinutes(5));
+        when(bookingRepository.streamByResourceIdAndTimeRange(any(), any(), any(), any()))
+                .thenReturn(Stream.of(latest)).thenReturn(Stream.empty());
+        IcsFeed before = feedService.getFeed(1L);
+        clock.advance(Duration.ofMinutes(1));
+
+        // Act
+        feedService.onBookingChanged(BookingChangedEvent.deleted(latest));
+        IcsFeed after = feedService.getFeed(1L);
+
+        // Assert
+        assertThat(before.lastModified()).isEqualTo(NOW.minusMinutes(5).toInstant(ZoneOffset.UTC));
+        assertThat(after.lastModified()).isEqualTo(NOW.plusMinutes(1).toInstant(ZoneOffset.UTC));
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void should_throwException_when_resourceNotFound() {
+        // Arrange
+        when(resourceRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> feedService.getFeed(99L))
+                .isInstanceOf(ResourceService.ResourceNotFoundException.class)
+                .hasMessageContaining("Resource not found with id: 99");
+    }
+
+    // ========== Helper Methods ==========
+
+    private void stubResource(String name) {
+        Resource resource = new Resource();
+        resource.setId(1L);
+        resource.setName(name);
+        resource.setUpdatedAt(NOW.minusDays(10));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+    }
+
+    private void stubBookings(Booking... bookings) {
+        when(bookingRepository.streamByResourceIdAndTimeRange(any(), any(), any(), any()))
+                .thenAnswer(invocation -> Arrays.stream(bookings));
+    }
+
+    private static String content(IcsFeed feed) {
+        return new String(feed.content(), StandardCharsets.UTF_8);
+    }
+
+    private Booking createTestBooking(Long id, BookingStatus status, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResourceId(1L);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setStatus(status);
+        booking.setUpdatedAt(NOW.minusDays(1));
+        return booking;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
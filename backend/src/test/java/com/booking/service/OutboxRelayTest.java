@@ -0,0 +1,139 @@
+package com.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    private MutableClock clock;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-07T10:00:00Z"));
+        relay = new OutboxRelay(outboxService, true, Duration.ofSeconds(1), Duration.ofSeconds(4), clock);
+    }
+
+    @Test
+    void should_drainBacklogInBatches_when_relayRuns() {
+        // Arrange
+        when(outboxService.publishBatch()).thenReturn(500, 20, 0);
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxService, times(3)).publishBatch();
+    }
+
+    @Test
+    void should_backOffUpToMaxIdleInterval_when_nothingIsPending() {
+        // Arrange: the first run finds nothing, so the next poll waits 2 s, then 4 s (the maximum)
+        when(outboxService.publishBatch()).thenReturn(0);
+        relay.relay();
+
+        // Act
+        tick(1);
+        tick(1);
+        tick(2);
+        tick(2);
+        tick(4);
+
+        // Assert
+        verify(outboxService, times(4)).publishBatch();
+    }
+
+    @Test
+    void should_pollOnNextTick_when_localWriteCommitted() {
+        // Arrange
+        when(outboxService.publishBatch()).thenReturn(0);
+        relay.relay();
+        relay.relay();
+
+        // Act
+        relay.onBookingChanged(null);
+        relay.relay();
+
+        // Assert
+        verify(outboxService, times(2)).publishBatch();
+    }
+
+    @Test
+    void should_pruneUntilNothingIsExpired_when_pruneRuns() {
+        // Arrange
+        when(outboxService.prunePublished()).thenReturn(1000, 3, 0);
+
+        // Act
+        relay.prune();
+
+        // Assert
+        verify(outboxService, times(3)).prunePublished();
+    }
+
+    @Test
+    void should_neitherRelayNorPrune_when_relayDisabled() {
+        // Arrange
+        OutboxRelay disabled = new OutboxRelay(outboxService, false, Duration.ofSeconds(1), Duration.ofSeconds(4), clock);
+
+        // Act
+        disabled.relay();
+        disabled.prune();
+
+        // Assert
+        verifyNoInteractions(outboxService);
+    }
+
+    // ========== Helper Methods ==========
+
+    private void tick(long seconds) {
+        clock.advance(Duration.ofSeconds(seconds));
+        relay.relay();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
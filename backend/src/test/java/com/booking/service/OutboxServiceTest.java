@@ -0,0 +1,225 @@
+package com.booking.service;
+
+import com.booking.dto.ChangeFeedPage;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.OutboxEvent;
+import com.booking.model.Resource;
+import com.booking.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxService
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private ObjectMapper objectMapper;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        outboxService = new OutboxService(outboxRepository, objectMapper);
+    }
+
+    // ========== Outbox Writes ==========
+
+    @Test
+    void should_appendBookingEventWithBothStates_when_bookingCancelled() throws Exception {
+        // Arrange
+        Booking previous = createTestBooking();
+        Booking current = previous.snapshot();
+        current.setStatus(BookingStatus.CANCELLED);
+
+        // Act
+        outboxService.onBookingChanged(BookingChangedEvent.cancelled(previous, current));
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertThat(event.getAggregateType()).isEqualTo(OutboxEvent.AggregateType.BOOKING);
+        assertThat(event.getAggregateId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isEqualTo("CANCELLED");
+        assertThat(event.getFeedOffset()).isNull();
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertThat(payload.path("previous").path("status").asText()).isEqualTo("CONFIRMED");
+        assertThat(payload.path("current").path("status").asText()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void should_appendResourceEventWithoutCurrent_when_resourceDeleted() throws Exception {
+        // Arrange
+        Resource resource = new Resource();
+        resource.setId(3L);
+        resource.setName("会議室C");
+        resource.setCapacity(8);
+
+        // Act
+        outboxService.onResourceChanged(ResourceChangedEvent.deleted(resource));
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        assertThat(captor.getValue().getAggregateType()).isEqualTo(OutboxEvent.AggregateType.RESOURCE);
+        assertThat(captor.getValue().getAggregateId()).isEqualTo(3L);
+        assertThat(objectMapper.readTree(captor.getValue().getPayload()).path("current").isNull()).isTrue();
+    }
+
+    // ========== Relay ==========
+
+    @Test
+    void should_assignConsecutiveOffsetsAfterHighest_when_publishBatch() {
+        // Arrange
+        OutboxEvent first = createTestEvent(10L, null);
+        OutboxEvent second = createTestEvent(12L, null);
+        when(outboxRepository.findByFeedOffsetIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(outboxRepository.findMaxFeedOffset()).thenReturn(41L);
+
+        // Act
+        int published = outboxService.publishBatch();
+
+        // Assert
+        assertThat(published).isEqualTo(2);
+        assertThat(first.getFeedOffset()).isEqualTo(42L);
+        assertThat(second.getFeedOffset()).isEqualTo(43L);
+        assertThat(first.getPublishedAt()).isNotNull();
+        verify(outboxRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void should_doNothing_when_noUnpublishedEvents() {
+        // Arrange
+        when(outboxRepository.findByFeedOffsetIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        int published = outboxService.publishBatch();
+
+        // Assert
+        assertThat(published).isZero();
+        verify(outboxRepository, never()).findMaxFeedOffset();
+        verify(outboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void should_deleteExpiredEventsBelowHighestOffset_when_prunePublished() {
+        // Arrange
+        when(outboxRepository.findMaxFeedOffset()).thenReturn(90L);
+        when(outboxRepository.findPublishedIdsBefore(any(LocalDateTime.class), eq(90L), any(Pageable.class)))
+                .thenReturn(List.of(3L, 4L));
+
+        // Act
+        int pruned = outboxService.prunePublished();
+
+        // Assert
+        assertThat(pruned).isEqualTo(2);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).findPublishedIdsBefore(cutoff.capture(), eq(90L), eq(PageRequest.of(0, 1000)));
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(6));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+    }
+
+    @Test
+    void should_deleteNothing_when_noEventIsExpired() {
+        // Arrange
+        when(outboxRepository.findMaxFeedOffset()).thenReturn(90L);
+        when(outboxRepository.findPublishedIdsBefore(any(LocalDateTime.class), eq(90L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        int pruned = outboxService.prunePublished();
+
+        // Assert
+        assertThat(pruned).isZero();
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    // ========== Change Feed ==========
+
+    @Test
+    void should_returnLastOffsetAsNext_when_readFeed() {
+        // Arrange
+        when(outboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(createTestEvent(20L, 6L), createTestEvent(21L, 7L)));
+
+        // Act
+        ChangeFeedPage page = outboxService.readFeed(5L, 2);
+
+        // Assert
+        assertThat(page.events()).hasSize(2);
+        assertThat(page.nextOffset()).isEqualTo(7L);
+    }
+
+    @Test
+    void should_keepOffsetAndCapLimit_when_feedIsCaughtUp() {
+        // Arrange
+        when(outboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(eq(7L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        ChangeFeedPage page = outboxService.readFeed(7L, 1_000_000);
+
+        // Assert
+        assertThat(page.events()).isEmpty();
+        assertThat(page.nextOffset()).isEqualTo(7L);
+        verify(outboxRepository).findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, PageRequest.of(0, 1000));
+    }
+
+    @Test
+    void should_throwException_when_offsetIsNegative() {
+        // Act & Assert
+        assertThatThrownBy(() -> outboxService.readFeed(-1L, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Offset must not be negative");
+    }
+
+    // ========== Helper Methods ==========
+
+    private Booking createTestBooking() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setResourceId(1L);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(LocalDateTime.of(2030, 1, 7, 10, 0));
+        booking.setEndTime(LocalDateTime.of(2030, 1, 7, 12, 0));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private OutboxEvent createTestEvent(Long id, Long feedOffset) {
+        OutboxEvent event = new OutboxEvent(OutboxEvent.AggregateType.BOOKING, 1L, "CREATED", "{}");
+        event.setId(id);
+        event.setFeedOffset(feedOffset);
+        return event;
+    }
+}
@@ -1,13 +1,16 @@
 package com.booking.service;
 
+import com.booking.dto.ResourceSummary;
 import com.booking.model.Resource;
 import com.booking.repository.ResourceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -28,6 +31,9 @@ class ResourceServiceTest {
     @Mock
     private ResourceRepository resourceRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ResourceService resourceService;
 
@@ -146,6 +152,35 @@ class ResourceServiceTest {
         verify(resourceRepository).findByNameContainingIgnoreCase(searchTerm);
     }
 
+    @Test
+    void should_returnSummaries_when_getAllResourceSummaries() {
+        // Arrange
+        List<ResourceSummary> expectedSummaries = Arrays.asList(new ResourceSummary(1L, "会議室A", 10, true));
+        when(resourceRepository.findAllSummaries()).thenReturn(expectedSummaries);
+
+        // Act
+        List<ResourceSummary> result = resourceService.getAllResourceSummaries();
+
+        // Assert
+        assertThat(result).containsExactlyElementsOf(expectedSummaries);
+        verify(resourceRepository).findAllSummaries();
+        verify(resourceRepository, never()).findAll();
+    }
+
+    @Test
+    void should_returnAvailableSummaries_when_getAvailableResourceSummaries() {
+        // Arrange
+        List<ResourceSummary> expectedSummaries = Arrays.asList(new ResourceSummary(1L, "会議室A", 10, true));
+        when(resourceRepository.findSummariesByAvailable(true)).thenReturn(expectedSummaries);
+
+        // Act
+        List<ResourceSummary> result = resourceService.getAvailableResourceSummaries();
+
+        // Assert
+        assertThat(result).containsExactlyElementsOf(expectedSummaries);
+        verify(resourceRepository).findSummariesByAvailable(true);
+    }
+
     @Test
     void should_returnEmptyList_when_nameDoesNotMatch() {
         // Arrange
@@ -177,6 +212,7 @@ class ResourceServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isNotNull();
         verify(resourceRepository).save(newResource);
+        verify(eventPublisher).publishEvent(any(ResourceChangedEvent.class));
     }
 
     @Test
@@ -220,6 +256,7 @@ class ResourceServiceTest {
         assertThat(result.getAvailable()).isFalse();
         verify(resourceRepository).findById(resourceId);
         verify(resourceRepository).save(any(Resource.class));
+        verify(eventPublisher).publishEvent(any(ResourceChangedEvent.class));
     }
 
     @Test
@@ -243,29 +280,33 @@ class ResourceServiceTest {
     void should_deleteResource_when_resourceExists() {
         // Arrange
         Long resourceId = 1L;
-        when(resourceRepository.existsById(resourceId)).thenReturn(true);
-        doNothing().when(resourceRepository).deleteById(resourceId);
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(testResource));
 
         // Act
         resourceService.deleteResource(resourceId);
 
         // Assert
-        verify(resourceRepository).existsById(resourceId);
-        verify(resourceRepository).deleteById(resourceId);
+        verify(resourceRepository).findById(resourceId);
+        verify(resourceRepository).delete(testResource);
+        ArgumentCaptor<ResourceChangedEvent> eventCaptor = ArgumentCaptor.forClass(ResourceChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(ResourceChangedEvent.ChangeType.DELETED);
+        assertThat(eventCaptor.getValue().resourceId()).isEqualTo(resourceId);
     }
 
     @Test
     void should_throwException_when_resourceNotFoundForDelete() {
         // Arrange
         Long resourceId = 999L;
-        when(resourceRepository.existsById(resourceId)).thenReturn(false);
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> resourceService.deleteResource(resourceId))
                 .isInstanceOf(ResourceService.ResourceNotFoundException.class)
                 .hasMessageContaining("Resource not found with id: " + resourceId);
         
-        verify(resourceRepository, never()).deleteById(any());
+        verify(resourceRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // ========== Helper Methods ==========
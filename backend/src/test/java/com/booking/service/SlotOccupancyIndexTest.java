@@ -0,0 +1,207 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SlotOccupancyIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class SlotOccupancyIndexTest {
+
+    private static final Long RESOURCE_ID = 1L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 15, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SlotOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SlotOccupancyIndex(bookingRepository, transactionManager, true, 15, 1000, 7);
+    }
+
+    @Test
+    void should_returnEmpty_when_indexIsDisabled() {
+        // Arrange
+        SlotOccupancyIndex disabled = new SlotOccupancyIndex(bookingRepository, transactionManager, false, 15, 1000, 7);
+
+        // Act
+        Optional<Boolean> result = disabled.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0));
+
+        // Assert
+        assertThat(result).isEmpty();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void should_returnEmpty_when_queryIsNotSlotAligned() {
+        // Act
+        Optional<Boolean> result = index.isAvailable(RESOURCE_ID, at(10, 5), at(11, 0));
+
+        // Assert
+        assertThat(result).isEmpty();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void should_returnEmpty_when_rangeSpansMoreThanMaxSpanDays() {
+        // Arrange
+        stubDay();
+
+        // Act
+        Optional<Boolean> week = index.isAvailable(RESOURCE_ID, at(0, 0), at(0, 0).plusDays(7));
+        Optional<Boolean> longer = index.isAvailable(RESOURCE_ID, at(0, 0), at(0, 15).plusDays(7));
+
+        // Assert
+        assertThat(week).contains(true);
+        assertThat(longer).isEmpty();
+        verify(bookingRepository, times(7)).findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList());
+    }
+
+    @Test
+    void should_answerFromCachedDay_when_queriedTwice() {
+        // Arrange
+        stubDay(createTestBooking(1L, at(10, 0), at(11, 0)));
+
+        // Act
+        Optional<Boolean> overlapping = index.isAvailable(RESOURCE_ID, at(10, 45), at(12, 0));
+        Optional<Boolean> adjacent = index.isAvailable(RESOURCE_ID, at(11, 0), at(12, 0));
+        Optional<Boolean> before = index.isAvailable(RESOURCE_ID, at(9, 0), at(10, 0));
+
+        // Assert
+        assertThat(overlapping).contains(false);
+        assertThat(adjacent).contains(true);
+        assertThat(before).contains(true);
+        verify(bookingRepository, times(1)).findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList());
+    }
+
+    @Test
+    void should_loadDayInReadWriteTransaction_when_dayIsMissing() {
+        // Arrange
+        stubDay();
+
+        // Act
+        index.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0));
+
+        // Assert: read-only transactions may be routed to a lagging replica
+        verify(transactionManager).getTransaction(argThat((TransactionDefinition definition) -> !definition.isReadOnly()));
+    }
+
+    @Test
+    void should_checkAcrossWordBoundary_when_rangeSpansManySlots() {
+        // Arrange: slots 63 and 64 straddle the first and second 64-bit word
+        stubDay(createTestBooking(1L, at(16, 0), at(16, 15)));
+
+        // Act & Assert
+        assertThat(index.isAvailable(RESOURCE_ID, at(0, 0), at(15, 45))).contains(true);
+        assertThat(index.isAvailable(RESOURCE_ID, at(15, 45), at(16, 15))).contains(false);
+        assertThat(index.isAvailable(RESOURCE_ID, at(16, 15), at(23, 45))).contains(true);
+    }
+
+    @Test
+    void should_returnEmpty_when_dayHasUnalignedBooking() {
+        // Arrange
+        stubDay(createTestBooking(1L, at(10, 5), at(10, 50)));
+
+        // Act
+        Optional<Boolean> result = index.isAvailable(RESOURCE_ID, at(14, 0), at(15, 0));
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void should_markSlots_when_bookingIsCreated() {
+        // Arrange
+        stubDay();
+        assertThat(index.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0))).contains(true);
+
+        // Act
+        index.onBookingChanged(BookingChangedEvent.created(createTestBooking(1L, at(10, 30), at(11, 30))));
+
+        // Assert
+        assertThat(index.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0))).contains(false);
+        verify(bookingRepository, times(1)).findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList());
+    }
+
+    @Test
+    void should_reloadDay_when_bookingIsCancelled() {
+        // Arrange
+        Booking booking = createTestBooking(1L, at(10, 0), at(11, 0));
+        when(bookingRepository.findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList()))
+                .thenReturn(Arrays.asList(booking)).thenReturn(Collections.emptyList());
+        assertThat(index.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0))).contains(false);
+        Booking cancelled = booking.snapshot();
+        cancelled.setStatus(BookingStatus.CANCELLED);
+
+        // Act
+        index.onBookingChanged(BookingChangedEvent.cancelled(booking.snapshot(), cancelled));
+
+        // Assert
+        assertThat(index.isAvailable(RESOURCE_ID, at(10, 0), at(11, 0))).contains(true);
+        verify(bookingRepository, times(2)).findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList());
+    }
+
+    @Test
+    void should_checkEveryDay_when_rangeSpansMidnight() {
+        // Arrange
+        when(bookingRepository.findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList()))
+                .thenReturn(Collections.emptyList(),
+                        Arrays.asList(createTestBooking(1L, DAY.plusDays(1).withHour(1), DAY.plusDays(1).withHour(2))));
+
+        // Act
+        Optional<Boolean> result = index.isAvailable(RESOURCE_ID, at(22, 0), DAY.plusDays(1).withHour(3));
+
+        // Assert
+        assertThat(result).contains(false);
+        verify(bookingRepository, times(2)).findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList());
+    }
+
+    // ========== Helper Methods ==========
+
+    private void stubDay(Booking... bookings) {
+        when(bookingRepository.findConflictingBookings(eq(RESOURCE_ID), any(), any(), anyList()))
+                .thenReturn(Arrays.asList(bookings));
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private Booking createTestBooking(Long id, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResourceId(RESOURCE_ID);
+        booking.setCustomerName("テストユーザー");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
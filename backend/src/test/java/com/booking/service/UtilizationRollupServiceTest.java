@@ -0,0 +1,270 @@
+package com.booking.service;
+
+import com.booking.dto.ResourceUtilization;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UtilizationRollupService
+ */
+@ExtendWith(MockitoExtension.class)
+class UtilizationRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    private UtilizationRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new UtilizationRollupService(bookingRepository, resourceRepository, 600, 2, Runnable::run);
+    }
+
+    @Test
+    void should_buildDailyCellsInParallel_when_rebuild() {
+        // Arrange
+        when(resourceRepository.findAll()).thenReturn(List.of(createTestResource(1L), createTestResource(2L)));
+        when(bookingRepository.findByResourceId(1L)).thenReturn(List.of(
+                createTestBooking(1L, 1L, DAY.atTime(9, 0), DAY.atTime(10, 30), BookingStatus.CONFIRMED),
+                createTestBooking(2L, 1L, DAY.atTime(10, 30), DAY.atTime(11, 0), BookingStatus.PENDING),
+                createTestBooking(3L, 1L, DAY.atTime(13, 0), DAY.atTime(14, 0), BookingStatus.CANCELLED)));
+        when(bookingRepository.findByResourceId(2L)).thenReturn(List.of(
+                createTestBooking(4L, 2L, DAY.atTime(15, 0), DAY.atTime(17, 0), BookingStatus.CONFIRMED)));
+
+        // Act
+        int bookings = rollupService.rebuild();
+        ResourceUtilization first = day(1L, DAY);
+        ResourceUtilization second = day(2L, DAY);
+
+        // Assert
+        assertThat(bookings).isEqualTo(4);
+        assertThat(first.bookedMinutes()).isEqualTo(120);
+        assertThat(first.occupancyPercent()).isEqualTo(20.0);
+        assertThat(first.bookingCounts())
+                .containsEntry(BookingStatus.CONFIRMED, 1)
+                .containsEntry(BookingStatus.PENDING, 1)
+                .containsEntry(BookingStatus.CANCELLED, 1);
+        assertThat(first.peakHour()).isEqualTo(9);
+        assertThat(second.bookedMinutes()).isEqualTo(120);
+        assertThat(second.peakHour()).isEqualTo(15);
+    }
+
+    @Test
+    void should_moveMinutesAndCounts_when_bookingCreatedThenCancelled() {
+        // Arrange
+        Booking created = createTestBooking(1L, 1L, DAY.atTime(10, 0), DAY.atTime(12, 0), BookingStatus.CONFIRMED);
+        Booking cancelled = created.snapshot();
+        cancelled.setStatus(BookingStatus.CANCELLED);
+
+        // Act
+        rollupService.onBookingChanged(BookingChangedEvent.created(created));
+        ResourceUtilization afterCreate = day(1L, DAY);
+        rollupService.onBookingChanged(BookingChangedEvent.cancelled(created.snapshot(), cancelled));
+        ResourceUtilization afterCancel = day(1L, DAY);
+
+        // Assert
+        assertThat(afterCreate.bookedMinutes()).isEqualTo(120);
+        assertThat(afterCreate.bookingCounts()).containsEntry(BookingStatus.CONFIRMED, 1);
+        assertThat(afterCancel.bookedMinutes()).isZero();
+        assertThat(afterCancel.peakHour()).isNull();
+        assertThat(afterCancel.bookingCounts())
+                .containsEntry(BookingStatus.CONFIRMED, 0)
+                .containsEntry(BookingStatus.CANCELLED, 1);
+    }
+
+    @Test
+    void should_moveMinutesBetweenDays_when_bookingRescheduled() {
+        // Arrange
+        Booking created = createTestBooking(1L, 1L, DAY.atTime(10, 0), DAY.atTime(11, 0), BookingStatus.PENDING);
+        Booking moved = created.snapshot();
+        moved.setStartTime(DAY.plusDays(1).atTime(14, 0));
+        moved.setEndTime(DAY.plusDays(1).atTime(16, 0));
+        moved.setStatus(BookingStatus.CONFIRMED);
+        rollupService.onBookingChanged(BookingChangedEvent.created(created));
+
+        // Act
+        rollupService.onBookingChanged(BookingChangedEvent.updated(created, moved));
+
+        // Assert
+        assertThat(day(1L, DAY).bookedMinutes()).isZero();
+        assertThat(day(1L, DAY).bookingCounts()).containsEntry(BookingStatus.PENDING, 0);
+        assertThat(day(1L, DAY.plusDays(1)).bookedMinutes()).isEqualTo(120);
+        assertThat(day(1L, DAY.plusDays(1)).bookingCounts()).containsEntry(BookingStatus.CONFIRMED, 1);
+    }
+
+    @Test
+    void should_keepLatestState_when_bookingChangedDuringRebuild() {
+        // Arrange: the rebuild reads the booking before a cancel commits and is applied
+        Booking confirmed = createTestBooking(1L, 1L, DAY.atTime(9, 0), DAY.atTime(11, 0), BookingStatus.CONFIRMED);
+        Booking cancelled = confirmed.snapshot();
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        when(resourceRepository.findAll()).thenReturn(List.of(createTestResource(1L)));
+        when(bookingRepository.findByResourceId(1L)).thenAnswer(invocation -> {
+            rollupService.onBookingChanged(BookingChangedEvent.cancelled(confirmed, cancelled));
+            return List.of(confirmed);
+        });
+
+        // Act
+        rollupService.rebuild();
+
+        // Assert
+        assertThat(day(1L, DAY).bookedMinutes()).isZero();
+        assertThat(day(1L, DAY).bookingCounts())
+                .containsEntry(BookingStatus.CONFIRMED, 0)
+                .containsEntry(BookingStatus.CANCELLED, 1);
+    }
+
+    @Test
+    void should_countOnce_when_rebuildReadsCommittedWriteBeforeItsDeltaArrives() {
+        // Arrange: the booking is committed and read by the rebuild, its delta is applied afterwards
+        Booking created = createTestBooking(1L, 1L, DAY.atTime(9, 0), DAY.atTime(11, 0), BookingStatus.CONFIRMED);
+        when(resourceRepository.findAll()).thenReturn(List.of(createTestResource(1L)));
+        when(bookingRepository.findByResourceId(1L)).thenReturn(List.of(created));
+        List<TransactionSynchronization> synchronizations = publishInTransaction(BookingChangedEvent.created(created));
+
+        // Act
+        rollupService.rebuild();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertThat(day(1L, DAY).bookedMinutes()).isEqualTo(120);
+        assertThat(day(1L, DAY).bookingCounts()).containsEntry(BookingStatus.CONFIRMED, 1);
+    }
+
+    @Test
+    void should_ignoreChange_when_transactionRollsBack() {
+        // Arrange
+        Booking created = createTestBooking(1L, 1L, DAY.atTime(9, 0), DAY.atTime(11, 0), BookingStatus.CONFIRMED);
+        List<TransactionSynchronization> synchronizations = publishInTransaction(BookingChangedEvent.created(created));
+
+        // Act
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertThat(day(1L, DAY).bookedMinutes()).isZero();
+    }
+
+    @Test
+    void should_reportBuilt_when_startupRebuildFinishes() {
+        // Arrange
+        when(resourceRepository.findAll()).thenReturn(List.of());
+        boolean builtBefore = rollupService.isBuilt();
+
+        // Act
+        rollupService.rebuildOnStartup();
+
+        // Assert
+        assertThat(builtBefore).isFalse();
+        assertThat(rollupService.isBuilt()).isTrue();
+    }
+
+    @Test
+    void should_splitAcrossDays_when_bookingSpansMidnight() {
+        // Arrange
+        Booking overnight = createTestBooking(1L, 1L, DAY.atTime(22, 0), DAY.plusDays(1).atTime(1, 0),
+                BookingStatus.CONFIRMED);
+
+        // Act
+        rollupService.onBookingChanged(BookingChangedEvent.created(overnight));
+
+        // Assert
+        assertThat(day(1L, DAY).bookedMinutes()).isEqualTo(120);
+        assertThat(day(1L, DAY.plusDays(1)).bookedMinutes()).isEqualTo(60);
+        assertThat(day(1L, DAY.plusDays(1)).peakHour()).isZero();
+    }
+
+    @Test
+    void should_sumSevenDays_when_weekly() {
+        // Arrange
+        rollupService.onBookingChanged(BookingChangedEvent.created(
+                createTestBooking(1L, 1L, DAY.atTime(10, 0), DAY.atTime(11, 0), BookingStatus.CONFIRMED)));
+        rollupService.onBookingChanged(BookingChangedEvent.created(
+                createTestBooking(2L, 1L, DAY.plusDays(6).atTime(10, 0), DAY.plusDays(6).atTime(12, 0),
+                        BookingStatus.CONFIRMED)));
+
+        // Act
+        List<ResourceUtilization> weeks = rollupService.getUtilization(1L, DAY, DAY.plusDays(9), true);
+
+        // Assert
+        assertThat(weeks).hasSize(2);
+        assertThat(weeks.get(0).to()).isEqualTo(DAY.plusDays(6));
+        assertThat(weeks.get(0).bookedMinutes()).isEqualTo(180);
+        assertThat(weeks.get(0).occupancyPercent()).isEqualTo(4.3);
+        assertThat(weeks.get(1).from()).isEqualTo(DAY.plusDays(7));
+        assertThat(weeks.get(1).to()).isEqualTo(DAY.plusDays(9));
+        assertThat(weeks.get(1).bookedMinutes()).isZero();
+    }
+
+    @Test
+    void should_throwException_when_rangeIsReversed() {
+        // Act & Assert
+        assertThatThrownBy(() -> rollupService.getUtilization(1L, DAY, DAY.minusDays(1), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("End date must not be before start date");
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Publish an event inside a simulated transaction and return its synchronizations for completing it
+     */
+    private List<TransactionSynchronization> publishInTransaction(BookingChangedEvent event) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rollupService.onBookingChanged(event);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ResourceUtilization day(Long resourceId, LocalDate day) {
+        return rollupService.getUtilization(resourceId, day, day, false).get(0);
+    }
+
+    private Resource createTestResource(Long id) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName("会議室" + id);
+        resource.setCapacity(10);
+        return resource;
+    }
+
+    private Booking createTestBooking(Long id, Long resourceId, LocalDateTime start, LocalDateTime end,
+                                      BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResourceId(resourceId);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,159 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Waitlist promotion against bulk maintenance and concurrent writes on the real database
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:waitlist-bulk",
+                "booking.warmup.enabled=false",
+                "booking.bulk.chunk-size=2"})
+class WaitlistBulkCancelTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private Long resourceId;
+
+    @BeforeEach
+    void setUp() {
+        resourceId = createResource();
+    }
+
+    @Test
+    void should_leaveWaitersQueued_when_windowIsBulkCancelled() {
+        // Arrange: more bookings than one chunk, each with a waiter for the same slot
+        List<WaitlistEntry> waiters = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bookingService.createBooking(createBooking(i));
+            waiters.add(waitlistService.join(createBooking(i)));
+        }
+
+        // Act
+        int cancelled = bookingService.cancelBookingsByResourceAndTimeRange(resourceId, BASE, BASE.plusHours(5));
+
+        // Assert
+        assertThat(cancelled).isEqualTo(5);
+        assertThat(waiters).allSatisfy(waiter -> assertThat(waitlistService.getEntryById(waiter.getId()))
+                .hasValueSatisfying(entry -> assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.WAITING)));
+        assertThat(bookingRepository.findByResourceId(resourceId))
+                .hasSize(5)
+                .allSatisfy(booking -> assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void should_bookOnJoin_when_rangeWasFreedAfterConflict() {
+        // Arrange
+        Booking taken = bookingService.createBooking(createBooking(0));
+        bookingService.cancelBooking(taken.getId());
+
+        // Act: the request conflicted before the cancel committed and joins afterwards
+        WaitlistEntry entry = waitlistService.join(createBooking(0));
+
+        // Assert
+        assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(bookingService.getBookingById(entry.getBookingId()))
+                .hasValueSatisfying(booking -> assertThat(BookingChangedEvent.isActive(booking)).isTrue());
+    }
+
+    @Test
+    void should_promoteBothWaiters_when_customersFreeEachOthersRangeConcurrently() throws Exception {
+        // Arrange: each customer holds a slot the other one waits for, on separate resources
+        Long otherResourceId = createResource();
+        for (int round = 0; round < 5; round++) {
+            String first = "swap-a-" + round + "-" + System.nanoTime() + "@example.com";
+            String second = "swap-b-" + round + "-" + System.nanoTime() + "@example.com";
+            Booking heldByFirst = bookingService.createBooking(createBooking(resourceId, first, round));
+            Booking heldBySecond = bookingService.createBooking(createBooking(otherResourceId, second, round));
+            WaitlistEntry secondWaits = waitlistService.join(createBooking(resourceId, second, round));
+            WaitlistEntry firstWaits = waitlistService.join(createBooking(otherResourceId, first, round));
+            CountDownLatch start = new CountDownLatch(1);
+
+            // Act
+            CompletableFuture<Void> firstCancels = CompletableFuture.runAsync(() -> {
+                await(start);
+                bookingService.cancelBooking(heldByFirst.getId());
+            });
+            CompletableFuture<Void> secondCancels = CompletableFuture.runAsync(() -> {
+                await(start);
+                bookingService.cancelBooking(heldBySecond.getId());
+            });
+            start.countDown();
+            CompletableFuture.allOf(firstCancels, secondCancels).get(30, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(List.of(secondWaits, firstWaits)).allSatisfy(waiter ->
+                    assertThat(waitlistService.getEntryById(waiter.getId())).hasValueSatisfying(entry ->
+                            assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.PROMOTED)));
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long createResource() {
+        Resource resource = new Resource();
+        resource.setName("待機検証-" + System.nanoTime());
+        resource.setCapacity(10);
+        resource.setAvailable(true);
+        return resourceRepository.save(resource).getId();
+    }
+
+    private Booking createBooking(Long resource, String customerEmail, int hour) {
+        Booking booking = createBooking(hour);
+        booking.setResourceId(resource);
+        booking.setCustomerEmail(customerEmail);
+        return booking;
+    }
+
+    private Booking createBooking(int hour) {
+        Booking booking = new Booking();
+        booking.setResourceId(resourceId);
+        booking.setCustomerName("Waitlist Tester");
+        booking.setCustomerEmail("waitlist-" + hour + "@example.com");
+        booking.setStartTime(BASE.plusHours(hour));
+        booking.setEndTime(BASE.plusHours(hour + 1));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,304 @@
+package com.booking.service;
+
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.WaitlistEntry;
+import com.booking.model.WaitlistStatus;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import com.booking.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WaitlistService
+ */
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private CustomerQuotaService quotaService;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private LocalDateTime testStartTime;
+    private LocalDateTime testEndTime;
+
+    @BeforeEach
+    void setUp() {
+        testStartTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        testEndTime = testStartTime.plusHours(2);
+    }
+
+    // ========== Join / Leave ==========
+
+    @Test
+    void should_saveWaitingEntry_when_join() {
+        // Arrange
+        Booking request = createTestBooking(null, testStartTime, testEndTime);
+        when(bookingRepository.findConflictingBookings(eq(1L), eq(testStartTime), eq(testEndTime), anyList()))
+                .thenReturn(List.of(createTestBooking(5L, testStartTime, testEndTime)));
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        WaitlistEntry result = waitlistService.join(request);
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(result.getResourceId()).isEqualTo(1L);
+        assertThat(result.getStartTime()).isEqualTo(testStartTime);
+        assertThat(result.getEndTime()).isEqualTo(testEndTime);
+        verify(resourceRepository).lockAllByIdIn(List.of(1L));
+        verify(bookingService, never()).createBooking(any());
+    }
+
+    @Test
+    void should_bookRightAway_when_rangeFreedBeforeJoin() {
+        // Arrange
+        Booking request = createTestBooking(null, testStartTime, testEndTime);
+        when(bookingRepository.findConflictingBookings(eq(1L), eq(testStartTime), eq(testEndTime), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(quotaService.hasCapacity("test@example.com")).thenReturn(true);
+        when(bookingService.createBooking(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(7L);
+            return booking;
+        });
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        WaitlistEntry result = waitlistService.join(request);
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(result.getBookingId()).isEqualTo(7L);
+        InOrder inOrder = inOrder(resourceRepository, bookingRepository);
+        inOrder.verify(resourceRepository).lockAllByIdIn(List.of(1L));
+        inOrder.verify(bookingRepository).findConflictingBookings(eq(1L), any(), any(), anyList());
+    }
+
+    @Test
+    void should_throwException_when_joinWithInvalidTimeRange() {
+        // Arrange
+        Booking request = createTestBooking(null, testEndTime, testStartTime);
+
+        // Act & Assert
+        assertThatThrownBy(() -> waitlistService.join(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("End time must be after start time");
+
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void should_throwException_when_leavingPromotedEntry() {
+        // Arrange
+        WaitlistEntry entry = createTestEntry(1L, testStartTime, testEndTime);
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        when(waitlistRepository.findById(1L)).thenReturn(Optional.of(entry));
+
+        // Act & Assert
+        assertThatThrownBy(() -> waitlistService.leave(1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Only waiting entries");
+    }
+
+    // ========== Promotion ==========
+
+    @Test
+    void should_promoteFirstCompatibleWaiter_when_bookingCancelled() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        Booking current = previous.snapshot();
+        current.setStatus(BookingStatus.CANCELLED);
+        WaitlistEntry blocked = createTestEntry(1L, testStartTime.minusHours(1), testEndTime);
+        WaitlistEntry compatible = createTestEntry(2L, testStartTime, testEndTime);
+        when(waitlistRepository.findWaitingOverlapping(1L, testStartTime, testEndTime))
+                .thenReturn(List.of(blocked, compatible));
+        when(bookingRepository.findConflictingBookings(eq(1L), eq(blocked.getStartTime()), any(), anyList()))
+                .thenReturn(List.of(createTestBooking(6L, testStartTime.minusHours(1), testStartTime)));
+        when(bookingRepository.findConflictingBookings(eq(1L), eq(compatible.getStartTime()), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(quotaService.hasCapacity(compatible.getCustomerEmail())).thenReturn(true);
+        when(bookingService.createBooking(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(7L);
+            return booking;
+        });
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.cancelled(previous, current));
+
+        // Assert
+        verify(bookingService, times(1)).createBooking(any(Booking.class));
+        assertThat(blocked.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(compatible.getStatus()).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(compatible.getBookingId()).isEqualTo(7L);
+    }
+
+    @Test
+    void should_expireWaiter_when_itsRangeHasEnded() {
+        // Arrange: the freed range is in the past, so the waiter's slot is over
+        LocalDateTime pastStart = testStartTime.minusDays(3);
+        LocalDateTime pastEnd = testEndTime.minusDays(3);
+        Booking previous = createTestBooking(5L, pastStart, pastEnd);
+        Booking current = previous.snapshot();
+        current.setStatus(BookingStatus.CANCELLED);
+        WaitlistEntry ended = createTestEntry(1L, pastStart, pastEnd);
+        when(waitlistRepository.findWaitingOverlapping(1L, pastStart, pastEnd)).thenReturn(List.of(ended));
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.cancelled(previous, current));
+
+        // Assert
+        assertThat(ended.getStatus()).isEqualTo(WaitlistStatus.EXPIRED);
+        verify(waitlistRepository).save(ended);
+        verify(bookingService, never()).createBooking(any());
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), anyList());
+    }
+
+    @Test
+    void should_skipWaiter_when_customerIsAtQuota() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        WaitlistEntry atQuota = createTestEntry(1L, testStartTime, testEndTime);
+        when(waitlistRepository.findWaitingOverlapping(1L, testStartTime, testEndTime))
+                .thenReturn(List.of(atQuota));
+        when(bookingRepository.findConflictingBookings(eq(1L), eq(testStartTime), any(), anyList()))
+                .thenReturn(Collections.emptyList());
+        when(quotaService.hasCapacity(atQuota.getCustomerEmail())).thenReturn(false);
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.deleted(previous));
+
+        // Assert
+        verify(bookingService, never()).createBooking(any());
+        assertThat(atQuota.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void should_lockCountersOfFreeingAndWaitingCustomers_when_bookingCancelled() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        Booking current = previous.snapshot();
+        current.setStatus(BookingStatus.CANCELLED);
+        when(waitlistRepository.findWaitingCustomersOverlapping(1L, testStartTime, testEndTime))
+                .thenReturn(List.of("waiter@example.com"));
+
+        // Act
+        waitlistService.lockCustomerCounters(BookingChangedEvent.cancelled(previous, current));
+
+        // Assert
+        verify(quotaService).lockCounters(argThat((List<String> emails) ->
+                emails.containsAll(List.of("waiter@example.com", "test@example.com")) && emails.size() == 2));
+    }
+
+    @Test
+    void should_lockNoCounters_when_nobodyWaits() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        when(waitlistRepository.findWaitingCustomersOverlapping(1L, testStartTime, testEndTime))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        waitlistService.lockCustomerCounters(BookingChangedEvent.deleted(previous));
+
+        // Assert
+        verify(quotaService, never()).lockCounters(any());
+    }
+
+    @Test
+    void should_lookUpWaiters_when_bookingDeleted() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        when(waitlistRepository.findWaitingOverlapping(1L, testStartTime, testEndTime))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.deleted(previous));
+
+        // Assert: the deleting write has already locked the resource
+        verify(waitlistRepository).findWaitingOverlapping(1L, testStartTime, testEndTime);
+        verify(resourceRepository, never()).lockAllByIdIn(anyList());
+    }
+
+    @Test
+    void should_notPromote_when_bulkMaintenanceFreesRange() {
+        // Arrange
+        Booking previous = createTestBooking(5L, testStartTime, testEndTime);
+        Booking current = previous.snapshot();
+        current.setStatus(BookingStatus.CANCELLED);
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.bulkCancelled(previous, current));
+        waitlistService.onBookingChanged(BookingChangedEvent.bulkDeleted(previous));
+
+        // Assert
+        verifyNoInteractions(waitlistRepository, resourceRepository, bookingService);
+    }
+
+    @Test
+    void should_notPromote_when_bookingCreatedOrStillCoversRange() {
+        // Arrange
+        Booking created = createTestBooking(5L, testStartTime, testEndTime);
+        Booking extended = created.snapshot();
+        extended.setEndTime(testEndTime.plusHours(1));
+
+        // Act
+        waitlistService.onBookingChanged(BookingChangedEvent.created(created));
+        waitlistService.onBookingChanged(BookingChangedEvent.updated(created.snapshot(), extended));
+
+        // Assert
+        verifyNoInteractions(waitlistRepository, bookingService);
+    }
+
+    // ========== Helper Methods ==========
+
+    private Booking createTestBooking(Long id, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResourceId(1L);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("test@example.com");
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private WaitlistEntry createTestEntry(Long id, LocalDateTime start, LocalDateTime end) {
+        WaitlistEntry entry = WaitlistEntry.of(createTestBooking(null, start, end));
+        entry.setId(id);
+        return entry;
+    }
+}
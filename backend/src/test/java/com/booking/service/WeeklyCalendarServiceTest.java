@@ -0,0 +1,192 @@
+package com.booking.service;
+
+import com.booking.dto.BookingSummary;
+import com.booking.dto.CalendarWeek;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WeeklyCalendarService
+ */
+@ExtendWith(MockitoExtension.class)
+class WeeklyCalendarServiceTest {
+
+    // A Monday
+    private static final LocalDate WEEK = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+
+    private WeeklyCalendarService calendarService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        calendarService = new WeeklyCalendarService(bookingRepository, resourceRepository, objectMapper,
+                transactionManager, 100);
+    }
+
+    @Test
+    void should_returnOneBlockPerResource_when_weekRequested() throws Exception {
+        // Arrange
+        stubResources(1L, 2L);
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(List.of(1L, 2L),
+                WEEK.atStartOfDay(), WEEK.plusWeeks(1).atStartOfDay()))
+                .thenReturn(List.of(createTestSummary(10L, 1L, WEEK.plusDays(2).atTime(9, 0))));
+
+        // Act
+        JsonNode week = objectMapper.readTree(calendarService.getWeek(WEEK.plusDays(3), null));
+
+        // Assert
+        assertThat(week).hasSize(2);
+        assertThat(week.get(0).get("resourceId").asLong()).isEqualTo(1L);
+        assertThat(week.get(0).get("weekStart").asText()).isEqualTo("2030-01-07");
+        assertThat(week.get(0).get("bookings")).hasSize(1);
+        assertThat(week.get(0).get("bookings").get(0).get("id").asLong()).isEqualTo(10L);
+        assertThat(week.get(1).get("resourceId").asLong()).isEqualTo(2L);
+        assertThat(week.get(1).get("bookings")).isEmpty();
+    }
+
+    @Test
+    void should_decodeCachedBlocks_when_entriesRequested() {
+        // Arrange
+        stubResources(1L);
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(any(), any(), any()))
+                .thenReturn(List.of(createTestSummary(10L, 1L, WEEK.plusDays(2).atTime(9, 0))));
+        calendarService.getWeek(WEEK, null);
+
+        // Act
+        List<CalendarWeek> weeks = calendarService.getWeekEntries(WEEK, null);
+
+        // Assert
+        assertThat(weeks).hasSize(1);
+        assertThat(weeks.get(0).weekStart()).isEqualTo(WEEK);
+        assertThat(weeks.get(0).bookings()).extracting(BookingSummary::id).containsExactly(10L);
+        verify(bookingRepository, times(1)).findSummariesByResourceIdsAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void should_serveCachedBlocks_when_weekRequestedAgain() {
+        // Arrange
+        stubResources(1L, 2L);
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(any(), any(), any())).thenReturn(List.of());
+        byte[] first = calendarService.getWeek(WEEK, null);
+
+        // Act
+        byte[] second = calendarService.getWeek(WEEK, null);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        verify(bookingRepository, times(1)).findSummariesByResourceIdsAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void should_reloadOnlyTouchedBlock_when_bookingChanged() {
+        // Arrange
+        stubResources(1L, 2L);
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(any(), any(), any())).thenReturn(List.of());
+        calendarService.getWeek(WEEK, null);
+        calendarService.getWeek(WEEK.plusWeeks(1), null);
+
+        // Act
+        calendarService.onBookingChanged(BookingChangedEvent.created(
+                createTestBooking(10L, 2L, WEEK.plusDays(1).atTime(9, 0), WEEK.plusDays(1).atTime(10, 0))));
+        calendarService.getWeek(WEEK, null);
+        calendarService.getWeek(WEEK.plusWeeks(1), null);
+
+        // Assert
+        verify(bookingRepository).findSummariesByResourceIdsAndTimeRange(
+                eq(List.of(2L)), eq(WEEK.atStartOfDay()), any());
+        verify(bookingRepository, times(3)).findSummariesByResourceIdsAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void should_dropEveryWeekSpanned_when_bookingCrossesWeeks() {
+        // Arrange
+        stubResources(1L);
+        when(bookingRepository.findSummariesByResourceIdsAndTimeRange(any(), any(), any())).thenReturn(List.of());
+        calendarService.getWeek(WEEK, null);
+        calendarService.getWeek(WEEK.plusWeeks(1), null);
+        Booking before = createTestBooking(10L, 1L, WEEK.plusDays(6).atTime(22, 0), WEEK.plusDays(7).atTime(2, 0));
+        Booking after = before.snapshot();
+        after.setStatus(BookingStatus.CANCELLED);
+
+        // Act
+        calendarService.onBookingChanged(BookingChangedEvent.cancelled(before, after));
+        calendarService.getWeek(WEEK, null);
+        calendarService.getWeek(WEEK.plusWeeks(1), null);
+
+        // Assert
+        verify(bookingRepository, times(4)).findSummariesByResourceIdsAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void should_throwException_when_resourceNotFound() {
+        // Arrange
+        when(resourceRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> calendarService.getWeek(WEEK, 99L))
+                .isInstanceOf(ResourceService.ResourceNotFoundException.class)
+                .hasMessageContaining("Resource not found with id: 99");
+    }
+
+    // ========== Helper Methods ==========
+
+    private void stubResources(Long... ids) {
+        when(resourceRepository.findAll()).thenReturn(Arrays.stream(ids).map(id -> {
+            Resource resource = new Resource();
+            resource.setId(id);
+            return resource;
+        }).toList());
+    }
+
+    private BookingSummary createTestSummary(Long id, Long resourceId, LocalDateTime start) {
+        return new BookingSummary(id, resourceId, start, start.plusHours(1), BookingStatus.CONFIRMED);
+    }
+
+    private Booking createTestBooking(Long id, Long resourceId, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResourceId(resourceId);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
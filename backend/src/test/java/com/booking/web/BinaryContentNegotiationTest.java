@@ -0,0 +1,201 @@
+package com.booking.web;
+
+import com.booking.dto.CalendarWeek;
+import com.booking.model.Booking;
+import com.booking.model.BookingStatus;
+import com.booking.model.Resource;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation of the binary formats, and a comparison of payload size and
+ * encode/decode CPU time against JSON for a large booking list (a benchmark, run with
+ * {@code mvn -Pbenchmark test}).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:binary-formats",
+        "booking.warmup.enabled=false",
+        "booking.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+class BinaryContentNegotiationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryContentNegotiationTest.class);
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final TypeReference<List<Booking>> BOOKING_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<CalendarWeek>> CALENDAR_WEEKS = new TypeReference<>() {
+    };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void should_returnJson_when_anyTypeAccepted() throws Exception {
+        mockMvc.perform(get("/api/bookings").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void should_returnSameBookings_when_cborAccepted() throws Exception {
+        // Arrange
+        byte[] json = mockMvc.perform(get("/api/bookings").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Act
+        byte[] cbor = mockMvc.perform(get("/api/bookings").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        List<Booking> expected = jsonMapper.readValue(json, BOOKING_LIST);
+        assertThat(cborConverter.getObjectMapper().readValue(cbor, BOOKING_LIST)).isEqualTo(expected);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    void should_returnSameResource_when_smileAccepted() throws Exception {
+        // Arrange
+        byte[] json = mockMvc.perform(get("/api/resources/1").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Act
+        byte[] smile = mockMvc.perform(get("/api/resources/1").accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertThat(smileConverter.getObjectMapper().readValue(smile, Resource.class))
+                .isEqualTo(jsonMapper.readValue(json, Resource.class));
+    }
+
+    @Test
+    void should_returnSameCalendarWeek_when_cborAccepted() throws Exception {
+        // Arrange
+        byte[] json = mockMvc.perform(get("/api/calendar/week").param("date", "2030-01-09"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Act
+        byte[] cbor = mockMvc.perform(get("/api/calendar/week").param("date", "2030-01-09")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        List<CalendarWeek> weeks = cborConverter.getObjectMapper().readValue(cbor, CALENDAR_WEEKS);
+        assertThat(weeks).isNotEmpty().isEqualTo(jsonMapper.readValue(json, CALENDAR_WEEKS));
+    }
+
+    @Test
+    void should_acceptCborRequestBody_when_creatingResource() throws Exception {
+        // Arrange
+        Resource resource = new Resource();
+        resource.setName("Binary Room");
+        resource.setCapacity(6);
+        resource.setAvailable(true);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/resources")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborConverter.getObjectMapper().writeValueAsBytes(resource)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void should_encodeSmallerThanJson_when_bookingListSerialized() throws Exception {
+        // Arrange
+        List<Booking> bookings = createTestBookings(20_000);
+
+        // Act
+        Measurement json = measure("JSON", jsonMapper, bookings);
+        Measurement cbor = measure("CBOR", cborConverter.getObjectMapper(), bookings);
+        Measurement smile = measure("Smile", smileConverter.getObjectMapper(), bookings);
+
+        // Assert
+        assertThat(cbor.bytes()).isLessThan(json.bytes());
+        assertThat(smile.bytes()).isLessThan(json.bytes());
+    }
+
+    // ========== Helper Methods ==========
+
+    private Measurement measure(String format, ObjectMapper mapper, List<Booking> bookings) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(bookings);
+        assertThat(mapper.readValue(encoded, BOOKING_LIST)).isEqualTo(bookings);
+
+        int rounds = 10;
+        for (int i = 0; i < rounds; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(bookings), BOOKING_LIST);
+        }
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            encoded = mapper.writeValueAsBytes(bookings);
+            long encodedAt = System.nanoTime();
+            mapper.readValue(encoded, BOOKING_LIST);
+            decodeNanos += System.nanoTime() - encodedAt;
+            encodeNanos += encodedAt - start;
+        }
+
+        Measurement measurement = new Measurement(encoded.length,
+                encodeNanos / rounds / 1_000_000.0, decodeNanos / rounds / 1_000_000.0);
+        log.info("{} bookings as {}: {} bytes, encode {} ms, decode {} ms", bookings.size(), format,
+                measurement.bytes(), String.format("%.1f", measurement.encodeMillis()),
+                String.format("%.1f", measurement.decodeMillis()));
+        return measurement;
+    }
+
+    private List<Booking> createTestBookings(int count) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 7, 9, 0, 12, 345_678_000);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = base.plusMinutes(30L * i);
+            bookings.add(new Booking((long) i + 1, (long) (i % 20) + 1, "Customer " + (i % 500),
+                    "customer" + (i % 500) + "@example.com", start, start.plusHours(1),
+                    statuses[i % statuses.length], i % 10 == 0 ? "Projector needed" : null,
+                    start.minusDays(3), start.minusDays(1), 0L));
+        }
+        return bookings;
+    }
+
+    private record Measurement(int bytes, double encodeMillis, double decodeMillis) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.booking.web;
+
+import com.booking.config.ConnectionPoolMonitor;
+import com.booking.config.ConnectionPoolMonitor.Saturation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectionPoolAdmissionFilter
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolAdmissionFilterTest {
+
+    @Mock
+    private ConnectionPoolMonitor poolMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConnectionPoolAdmissionFilter(poolMonitor, meterRegistry, true);
+    }
+
+    @Test
+    void should_reject503_when_poolIsSaturated() throws Exception {
+        // Arrange
+        when(poolMonitor.checkSaturation()).thenReturn(Optional.of(
+                new Saturation("primary", Saturation.Reason.PENDING, "3 threads awaiting a connection")));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = run(new MockHttpServletRequest("POST", "/api/bookings"), chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Database is busy");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(rejected("pending")).isEqualTo(1.0);
+    }
+
+    @Test
+    void should_reject503_when_connectionAcquireTimesOut() throws Exception {
+        // Arrange
+        when(poolMonitor.checkSaturation()).thenReturn(Optional.empty());
+        FilterChain chain = (request, response) -> {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager",
+                    new SQLTransientConnectionException("primary - Connection is not available"));
+        };
+
+        // Act
+        MockHttpServletResponse response = run(new MockHttpServletRequest("POST", "/api/waitlist"), chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected("timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    void should_rethrow_when_failureIsNotConnectionTimeout() {
+        // Arrange
+        when(poolMonitor.checkSaturation()).thenReturn(Optional.empty());
+        FilterChain chain = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> run(new MockHttpServletRequest("GET", "/api/bookings/1"), chain))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.find("booking.db.admission.rejected").counter()).isNull();
+    }
+
+    @Test
+    void should_skipCheck_when_pathIsOutsideBookingApi() throws Exception {
+        // Act
+        MockHttpServletResponse response = run(new MockHttpServletRequest("GET", "/api/resources"),
+                new MockFilterChain());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        verifyNoInteractions(poolMonitor);
+    }
+
+    // ========== Helper Methods ==========
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("booking.db.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,238 @@
+package com.booking.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for IdempotencyStore
+ */
+class IdempotencyStoreTest {
+
+    private static final String BODY = "body-digest";
+
+    private MutableClock clock;
+    private IdempotencyStore store;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+        store = new IdempotencyStore(3, Duration.ofMinutes(10), Duration.ofSeconds(5), clock);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void should_returnOriginalResult_when_keyIsRetried() {
+        // Act
+        String first = store.execute("key-1", BODY, () -> "result-" + executions.incrementAndGet());
+        String retry = store.execute("key-1", BODY, () -> "result-" + executions.incrementAndGet());
+
+        // Assert
+        assertThat(first).isEqualTo("result-1");
+        assertThat(retry).isEqualTo("result-1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void should_runAgain_when_keyHasExpired() {
+        // Arrange
+        store.execute("key-1", BODY, executions::incrementAndGet);
+        clock.advance(Duration.ofMinutes(11));
+
+        // Act
+        Integer result = store.execute("key-1", BODY, executions::incrementAndGet);
+
+        // Assert
+        assertThat(result).isEqualTo(2);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void should_evictOldestEntry_when_storeIsFull() {
+        // Arrange
+        store.execute("key-1", BODY, executions::incrementAndGet);
+        store.execute("key-2", BODY, executions::incrementAndGet);
+        store.execute("key-3", BODY, executions::incrementAndGet);
+
+        // Act
+        store.execute("key-4", BODY, executions::incrementAndGet);
+        Integer replayed = store.execute("key-1", BODY, executions::incrementAndGet);
+
+        // Assert
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(replayed).isEqualTo(5);
+    }
+
+    @Test
+    void should_notRecordResult_when_actionFails() {
+        // Arrange
+        assertThatThrownBy(() -> store.execute("key-1", BODY, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Act
+        String result = store.execute("key-1", BODY, () -> "ok");
+
+        // Assert
+        assertThat(result).isEqualTo("ok");
+    }
+
+    @Test
+    void should_waitForOriginal_when_retryArrivesWhileInFlight() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> original = executor.submit(() -> store.execute("key-1", BODY, () -> {
+                started.countDown();
+                await(release);
+                return executions.incrementAndGet();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            // Act
+            Future<Integer> retry = executor.submit(() -> store.execute("key-1", BODY, executions::incrementAndGet));
+            release.countDown();
+
+            // Assert
+            assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(executions).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_rejectRetry_when_fingerprintDiffers() {
+        // Arrange
+        store.execute("key-1", BODY, executions::incrementAndGet);
+
+        // Act & Assert
+        assertThatThrownBy(() -> store.execute("key-1", "other-digest", executions::incrementAndGet))
+                .isInstanceOf(IdempotencyStore.KeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void should_runAgain_when_resultWasNotRecordable() {
+        // Arrange
+        store.execute("key-1", BODY, () -> "conflict-" + executions.incrementAndGet(), result -> false);
+
+        // Act
+        String retry = store.execute("key-1", BODY, () -> "created-" + executions.incrementAndGet(),
+                result -> true);
+
+        // Assert
+        assertThat(retry).isEqualTo("created-2");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_keepInFlightEntry_when_storeIsFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> store.execute("key-1", BODY, () -> {
+                started.countDown();
+                await(release);
+                return executions.incrementAndGet();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            store.execute("key-2", BODY, executions::incrementAndGet);
+            store.execute("key-3", BODY, executions::incrementAndGet);
+
+            // Act
+            store.execute("key-4", BODY, executions::incrementAndGet);
+
+            // Assert: the completed key-2 was evicted; key-1 is still held, so a different body is rejected
+            assertThat(store.size()).isEqualTo(3);
+            assertThatThrownBy(() -> store.execute("key-1", "other-digest", executions::incrementAndGet))
+                    .isInstanceOf(IdempotencyStore.KeyReusedException.class);
+            assertThat(store.execute("key-2", BODY, executions::incrementAndGet)).isEqualTo(4);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_throwInProgress_when_originalOutlastsWait() throws Exception {
+        // Arrange
+        IdempotencyStore impatient = new IdempotencyStore(3, Duration.ofMinutes(10), Duration.ofMillis(50), clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> impatient.execute("key-1", BODY, () -> {
+                started.countDown();
+                await(release);
+                return executions.incrementAndGet();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            // Act & Assert
+            assertThatThrownBy(() -> impatient.execute("key-1", BODY, executions::incrementAndGet))
+                    .isInstanceOf(IdempotencyStore.InProgressException.class);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.booking.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RateLimitFilter
+ */
+class RateLimitFilterTest {
+
+    private static final String TRUSTED_KEY = "partner-key";
+
+    @Test
+    void should_shareAddressBucket_when_apiKeyIsUnknown() throws Exception {
+        // Arrange
+        RateLimitFilter filter = createFilter(100);
+        int allowed = 0;
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = createRequest("GET", "/api/bookings/1", "10.0.0.1");
+            request.addHeader("X-API-Key", "made-up-" + i);
+            if (run(filter, request).getStatus() == 200) {
+                allowed++;
+            }
+        }
+
+        // Assert
+        assertThat(allowed).isEqualTo(2);
+        assertThat(filter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void should_useOwnBucket_when_apiKeyIsTrusted() throws Exception {
+        // Arrange
+        RateLimitFilter filter = createFilter(100);
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        MockHttpServletRequest keyed = createRequest("GET", "/api/bookings/1", "10.0.0.1");
+        keyed.addHeader("X-API-Key", TRUSTED_KEY);
+
+        // Act
+        MockHttpServletResponse anonymous = run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        MockHttpServletResponse trusted = run(filter, keyed);
+
+        // Assert
+        assertThat(anonymous.getStatus()).isEqualTo(429);
+        assertThat(anonymous.getHeader("Retry-After")).isNotNull();
+        assertThat(trusted.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void should_keepSeparateBudgets_when_listAndItemReadsMixed() throws Exception {
+        // Arrange
+        RateLimitFilter filter = createFilter(100);
+        run(filter, createRequest("GET", "/api/bookings", "10.0.0.1"));
+
+        // Act
+        MockHttpServletResponse secondList = run(filter, createRequest("GET", "/api/bookings", "10.0.0.1"));
+        MockHttpServletResponse item = run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+
+        // Assert
+        assertThat(secondList.getStatus()).isEqualTo(429);
+        assertThat(item.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void should_dropLeastRecentlySeenClient_when_tableIsFull() throws Exception {
+        // Arrange
+        RateLimitFilter filter = createFilter(3);
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.2"));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.3"));
+
+        // Act
+        for (int i = 4; i < 50; i++) {
+            run(filter, createRequest("GET", "/api/bookings/1", "10.0.0." + i));
+        }
+        MockHttpServletResponse returning = run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+
+        // Assert
+        assertThat(filter.trackedClients()).isEqualTo(3);
+        assertThat(returning.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void should_dropIdleClientsFirst_when_tableIsFull() throws Exception {
+        // Arrange: buckets refill within a microsecond, so earlier clients are idle again
+        RateLimitFilter filter = new RateLimitFilter(true, 1, 1_000_000, 2, 1_000_000, 2, new ClientIdentity(List.of()));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.1"));
+        run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.2"));
+        Thread.sleep(1);
+
+        // Act
+        MockHttpServletResponse response = run(filter, createRequest("GET", "/api/bookings/1", "10.0.0.3"));
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.trackedClients()).isEqualTo(1);
+    }
+
+    // ========== Helper Methods ==========
+
+    private RateLimitFilter createFilter(int maxClients) {
+        // Refill rates low enough that no token comes back during a test
+        return new RateLimitFilter(true, 1, 0.001, 2, 0.001, maxClients, new ClientIdentity(List.of(TRUSTED_KEY)));
+    }
+
+    private MockHttpServletRequest createRequest(String method, String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private MockHttpServletResponse run(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
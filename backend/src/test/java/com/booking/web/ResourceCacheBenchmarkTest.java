@@ -0,0 +1,81 @@
+package com.booking.web;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Database round trips of the resource list and detail endpoints with the second-level
+ * cache cold on every request versus warm. Tagged as a benchmark, so it runs only with
+ * {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resource-cache",
+        "booking.warmup.enabled=false",
+        "booking.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+class ResourceCacheBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceCacheBenchmarkTest.class);
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void should_avoidDatabaseRoundTrips_when_resourcesAreCached() throws Exception {
+        // Act
+        Measurement uncached = readResources(true);
+        Measurement cached = readResources(false);
+        log.info("Resource list + detail x{}: uncached {} statements in {} ms, cached {} statements in {} ms",
+                ITERATIONS, uncached.statements(), uncached.millis(), cached.statements(), cached.millis());
+
+        // Assert
+        assertThat(uncached.statements()).isEqualTo(2L * ITERATIONS);
+        assertThat(cached.statements()).isLessThanOrEqualTo(1);
+    }
+
+    // ========== Helper Methods ==========
+
+    private Measurement readResources(boolean evictBeforeEachRequest) throws Exception {
+        long statements = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (String uri : new String[] {"/api/resources", "/api/resources/1"}) {
+                if (evictBeforeEachRequest) {
+                    evictCaches();
+                }
+                statements += statements(mockMvc.perform(get(uri)).andReturn());
+            }
+        }
+        return new Measurement(statements, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private static long statements(MvcResult result) {
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return ((SqlStatementStats) result.getRequest().getAttribute(SqlStatsFilter.STATS_ATTRIBUTE)).getStatements();
+    }
+
+    private record Measurement(long statements, long millis) {
+    }
+}
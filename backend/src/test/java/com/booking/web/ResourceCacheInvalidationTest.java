@@ -0,0 +1,83 @@
+package com.booking.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Invalidation of cached resources and resource queries on writes
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resource-cache",
+        "booking.warmup.enabled=false",
+        "booking.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+class ResourceCacheInvalidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_returnChangedResource_when_resourceUpdatedAfterCaching() throws Exception {
+        // Arrange
+        String id = createResource("Cached Room");
+        mockMvc.perform(get("/api/resources")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/resources/" + id)).andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(put("/api/resources/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(resourceJson("Renamed Room")))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/resources/" + id))
+                .andExpect(content().string(containsString("Renamed Room")));
+        mockMvc.perform(get("/api/resources"))
+                .andExpect(content().string(containsString("Renamed Room")));
+        mockMvc.perform(get("/api/resources").param("search", "Renamed Room"))
+                .andExpect(content().string(containsString("\"id\":" + id)));
+    }
+
+    @Test
+    void should_forgetResource_when_resourceDeletedAfterCaching() throws Exception {
+        // Arrange
+        String id = createResource("Short-lived Room");
+        mockMvc.perform(get("/api/resources")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/resources/" + id)).andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(delete("/api/resources/" + id)).andExpect(status().isNoContent());
+
+        // Assert
+        mockMvc.perform(get("/api/resources/" + id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/resources"))
+                .andExpect(content().string(not(
+                        containsString("Short-lived Room"))));
+    }
+
+    // ========== Helper Methods ==========
+
+    private String createResource(String name) throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(resourceJson(name)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return created.getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+).*", "$1");
+    }
+
+    private static String resourceJson(String name) {
+        return "{\"name\":\"" + name + "\",\"capacity\":4,\"available\":true}";
+    }
+}
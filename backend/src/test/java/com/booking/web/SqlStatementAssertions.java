@@ -0,0 +1,38 @@
+package com.booking.web;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the JDBC work of a request, collected by {@link SqlStatsFilter}.
+ * Used to pin the statement count of each endpoint so that N+1 regressions fail the build.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Fails if the request ran more than {@code max} JDBC statements
+     * 
+     * @param max maximum number of statements
+     * @return result matcher
+     */
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            SqlStatementStats stats = stats(result.getRequest().getAttribute(SqlStatsFilter.STATS_ATTRIBUTE));
+            assertThat(stats.getStatements())
+                    .as("JDBC statements for %s %s (%s)", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), stats)
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+
+    private static SqlStatementStats stats(Object attribute) {
+        assertThat(attribute)
+                .as("SQL stats were not collected; is SqlStatsFilter enabled?")
+                .isInstanceOf(SqlStatementStats.class);
+        return (SqlStatementStats) attribute;
+    }
+}
@@ -0,0 +1,106 @@
+package com.booking.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.booking.web.SqlStatementAssertions.maxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets per endpoint. A failing budget usually means a new lazy load or
+ * per-row query; raise it only when the extra statements are intended.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-count",
+        // budgets below are for cold caches
+        "booking.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_stayWithinStatementBudget_when_readingBookings() throws Exception {
+        mockMvc.perform(get("/api/bookings"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(1));
+        mockMvc.perform(get("/api/bookings").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(1));
+        mockMvc.perform(get("/api/bookings/1"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(1));
+        // Statistics: one GROUP BY query per dimension, then served from the cache
+        mockMvc.perform(get("/api/bookings/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(3));
+        mockMvc.perform(get("/api/bookings/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(0));
+        // Calendar: one query for the blocks of the week, then served from the block cache
+        mockMvc.perform(get("/api/calendar/week").param("date", "2031-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(2));
+        mockMvc.perform(get("/api/calendar/week").param("date", "2031-03-05"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(0));
+        // iCalendar feed: resource and streamed bookings, then revalidated without queries
+        MvcResult feed = mockMvc.perform(get("/api/calendar/resources/1.ics"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(2))
+                .andReturn();
+        mockMvc.perform(get("/api/calendar/resources/1.ics")
+                        .header("If-None-Match", feed.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(maxStatements(0));
+        mockMvc.perform(get("/api/resources"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(1));
+    }
+
+    @Test
+    void should_stayWithinStatementBudget_when_writingBookings() throws Exception {
+        // Create: lock resource, conflict check, insert booking, outbox row, history sequence block, history row,
+        // customer counter lock and update; the customer's first booking also seeds the counter (insert, relock)
+        MvcResult created = mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson("2031-03-03T10:00:00", "2031-03-03T11:00:00")))
+                .andExpect(status().isCreated())
+                .andExpect(maxStatements(10))
+                .andReturn();
+        String id = created.getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+).*", "$1");
+
+        // Update: load and lock, lock resources, conflict check, waiting customers and waitlist lookups, update,
+        // outbox row, history row, closing the superseded history version, and the second sequence call the
+        // pooled ID optimizer makes on its second insert only
+        mockMvc.perform(put("/api/bookings/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson("2031-03-03T12:00:00", "2031-03-03T13:00:00")))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(10));
+
+        // Cancel: load and lock, lock resource, waiting customers and waitlist lookups, update, outbox row, history row,
+        // closing the superseded history version, customer counter lock and update
+        mockMvc.perform(patch("/api/bookings/" + id + "/cancel"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(10));
+
+        // Delete: load and lock, delete, outbox row, history row, closing the superseded history version
+        mockMvc.perform(delete("/api/bookings/" + id))
+                .andExpect(status().isNoContent())
+                .andExpect(maxStatements(5));
+    }
+
+    private static String bookingJson(String start, String end) {
+        return "{\"resourceId\":1,\"customerName\":\"Budget\",\"customerEmail\":\"budget@example.com\","
+                + "\"startTime\":\"" + start + "\",\"endTime\":\"" + end + "\"}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.booking.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TokenBucket
+ */
+class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void should_allowBurstUpToCapacity_when_bucketIsFull() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        // Act
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bucket.tryAcquire(START)) {
+                allowed++;
+            }
+        }
+
+        // Assert
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void should_refillAtConfiguredRate_when_timePasses() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 10, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        assertThat(bucket.tryAcquire(START)).isFalse();
+
+        // Act
+        long later = START + TimeUnit.MILLISECONDS.toNanos(100);
+
+        // Assert
+        assertThat(bucket.tryAcquire(later)).isTrue();
+        assertThat(bucket.tryAcquire(later)).isFalse();
+    }
+
+    @Test
+    void should_reportWaitTime_when_bucketIsEmpty() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 2, START);
+        bucket.tryAcquire(START);
+
+        // Act
+        long wait = bucket.nanosUntilAvailable(START);
+
+        // Assert
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(bucket.isFull(START)).isFalse();
+        assertThat(bucket.isFull(START + wait)).isTrue();
+    }
+
+    @Test
+    void should_throwException_when_capacityIsNotPositive() {
+        // Act & Assert
+        assertThatThrownBy(() -> new TokenBucket(0, 1, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
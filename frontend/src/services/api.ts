@@ -2,7 +2,7 @@
  * API service for communicating with the backend
  */
 import axios from 'axios';
-import { Resource, Booking, BookingStatus, AvailabilityCheck } from '../types';
+import { Resource, Booking, BookingStatus, AvailabilityCheck, BookingHistory, BookingStatistics, CustomerQuota, CalendarWeek } from '../types';
 
 const API_BASE_URL = '/api';
 
@@ -69,6 +69,35 @@ export const bookingApi = {
     return response.data;
   },
 
+  getStatistics: async (params?: { start?: string; end?: string }): Promise<BookingStatistics> => {
+    const response = await api.get('/bookings/statistics', { params });
+    return response.data;
+  },
+
+  getHistory: async (id: number): Promise<BookingHistory[]> => {
+    const response = await api.get(`/bookings/${id}/history`);
+    return response.data;
+  },
+
+  getAsOf: async (id: number, time: string): Promise<BookingHistory> => {
+    const response = await api.get(`/bookings/${id}/as-of`, { params: { time } });
+    return response.data;
+  },
+
+  getScheduleAsOf: async (
+    resourceId: number,
+    time: string,
+    window?: { start?: string; end?: string }
+  ): Promise<BookingHistory[]> => {
+    const response = await api.get('/bookings/as-of', { params: { resourceId, time, ...window } });
+    return response.data;
+  },
+
+  getQuota: async (email: string): Promise<CustomerQuota> => {
+    const response = await api.get('/bookings/quota', { params: { email } });
+    return response.data;
+  },
+
   create: async (booking: Booking): Promise<Booking> => {
     const response = await api.post('/bookings', booking);
     return response.data;
@@ -89,5 +118,13 @@ export const bookingApi = {
   },
 };
 
+// Calendar API
+export const calendarApi = {
+  getWeek: async (date: string, resourceId?: number): Promise<CalendarWeek[]> => {
+    const response = await api.get('/calendar/week', { params: { date, resourceId } });
+    return response.data;
+  },
+};
+
 export default api;
 
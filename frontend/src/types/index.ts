@@ -29,12 +29,49 @@ export interface Booking {
   notes?: string;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
 }
 
 export interface AvailabilityCheck {
   available: boolean;
 }
 
+export interface CalendarWeek {
+  resourceId: number;
+  weekStart: string;
+  bookings: Pick<Booking, 'id' | 'resourceId' | 'startTime' | 'endTime' | 'status'>[];
+}
+
+export interface CustomerQuota {
+  customerEmail: string;
+  activeBookings: number;
+  maxActiveBookings: number;
+}
+
+export interface BookingHistory {
+  id: number;
+  bookingId: number;
+  version: number;
+  changeType: 'CREATED' | 'UPDATED' | 'CANCELLED' | 'DELETED';
+  validFrom: string;
+  resourceId: number;
+  customerName: string;
+  customerEmail: string;
+  startTime: string;
+  endTime: string;
+  status: BookingStatus;
+  notes?: string;
+}
+
+export interface BookingStatistics {
+  start: string | null;
+  end: string | null;
+  total: number;
+  byStatus: Record<BookingStatus, number>;
+  byResource: Record<string, number>;
+  byDay: Record<string, number>;
+}
+
 export interface Notification {
   id?: number;
   bookingId?: number;